@@ -13,6 +13,7 @@ import de.adorsys.ledgers.keycloak.client.model.KeycloakRealm;
 import de.adorsys.ledgers.keycloak.client.model.KeycloakUser;
 import de.adorsys.ledgers.keycloak.client.model.RequiredAction;
 import de.adorsys.ledgers.keycloak.client.rest.KeycloakTokenRestClient;
+import io.micrometer.core.instrument.Metrics;
 import jakarta.ws.rs.NotFoundException;
 import jakarta.ws.rs.core.Response;
 import lombok.RequiredArgsConstructor;
@@ -38,6 +39,8 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class KeycloakDataServiceImpl implements KeycloakDataService {
     private static final String USER_NOT_FOUND_IN_KEYCLOAK = "User[login: {}] was not found in keycloak.";
+    private static final String REQUEST_METRIC = "ledgers.keycloak.requests";
+    private static final String OPERATION_TAG = "operation";
     private final Keycloak keycloak;
     private final KeycloakDataMapper mapper;
     private final KeycloakClientConfig configuration;
@@ -143,7 +146,8 @@ public class KeycloakDataServiceImpl implements KeycloakDataService {
     @Override
     public void createUser(KeycloakUser user) {
         UsersResource usersResource = keycloak.realm(configuration.getClientRealm()).users();
-        try (Response response = usersResource.create(mapper.createUserRepresentation(user))) {
+        try (Response response = Metrics.timer(REQUEST_METRIC, OPERATION_TAG, "createUser")
+                                         .record(() -> usersResource.create(mapper.createUserRepresentation(user)))) {
             if (HttpStatus.CREATED.value() == response.getStatus()) {
                 String userId = CreatedResponseUtil.getCreatedId(response);
                 log.info("User [{}] is created with id: {}", user.getLogin(), userId);
@@ -258,7 +262,8 @@ public class KeycloakDataServiceImpl implements KeycloakDataService {
 
     private Optional<UserRepresentation> getUserByIdentifier(String login) {
         try {
-            List<UserRepresentation> search = keycloak.realm(configuration.getClientRealm()).users().search(login, true);
+            List<UserRepresentation> search = Metrics.timer(REQUEST_METRIC, OPERATION_TAG, "searchUser")
+                                                      .record(() -> keycloak.realm(configuration.getClientRealm()).users().search(login, true));
             return search.isEmpty()
                            ? Optional.empty()
                            : Optional.of(search.iterator().next());
@@ -10,15 +10,20 @@ import de.adorsys.ledgers.keycloak.client.mapper.KeycloakAuthMapper;
 import de.adorsys.ledgers.keycloak.client.model.TokenConfiguration;
 import de.adorsys.ledgers.keycloak.client.rest.KeycloakTokenRestClient;
 import de.adorsys.ledgers.middleware.api.domain.um.BearerTokenTO;
+import io.micrometer.core.instrument.Metrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.keycloak.representations.AccessToken;
 import org.keycloak.representations.AccessTokenResponse;
 import org.keycloak.representations.JsonWebToken;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
@@ -38,6 +43,8 @@ public class KeycloakTokenServiceImpl implements KeycloakTokenService {
     private static final String REFRESH_TOKEN_KEY = "refresh_token";
     private static final String GRANT_TYPE_KEY = "grant_type";
     private static final String PASSWORD_KEY = "password";
+    private static final String REQUEST_METRIC = "ledgers.keycloak.requests";
+    private static final String OPERATION_TAG = "operation";
 
     @Value("${keycloak.resource:}")
     private String clientId;
@@ -45,6 +52,8 @@ public class KeycloakTokenServiceImpl implements KeycloakTokenService {
     private String clientSecret;
     private final KeycloakTokenRestClient keycloakTokenRestClient;
     private final KeycloakAuthMapper authMapper;
+    /* Decoder of the resource server, verifies signatures against the cached keys of the realm */
+    private final ObjectProvider<JwtDecoder> jwtDecoder;
 
     @Override
     public BearerTokenTO login(String username, String password) {
@@ -54,7 +63,8 @@ public class KeycloakTokenServiceImpl implements KeycloakTokenService {
         formParams.add(PASSWORD_KEY, password);
         formParams.add(CLIENT_ID_KEY, clientId);
         formParams.add(CLIENT_SECRET_KEY, clientSecret);
-        ResponseEntity<Map<String, ?>> resp = keycloakTokenRestClient.login(formParams);
+        ResponseEntity<Map<String, ?>> resp = Metrics.timer(REQUEST_METRIC, OPERATION_TAG, "login")
+                                                      .record(() -> keycloakTokenRestClient.login(formParams));
         HttpStatus statusCode = (HttpStatus) resp.getStatusCode();
         if (HttpStatus.OK != statusCode) {
             log.error("Could not obtain token by user credentials [{}]", username);
@@ -68,10 +78,14 @@ public class KeycloakTokenServiceImpl implements KeycloakTokenService {
 
     @Override
     public BearerTokenTO exchangeToken(String oldToken, Integer timeToLive, String scope) {
-        AccessTokenResponse response = keycloakTokenRestClient.exchangeToken("Bearer " + oldToken, new TokenConfiguration(timeToLive, scope)).getBody();
-        return validate(Optional.ofNullable(response)
-                                .map(AccessTokenResponse::getToken)
-                                .orElse(""));
+        AccessTokenResponse response = Metrics.timer(REQUEST_METRIC, OPERATION_TAG, "exchange")
+                                               .record(() -> keycloakTokenRestClient.exchangeToken("Bearer " + oldToken, new TokenConfiguration(timeToLive, scope)))
+                                               .getBody();
+        String token = Optional.ofNullable(response)
+                               .map(AccessTokenResponse::getToken)
+                               .orElse("");
+        return decode(token).map(authMapper::toBearerTokenFromJwt)
+                       .orElseGet(() -> validate(token));
     }
 
     @Override
@@ -80,7 +94,8 @@ public class KeycloakTokenServiceImpl implements KeycloakTokenService {
         formParams.add("token", token);
         formParams.add(CLIENT_ID_KEY, clientId);
         formParams.add(CLIENT_SECRET_KEY, clientSecret);
-        ResponseEntity<AccessToken> resp = keycloakTokenRestClient.validate(formParams);
+        ResponseEntity<AccessToken> resp = Metrics.timer(REQUEST_METRIC, OPERATION_TAG, "validate")
+                                                   .record(() -> keycloakTokenRestClient.validate(formParams));
         HttpStatus statusCode = (HttpStatus) resp.getStatusCode();
         if (HttpStatus.OK != statusCode) {
             log.error("Could not validate token");
@@ -94,6 +109,23 @@ public class KeycloakTokenServiceImpl implements KeycloakTokenService {
         return authMapper.toBearer(resp.getBody(), token);
     }
 
+    /*
+     * A token just issued by Keycloak needs no introspection, checking its signature and expiry is enough.
+     * Introspects if there is no decoder or the token can not be verified locally.
+     */
+    private Optional<Jwt> decode(String token) {
+        JwtDecoder decoder = jwtDecoder.getIfAvailable();
+        if (decoder == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(decoder.decode(token));
+        } catch (JwtException e) {
+            log.debug("Could not verify token locally: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
     @Override
     public BearerTokenTO refreshToken(String refreshToken) {
         MultiValueMap<String, Object> formParams = new LinkedMultiValueMap<>();
@@ -101,7 +133,8 @@ public class KeycloakTokenServiceImpl implements KeycloakTokenService {
         formParams.add(CLIENT_ID_KEY, clientId);
         formParams.add(CLIENT_SECRET_KEY, clientSecret);
         formParams.add(REFRESH_TOKEN_KEY, refreshToken);
-        ResponseEntity<Map<String, ?>> resp = keycloakTokenRestClient.login(formParams);
+        ResponseEntity<Map<String, ?>> resp = Metrics.timer(REQUEST_METRIC, OPERATION_TAG, "refresh")
+                                                      .record(() -> keycloakTokenRestClient.login(formParams));
         HttpStatus statusCode = (HttpStatus) resp.getStatusCode();
         if (HttpStatus.OK != statusCode) {
             log.error("Could not obtain token by refresh token  [{}]", refreshToken);
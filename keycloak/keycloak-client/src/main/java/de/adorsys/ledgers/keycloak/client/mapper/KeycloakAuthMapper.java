@@ -27,7 +27,7 @@ public interface KeycloakAuthMapper {
         token.setIat(Date.from(source.getIssuedAt()));
         token.setRole(getLedgersUserRolesFromJwt(source));
         token.setSub(source.getClaimAsString("sub"));
-        token.setScopes(new HashSet<>(Arrays.asList(source.getClaimAsString("scope").split(" "))));
+        token.setScopes(toScopes(source.getClaimAsString("scope")));
         token.setLogin(source.getClaimAsString("name"));
         token.setExp(Date.from(source.getExpiresAt()));
         token.setJti(source.getClaimAsString("jti"));
@@ -95,7 +95,9 @@ public interface KeycloakAuthMapper {
     }
 
     default UserRoleTO getLedgersUserRolesFromJwt(Jwt token) {
-        List<String> tokenizedRoles = (ArrayList) token.getClaimAsMap("realm_access").get("roles");
+        List<String> tokenizedRoles = Optional.ofNullable(token.getClaimAsMap("realm_access"))
+                                              .map(access -> (List<String>) access.get("roles"))
+                                              .orElseGet(Collections::emptyList);
 
         Collection<UserRoleTO> roles = CollectionUtils.intersection(
                 tokenizedRoles
@@ -15,8 +15,13 @@ import org.keycloak.representations.AccessTokenResponse;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
 
+import java.time.Instant;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -31,6 +36,10 @@ class KeycloakTokenServiceImplTest {
     private KeycloakTokenRestClient keycloakTokenRestClient;
     @Mock
     private KeycloakAuthMapper authMapper;
+    @Mock
+    private ObjectProvider<JwtDecoder> jwtDecoderProvider;
+    @Mock
+    private JwtDecoder jwtDecoder;
 
     @Test
     void login() {
@@ -54,6 +63,30 @@ class KeycloakTokenServiceImplTest {
         verify(keycloakTokenRestClient, times(1)).validate(any());
     }
 
+    @Test
+    void exchangeToken_verified_locally() {
+        Jwt jwt = Jwt.withTokenValue("new Token").header("alg", "RS256").subject("subj").expiresAt(Instant.now().plusSeconds(60)).build();
+        when(keycloakTokenRestClient.exchangeToken(any(), any())).thenReturn(getTokenResponse());
+        when(jwtDecoderProvider.getIfAvailable()).thenReturn(jwtDecoder);
+        when(jwtDecoder.decode("new Token")).thenReturn(jwt);
+        when(authMapper.toBearerTokenFromJwt(jwt)).thenReturn(new BearerTokenTO());
+        BearerTokenTO result = service.exchangeToken("token", 1000, "new scope");
+        assertNotNull(result);
+        verify(keycloakTokenRestClient, never()).validate(any());
+    }
+
+    @Test
+    void exchangeToken_not_verified_locally() {
+        when(keycloakTokenRestClient.exchangeToken(any(), any())).thenReturn(getTokenResponse());
+        when(jwtDecoderProvider.getIfAvailable()).thenReturn(jwtDecoder);
+        when(jwtDecoder.decode("new Token")).thenThrow(new BadJwtException("Unknown key"));
+        when(keycloakTokenRestClient.validate(any())).thenReturn(getValidateTokenResponse());
+        when(authMapper.toBearer(any(), any())).thenReturn(new BearerTokenTO());
+        BearerTokenTO result = service.exchangeToken("token", 1000, "new scope");
+        assertNotNull(result);
+        verify(keycloakTokenRestClient, times(1)).validate(any());
+    }
+
     private ResponseEntity<AccessTokenResponse> getTokenResponse() {
         AccessTokenResponse response = new AccessTokenResponse();
         response.setToken("new Token");
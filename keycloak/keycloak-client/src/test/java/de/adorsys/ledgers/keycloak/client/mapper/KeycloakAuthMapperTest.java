@@ -17,6 +17,7 @@ import java.time.Instant;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 class KeycloakAuthMapperTest {
 
@@ -60,6 +61,24 @@ class KeycloakAuthMapperTest {
         assertEquals(UserRoleTO.CUSTOMER, token.getRole());
     }
 
+    @Test
+    void toAccessToken_without_scope_and_roles() {
+        // Given
+        Jwt jwt = Jwt.withTokenValue(TOKEN_STRING)
+                          .header("header", "value")
+                          .subject(SUBJECT)
+                          .issuedAt(NOW.toInstant())
+                          .expiresAt(NOW.toInstant().plusSeconds(10))
+                          .build();
+
+        // When
+        AccessTokenTO token = mapper.toAccessTokenFromJwt(jwt);
+
+        // Then
+        assertEquals(Collections.emptySet(), token.getScopes());
+        assertNull(token.getRole());
+        assertEquals(SUBJECT, token.getSub());
+    }
 
     @Test
     void toBearer() {
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.benchmark;
+
+import de.adorsys.ledgers.util.Ids;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures batch inserts into a table keyed like {@code posting}, with random and with time ordered ids.
+ * The table keeps growing over the iterations, so random ids spread the inserts over an ever larger primary key
+ * index while time ordered ids append to it.
+ * <p>
+ * Runs against an in-memory H2 database by default. For PostgreSQL pass
+ * {@code -Dbenchmark.jdbcUrl=jdbc:postgresql://localhost:5432/ledgers -Dbenchmark.user=... -Dbenchmark.password=...}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class IdInsertBenchmark {
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"random", "timeOrdered"})
+    private String idScheme;
+
+    private Connection connection;
+    private PreparedStatement insert;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(System.getProperty("benchmark.jdbcUrl", "jdbc:h2:mem:ids"),
+                                                 System.getProperty("benchmark.user", "sa"),
+                                                 System.getProperty("benchmark.password", ""));
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists id_benchmark");
+            statement.execute("create table id_benchmark (id varchar(255) primary key, opr_id varchar(255), record_time timestamp)");
+        }
+        connection.commit();
+        insert = connection.prepareStatement("insert into id_benchmark (id, opr_id, record_time) values (?, ?, current_timestamp)");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table id_benchmark");
+        }
+        connection.commit();
+        insert.close();
+        connection.close();
+    }
+
+    /* Each operation inserts and commits one batch of rows. */
+    @Benchmark
+    public int[] insertBatch() throws SQLException {
+        boolean random = "random".equals(idScheme);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            insert.setString(1, random ? IdsBenchmark.uuidId() : Ids.id());
+            insert.setString(2, Ids.randomId());
+            insert.addBatch();
+        }
+        int[] result = insert.executeBatch();
+        connection.commit();
+        return result;
+    }
+}
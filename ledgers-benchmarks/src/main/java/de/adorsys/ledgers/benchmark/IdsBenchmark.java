@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.benchmark;
+
+import de.adorsys.ledgers.util.Ids;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the time ordered {@link Ids#id()} with the former ids built from {@link UUID#randomUUID()},
+ * single threaded and with threads generating ids concurrently.
+ * <p>
+ * Run with {@code mvn -P benchmarks package} and {@code java -jar ledgers-benchmarks/target/benchmarks.jar IdsBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdsBenchmark {
+
+    @Benchmark
+    public String randomUuid() {
+        return uuidId();
+    }
+
+    @Benchmark
+    public String timeOrdered() {
+        return Ids.id();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String randomUuidConcurrent() {
+        return uuidId();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String timeOrderedConcurrent() {
+        return Ids.id();
+    }
+
+    /* The former implementation of Ids.id() */
+    static String uuidId() {
+        UUID uuid = UUID.randomUUID();
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(ByteBuffer.allocate(Long.BYTES).putLong(uuid.getMostSignificantBits()).array())
+                       + encoder.encodeToString(ByteBuffer.allocate(Long.BYTES).putLong(uuid.getLeastSignificantBits()).array());
+    }
+}
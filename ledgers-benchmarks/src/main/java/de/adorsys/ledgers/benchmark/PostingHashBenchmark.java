@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.benchmark;
+
+import de.adorsys.ledgers.postings.db.domain.*;
+import de.adorsys.ledgers.postings.db.utils.RecordHashHelper;
+import de.adorsys.ledgers.util.hash.HashGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost of hashing one posting with the JSON encoding of existing records ({@code SHA-256})
+ * and the canonical field encoding of new records ({@code SHA-256/C1}).
+ * <p>
+ * Run with {@code mvn -P benchmarks package} and {@code java -jar ledgers-benchmarks/target/benchmarks.jar PostingHashBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PostingHashBenchmark {
+    private static final LocalDateTime PST_TIME = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Param({"2", "20"})
+    private int lineCount;
+
+    private final RecordHashHelper recordHashHelper = new RecordHashHelper();
+    private Posting jsonPosting;
+    private Posting canonicalPosting;
+
+    @Setup
+    public void setUp() {
+        ChartOfAccount coa = new ChartOfAccount();
+        coa.setId("coa");
+        coa.setName("coa");
+        Ledger ledger = new Ledger();
+        ledger.setId("ledger");
+        ledger.setName("ledger");
+        ledger.setCoa(coa);
+        jsonPosting = posting(ledger, coa, HashGenerator.DEFAULT_HASH_ALG);
+        canonicalPosting = posting(ledger, coa, HashGenerator.CANONICAL_HASH_ALG);
+    }
+
+    @Benchmark
+    public String json() {
+        return recordHashHelper.computeRecHash(jsonPosting);
+    }
+
+    @Benchmark
+    public String canonical() {
+        return recordHashHelper.computeRecHash(canonicalPosting);
+    }
+
+    private Posting posting(Ledger ledger, ChartOfAccount coa, String hashAlg) {
+        Posting posting = new Posting();
+        posting.setId("posting");
+        posting.setHashAlg(hashAlg);
+        posting.setAntecedentId("antecedent");
+        posting.setAntecedentHash("8CADCC886BB0630EB525564B74276A64131CE1B1FDD8F280B79D4A9AF3544BBB");
+        posting.setRecordUser("benchmark");
+        posting.setOprId("opr");
+        posting.setOprDetails(new OperationDetails("{\"remittanceInformation\":\"benchmark\"}"));
+        posting.setOprTime(PST_TIME);
+        posting.setRecordTime(PST_TIME);
+        posting.setPstTime(PST_TIME);
+        posting.setValTime(PST_TIME);
+        posting.setPstType(PostingType.BUSI_TX);
+        posting.setLedger(ledger);
+        for (int i = 0; i < lineCount; i++) {
+            posting.getLines().add(line(ledger, coa, i));
+        }
+        return posting;
+    }
+
+    private PostingLine line(Ledger ledger, ChartOfAccount coa, int index) {
+        LedgerAccount account = new LedgerAccount();
+        account.setId("account-" + index);
+        account.setName("account-" + index);
+        account.setLedger(ledger);
+        account.setCoa(coa);
+        account.setBalanceSide(BalanceSide.DrCr);
+        account.setCategory(AccountCategory.AS);
+        PostingLine line = new PostingLine();
+        line.setId("line-" + index);
+        line.setAccount(account);
+        line.setDebitAmount(index % 2 == 0 ? BigDecimal.TEN : BigDecimal.ZERO);
+        line.setCreditAmount(index % 2 == 0 ? BigDecimal.ZERO : BigDecimal.TEN);
+        line.setDetails(new OperationDetails("line details"));
+        return line;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.benchmark;
+
+import de.adorsys.ledgers.postings.api.domain.PostingBO;
+import de.adorsys.ledgers.postings.db.domain.*;
+import de.adorsys.ledgers.postings.impl.converter.PostingMapper;
+import de.adorsys.ledgers.util.CloneUtils;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the JSON round trip of {@link CloneUtils} with the generated {@link PostingMapper}
+ * when converting postings read by operation id.
+ * <p>
+ * Run with {@code mvn -P benchmarks package} and {@code java -jar ledgers-benchmarks/target/benchmarks.jar}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PostingReadBenchmark {
+    private static final LocalDateTime PST_TIME = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Param({"1", "10"})
+    private int postingCount;
+
+    @Param({"2", "20"})
+    private int lineCount;
+
+    private final PostingMapper postingMapper = Mappers.getMapper(PostingMapper.class);
+    private List<Posting> postings;
+
+    @Setup
+    public void setUp() {
+        ChartOfAccount coa = new ChartOfAccount();
+        coa.setId("coa");
+        coa.setName("coa");
+        Ledger ledger = new Ledger();
+        ledger.setId("ledger");
+        ledger.setName("ledger");
+        ledger.setCoa(coa);
+        postings = new ArrayList<>();
+        for (int i = 0; i < postingCount; i++) {
+            postings.add(posting(ledger, coa, i));
+        }
+    }
+
+    @Benchmark
+    public List<PostingBO> cloneUtils() {
+        return CloneUtils.cloneList(postings, PostingBO.class);
+    }
+
+    @Benchmark
+    public List<PostingBO> postingMapper() {
+        return postingMapper.toPostingBOList(postings);
+    }
+
+    private Posting posting(Ledger ledger, ChartOfAccount coa, int index) {
+        Posting posting = new Posting();
+        posting.setId("posting-" + index);
+        posting.setOprId("opr-" + index);
+        posting.setOprDetails(new OperationDetails("{\"remittanceInformation\":\"benchmark\"}"));
+        posting.setOprTime(PST_TIME);
+        posting.setRecordTime(PST_TIME);
+        posting.setPstTime(PST_TIME);
+        posting.setValTime(PST_TIME);
+        posting.setPstType(PostingType.BUSI_TX);
+        posting.setLedger(ledger);
+        for (int i = 0; i < lineCount; i++) {
+            posting.getLines().add(line(ledger, coa, index, i));
+        }
+        return posting;
+    }
+
+    private PostingLine line(Ledger ledger, ChartOfAccount coa, int postingIndex, int index) {
+        LedgerAccount account = new LedgerAccount();
+        account.setId("account-" + index);
+        account.setName("account-" + index);
+        account.setLedger(ledger);
+        account.setCoa(coa);
+        account.setBalanceSide(BalanceSide.DrCr);
+        account.setCategory(AccountCategory.AS);
+        PostingLine line = new PostingLine();
+        line.setId("line-" + postingIndex + "-" + index);
+        line.setAccount(account);
+        line.setDebitAmount(index % 2 == 0 ? BigDecimal.TEN : BigDecimal.ZERO);
+        line.setCreditAmount(index % 2 == 0 ? BigDecimal.ZERO : BigDecimal.TEN);
+        line.setDetails(new OperationDetails("line details"));
+        line.setOprId("opr-" + postingIndex);
+        line.setPstTime(PST_TIME);
+        line.setPstType(PostingType.BUSI_TX);
+        line.setPstStatus(PostingStatus.POSTED);
+        return line;
+    }
+}
@@ -45,6 +45,34 @@ with ibans as (
      deleteOperationDetails as (
          delete from operation_details where id in (select * from oprDetIDS)
      ),
+     affectedAccounts as ( -- running balances and closed statements are rebuilt from the remaining posting lines
+         select distinct account_id from posting_line where posting_id in (select * from postingIds)
+     ),
+     deleteBalances as (
+         delete from ledger_account_balance where account_id in (select * from affectedAccounts)
+     ),
+     resetLedgerHeads as ( -- hash chains continue from the latest remaining posting, heads stay in place for their locks
+         update ledger_head h
+         set head_posting_id = (select p.id from posting p
+                                where p.ledger_id = h.ledger_id and p.id not in (select * from postingIds)
+                                order by p.record_time desc, p.id desc limit 1),
+             head_hash       = (select p.hash from posting p
+                                where p.ledger_id = h.ledger_id and p.id not in (select * from postingIds)
+                                order by p.record_time desc, p.id desc limit 1),
+             version         = h.version + 1
+         where h.ledger_id in (select ledger_id from posting where id in (select * from postingIds))
+     ),
+     deleteStmts as (
+         delete from account_stmt where account_id in (select * from affectedAccounts)
+     ),
+     deleteTraces as (
+         delete from posting_trace where account_id in (select * from affectedAccounts)
+     ),
+     resetBaseLines as (
+         update posting_line set base_line = null
+         where account_id in (select * from affectedAccounts)
+           and posting_id not in (select * from postingIds)
+     ),
      deletePostings as (
          delete from posting where id in (select * from postingIds)
      ),
@@ -0,0 +1,20 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.deposit.db.domain;
+
+/**
+ * Blocking flags of a deposit account, read without loading the account itself.
+ */
+public interface DepositAccountStatus {
+
+    boolean isBlocked();
+
+    boolean isSystemBlocked();
+
+    default boolean isEnabled() {
+        return !isBlocked() && !isSystemBlocked();
+    }
+}
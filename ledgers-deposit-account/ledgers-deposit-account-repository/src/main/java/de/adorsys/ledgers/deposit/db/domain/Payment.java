@@ -9,6 +9,7 @@ import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateDeserializer;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters.LocalDateConverter;
@@ -99,6 +100,16 @@ public class Payment {
      */
     private LocalDateTime nextScheduledExecution;
 
+    /**
+     * Instance of the Execution Scheduler which currently executes the payment (null if the payment is not claimed)
+     */
+    private String claimedBy;
+
+    /**
+     * End of the claim, afterwards the payment may be claimed again by any instance
+     */
+    private LocalDateTime claimedUntil;
+
     @NotNull
     @Embedded
     @AttributeOverrides({
@@ -119,6 +130,10 @@ public class Payment {
     @Column(nullable = false)
     private TransactionStatus transactionStatus;
 
+    /**
+     * Targets of a page of payments are loaded in batches rather than one select per payment
+     */
+    @BatchSize(size = 100)
     @OneToMany(fetch = FetchType.EAGER, cascade = {CascadeType.ALL})
     private List<PaymentTarget> targets = new ArrayList<>();
 
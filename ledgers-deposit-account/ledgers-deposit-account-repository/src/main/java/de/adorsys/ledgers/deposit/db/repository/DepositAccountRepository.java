@@ -6,12 +6,16 @@
 package de.adorsys.ledgers.deposit.db.repository;
 
 import de.adorsys.ledgers.deposit.db.domain.DepositAccount;
+import de.adorsys.ledgers.deposit.db.domain.DepositAccountStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Collection;
 import java.util.List;
@@ -27,8 +31,23 @@ public interface DepositAccountRepository extends PagingAndSortingRepository<Dep
 
     Optional<DepositAccount> findByIbanAndCurrency(String iban, String currency);
 
+    List<DepositAccount> findByIbanIn(Collection<String> ibans);
+
     List<DepositAccount> findAllByIbanAndCurrencyContaining(String iban, String currency);
 
+    /**
+     * Load the deposit account and lock it until the end of the transaction.
+     *
+     * @param id deposit account id
+     * @return deposit account wrapped with Optional
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from DepositAccount a where a.id = :id")
+    Optional<DepositAccount> findForUpdate(@Param("id") String id);
+
+    @Query("select a.blocked as blocked, a.systemBlocked as systemBlocked from DepositAccount a where a.id = ?1")
+    Optional<DepositAccountStatus> findStatusById(String id);
+
     @Query("update DepositAccount a set a.systemBlocked=?2 where a.branch=?1")
     void updateSystemBlockedStatus(String userId, boolean lockStatusToSet);
 
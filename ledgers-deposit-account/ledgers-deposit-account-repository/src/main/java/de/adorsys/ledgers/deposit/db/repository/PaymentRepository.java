@@ -9,12 +9,19 @@ import de.adorsys.ledgers.deposit.db.domain.Payment;
 import de.adorsys.ledgers.deposit.db.domain.PaymentType;
 import de.adorsys.ledgers.deposit.db.domain.TransactionStatus;
 import org.springframework.data.domain.Page;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -22,9 +29,24 @@ import java.util.Set;
 public interface PaymentRepository extends PagingAndSortingRepository<Payment, String>, CrudRepository<Payment, String> {
     Optional<Payment> findByPaymentIdAndTransactionStatus(String paymentId, TransactionStatus status);
 
+    /**
+     * Locks due payments which are not claimed by any scheduler instance, skipping the ones locked by other transactions.
+     * Lock timeout -2 is rendered as "for update skip locked" on databases supporting it.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query(value = "select p from Payment as p where p.transactionStatus = 'ACSP' and p.nextScheduledExecution <= current_timestamp " +
+                           "and (p.claimedUntil is null or p.claimedUntil < current_timestamp) order by p.nextScheduledExecution, p.paymentId")
+    List<Payment> findUnclaimedDuePayments(Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Payment p where p.paymentId = :paymentId")
+    Optional<Payment> findForUpdate(@Param("paymentId") String paymentId);
+
     @Transactional
-    @Query(value = "select p from Payment as p where p.transactionStatus = 'ACSP' and p.nextScheduledExecution <= current_timestamp")
-    List<Payment> getAllDuePayments();
+    @Modifying
+    @Query("update Payment p set p.claimedBy = null, p.claimedUntil = null where p.claimedBy = :owner")
+    int releaseClaims(@Param("owner") String owner);
 
     List<Payment> findAllByAccountIdInAndPaymentTypeAndTransactionStatus(Set<String> accountId, PaymentType type, TransactionStatus status);
 
@@ -6,6 +6,7 @@
 package de.adorsys.ledgers.deposit.db.repository;
 
 import de.adorsys.ledgers.deposit.db.domain.DepositAccount;
+import de.adorsys.ledgers.deposit.db.domain.DepositAccountStatus;
 import de.adorsys.ledgers.deposit.db.test.DepositAccountRepositoryApplication;
 import de.adorsys.ledgers.util.Ids;
 import org.junit.jupiter.api.Test;
@@ -14,7 +15,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.*;
 
 @ExtendWith(SpringExtension.class)
 @SpringBootTest(classes = DepositAccountRepositoryApplication.class)
@@ -33,4 +34,19 @@ class DepositAccountRepositoryIT {
         assertNotNull(account);
     }
 
+    @Test
+    void find_status_by_id() {
+        DepositAccount da = new DepositAccount();
+        da.setId(Ids.id());
+        da.setCurrency("USD");
+        da.setIban("DE89370400440532013001");
+        da.setSystemBlocked(true);
+        repo.save(da);
+
+        DepositAccountStatus status = repo.findStatusById(da.getId()).orElseThrow();
+        assertFalse(status.isBlocked());
+        assertTrue(status.isSystemBlocked());
+        assertFalse(status.isEnabled());
+    }
+
 }
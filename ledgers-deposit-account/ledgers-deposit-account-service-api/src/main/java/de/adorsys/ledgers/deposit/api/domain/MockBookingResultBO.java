@@ -0,0 +1,20 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.deposit.api.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+public class MockBookingResultBO {
+    /* Id of the job importing the prepared postings. */
+    private String jobId;
+    /* Transactions that could not be turned into postings, with the reason. */
+    private Map<String, String> errors;
+}
@@ -5,6 +5,7 @@
 
 package de.adorsys.ledgers.deposit.api.service;
 
+import de.adorsys.ledgers.deposit.api.domain.AccountReferenceBO;
 import de.adorsys.ledgers.deposit.api.domain.DepositAccountBO;
 import de.adorsys.ledgers.deposit.api.domain.DepositAccountDetailsBO;
 import de.adorsys.ledgers.deposit.api.domain.FundsConfirmationRequestBO;
@@ -15,6 +16,7 @@ import org.springframework.data.domain.Pageable;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
 
 public interface DepositAccountService {
 
@@ -46,8 +48,24 @@ public interface DepositAccountService {
 
     Optional<DepositAccountBO> getOptionalAccountByIbanAndCurrency(String iban, Currency currency);
 
+    /**
+     * Retrieve the accounts of all given references by IBAN and Currency at once
+     *
+     * @param references account references
+     * @return the accounts found, by the reference they were found for
+     */
+    Map<AccountReferenceBO, DepositAccountBO> resolveAll(Collection<AccountReferenceBO> references);
+
     Optional<DepositAccountBO> getOptionalAccountById(String accountId);
 
+    /**
+     * Checks whether the account is neither blocked nor system blocked, without computing its balances
+     *
+     * @param accountId the account id
+     * @return true if the account is enabled
+     */
+    boolean isAccountEnabled(String accountId);
+
     DepositAccountBO createNewAccount(DepositAccountBO depositAccountBO, String userName, String branch);
 
     DepositAccountDetailsBO getAccountDetailsByIbanAndCurrency(String iban, Currency currency, LocalDateTime refTime, boolean withBalances);
@@ -58,6 +76,17 @@ public interface DepositAccountService {
 
     List<TransactionDetailsBO> getTransactionsByDates(String accountId, LocalDateTime dateFrom, LocalDateTime dateTo);
 
+    /**
+     * Passes the transactions of an account within the given period to the consumer one by one,
+     * so that long periods can be exported without loading them into memory
+     *
+     * @param accountId the account id
+     * @param dateFrom  start of the period
+     * @param dateTo    end of the period
+     * @param consumer  receives the transactions, youngest first
+     */
+    void exportTransactionsByDates(String accountId, LocalDateTime dateFrom, LocalDateTime dateTo, Consumer<TransactionDetailsBO> consumer);
+
     Page<TransactionDetailsBO> getTransactionsByDatesPaged(String accountId, LocalDateTime dateFrom, LocalDateTime dateTo, Pageable pageable);
 
     boolean confirmationOfFunds(FundsConfirmationRequestBO requestBO);
@@ -6,10 +6,13 @@
 package de.adorsys.ledgers.deposit.api.service;
 
 import de.adorsys.ledgers.deposit.api.domain.MockBookingDetailsBO;
+import de.adorsys.ledgers.deposit.api.domain.MockBookingResultBO;
+import de.adorsys.ledgers.postings.api.domain.MockImportJobBO;
 
 import java.util.List;
-import java.util.Map;
 
 public interface TransactionService {
-    Map<String, String> bookMockTransaction(List<MockBookingDetailsBO> trDetails);
+    MockBookingResultBO bookMockTransaction(List<MockBookingDetailsBO> trDetails);
+
+    MockImportJobBO getMockImportJob(String jobId);
 }
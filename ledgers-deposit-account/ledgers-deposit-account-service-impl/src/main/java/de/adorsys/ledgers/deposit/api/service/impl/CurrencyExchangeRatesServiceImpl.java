@@ -32,7 +32,7 @@ import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.function.BiConsumer;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Slf4j
 @Service
@@ -42,11 +42,11 @@ public class CurrencyExchangeRatesServiceImpl implements CurrencyExchangeRatesSe
     private static final String CURRENCY_FIELD_NAME = "currency";
     private static final String RATE_FIELD_NAME = "rate";
     private static final String DEFAULT_RATE = "1";
-    private static Map<Currency, String> rates = new HashMap<>();
     private static final String RATE_CONTRACT = "International Currency Exchange Market";
 
     private final ExchangeRateClient client;
     private final ObjectMapper objectMapper;
+    private final AtomicReference<RateTable> rateTable = new AtomicReference<>(RateTable.of(Collections.emptyMap()));
 
     @Override
     @Scheduled(cron = "0 0 8 * * MON-FRI")
@@ -57,8 +57,10 @@ public class CurrencyExchangeRatesServiceImpl implements CurrencyExchangeRatesSe
             JsonNode tree = objectMapper.readTree(json.toString()).findValue("Cube")
                                     .elements().next()
                                     .elements().next();
+            Map<Currency, String> rates = new HashMap<>();
             tree.elements()
-                    .forEachRemaining(r -> mapRate(r.get(RATE_FIELD_NAME), r.get(CURRENCY_FIELD_NAME), rates::put));
+                    .forEachRemaining(r -> rates.put(mapCurrency(r.get(CURRENCY_FIELD_NAME)), r.get(RATE_FIELD_NAME).asText()));
+            rateTable.set(RateTable.of(rates));
             log.info("ExchangeRates updated: {}", LocalDateTime.now());
         } catch (IOException | FeignException e) {
             log.error("Could not update ExchangeRates: {} resetting to default!", LocalDateTime.now());
@@ -67,16 +69,15 @@ public class CurrencyExchangeRatesServiceImpl implements CurrencyExchangeRatesSe
     }
 
     @SneakyThrows(value = IOException.class)
-    private void mapRate(JsonNode rate, JsonNode currency, BiConsumer<Currency, String> consumer) {
-        Currency currencyValue = objectMapper.readValue(currency.toString(), Currency.class);
-        rates.put(currencyValue, rate.asText());
-        consumer.accept(currencyValue, rate.asText());
+    private Currency mapCurrency(JsonNode currency) {
+        return objectMapper.readValue(currency.toString(), Currency.class);
     }
 
-    private static void loadDefaultRates() throws IOException {
+    private void loadDefaultRates() throws IOException {
         Resource resource = new DefaultResourceLoader().getResource("rates.yml");
-        rates = new ObjectMapper(new YAMLFactory()).readValue(resource.getInputStream(), new TypeReference<Map<Currency, String>>() {
+        Map<Currency, String> rates = new ObjectMapper(new YAMLFactory()).readValue(resource.getInputStream(), new TypeReference<Map<Currency, String>>() {
         });
+        rateTable.set(RateTable.of(rates));
         log.info("ExchangeRates updated to defaults: {}", LocalDateTime.now());
     }
 
@@ -85,17 +86,20 @@ public class CurrencyExchangeRatesServiceImpl implements CurrencyExchangeRatesSe
         if (debtor == amount && amount == creditor) {
             return Collections.emptyList();
         }
+        RateTable table = rateTable.get();
         List<ExchangeRateBO> ratesToReturn = new ArrayList<>();
-        updateRatesList(amount, debtor, rates, ratesToReturn);
-        updateRatesList(amount, creditor, rates, ratesToReturn);
+        updateRatesList(amount, debtor, table, ratesToReturn);
+        updateRatesList(amount, creditor, table, ratesToReturn);
         return ratesToReturn;
     }
 
     @Override
     public BigDecimal applyRate(BigDecimal amount, ExchangeRateBO rate) {
-        return Optional.ofNullable(rate)
-                       .map(r -> amount.divide(parseBD(r.getRateFrom()), 4, RoundingMode.HALF_EVEN).multiply(parseBD(r.getRateTo())))
-                       .orElse(amount);
+        if (rate == null) {
+            return amount;
+        }
+        RateTable table = rateTable.get();
+        return applyRate(amount, table.parse(rate.getRateFrom()), table.parse(rate.getRateTo()));
     }
 
     @Override
@@ -103,45 +107,93 @@ public class CurrencyExchangeRatesServiceImpl implements CurrencyExchangeRatesSe
         if (curFrom == curTo) {
             return value;
         }
-        ExchangeRateBO rate = resolveExchangeRate(curFrom, curTo, rates);
-        return applyRate(value, rate);
+        CrossRate rate = rateTable.get().crossRate(curFrom, curTo);
+        return applyRate(value, rate.from, rate.to);
     }
 
-    private BigDecimal parseBD(String value) {
-        return NumberUtils.createBigDecimal(value);
+    private static BigDecimal applyRate(BigDecimal amount, BigDecimal rateFrom, BigDecimal rateTo) {
+        return amount.divide(rateFrom, 4, RoundingMode.HALF_EVEN).multiply(rateTo);
     }
 
-    private void updateRatesList(Currency curFrom, Currency curTo, Map<Currency, String> rates, List<ExchangeRateBO> ratesToReturn) {
+    private void updateRatesList(Currency curFrom, Currency curTo, RateTable table, List<ExchangeRateBO> ratesToReturn) {
         if (curFrom != curTo) {
-            ExchangeRateBO rate = resolveExchangeRate(curFrom, curTo, rates);
-            if (!rate.getRateFrom().equals(rate.getRateTo())) {
-                ratesToReturn.add(rate);
+            CrossRate rate = table.crossRate(curFrom, curTo);
+            if (!rate.isIdentity()) {
+                ratesToReturn.add(new ExchangeRateBO(curFrom, rate.fromText, curTo, rate.toText, LocalDate.now(), RATE_CONTRACT));
             }
         }
     }
 
-    private ExchangeRateBO resolveExchangeRate(Currency curFrom, Currency curTo, Map<Currency, String> rates) {
-        if (curFrom != curTo) {
-            String rateFrom = resolveRate(curFrom, rates);
-            String rateTo = resolveRate(curTo, rates);
-            if (!rateFrom.equals(rateTo)) {
-                return new ExchangeRateBO(curFrom, rateFrom, curTo, rateTo, LocalDate.now(), RATE_CONTRACT);
+    private static DepositModuleException currencyNotSupported(Currency currency) {
+        return DepositModuleException.builder()
+                       .errorCode(DepositErrorCode.CURRENCY_NOT_SUPPORTED)
+                       .devMsg(String.format("Exchange rate for currency: %s not found", currency))
+                       .build();
+    }
+
+    /**
+     * Immutable snapshot of the rates to EUR with the rates of all supported currency pairs computed in advance.
+     * A new snapshot replaces the previous one as a whole, so readers never see a partially updated table.
+     */
+    private static final class RateTable {
+        private final Map<String, BigDecimal> parsedRates;
+        private final Map<Currency, Map<Currency, CrossRate>> crossRates;
+
+        private RateTable(Map<String, BigDecimal> parsedRates, Map<Currency, Map<Currency, CrossRate>> crossRates) {
+            this.parsedRates = parsedRates;
+            this.crossRates = crossRates;
+        }
+
+        static RateTable of(Map<Currency, String> ratesToEur) {
+            Map<Currency, String> rates = new HashMap<>(ratesToEur);
+            rates.put(DEFAULT_ASPSP_CURRENCY, DEFAULT_RATE);
+
+            Map<String, BigDecimal> parsedRates = new HashMap<>();
+            rates.values().forEach(r -> parsedRates.computeIfAbsent(r, NumberUtils::createBigDecimal));
+
+            Map<Currency, Map<Currency, CrossRate>> crossRates = new HashMap<>();
+            rates.forEach((from, fromText) -> {
+                Map<Currency, CrossRate> ratesFrom = new HashMap<>();
+                rates.forEach((to, toText) -> ratesFrom.put(to, fromText.equals(toText)
+                                                                       ? new CrossRate(DEFAULT_RATE, DEFAULT_RATE, parsedRates)
+                                                                       : new CrossRate(fromText, toText, parsedRates)));
+                crossRates.put(from, Collections.unmodifiableMap(ratesFrom));
+            });
+            return new RateTable(Collections.unmodifiableMap(parsedRates), Collections.unmodifiableMap(crossRates));
+        }
+
+        CrossRate crossRate(Currency from, Currency to) {
+            Map<Currency, CrossRate> ratesFrom = crossRates.get(from);
+            if (ratesFrom == null) {
+                throw currencyNotSupported(from);
             }
+            return Optional.ofNullable(ratesFrom.get(to))
+                           .orElseThrow(() -> currencyNotSupported(to));
         }
-        return new ExchangeRateBO(curFrom, DEFAULT_RATE, curTo, DEFAULT_RATE, LocalDate.now(), RATE_CONTRACT);
-    }
 
-    private String resolveRate(Currency currency, Map<Currency, String> rates) {
-        return currency.equals(DEFAULT_ASPSP_CURRENCY)
-                       ? DEFAULT_RATE
-                       : getRate(currency, rates);
+        BigDecimal parse(String rate) {
+            BigDecimal parsed = parsedRates.get(rate);
+            return parsed == null
+                           ? NumberUtils.createBigDecimal(rate)
+                           : parsed;
+        }
     }
 
-    private String getRate(Currency currency, Map<Currency, String> rates) {
-        return Optional.ofNullable(rates.get(currency))
-                       .orElseThrow(() -> DepositModuleException.builder()
-                                                  .errorCode(DepositErrorCode.CURRENCY_NOT_SUPPORTED)
-                                                  .devMsg(String.format("Exchange rate for currency: %s not found", currency))
-                                                  .build());
+    private static final class CrossRate {
+        private final String fromText;
+        private final String toText;
+        private final BigDecimal from;
+        private final BigDecimal to;
+
+        CrossRate(String fromText, String toText, Map<String, BigDecimal> parsedRates) {
+            this.fromText = fromText;
+            this.toText = toText;
+            this.from = parsedRates.get(fromText);
+            this.to = parsedRates.get(toText);
+        }
+
+        boolean isIdentity() {
+            return fromText.equals(toText);
+        }
     }
 }
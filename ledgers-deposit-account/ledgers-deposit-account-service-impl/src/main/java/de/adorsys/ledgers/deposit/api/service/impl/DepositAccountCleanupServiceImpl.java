@@ -29,6 +29,7 @@ public class DepositAccountCleanupServiceImpl implements DepositAccountCleanupSe
     private final DepositAccountService depositAccountService;
     private final DepositAccountCleanupRepository depositAccountCleanupRepository;
     private final LedgerService ledgerService;
+    private final DepositAccountReferenceCache referenceCache;
 
     @Override
     public void deleteTransactions(String accountId) {
@@ -49,6 +50,8 @@ public class DepositAccountCleanupServiceImpl implements DepositAccountCleanupSe
     public void deleteBranch(String branchId) {
         try {
             depositAccountCleanupRepository.deleteBranch(branchId);
+            ledgerService.evictMetadataCache();
+            referenceCache.invalidateAll();
         } catch (CleanupModuleException e) {
             throw DepositModuleException.builder()
                           .devMsg(e.getDevMsg())
@@ -61,6 +64,8 @@ public class DepositAccountCleanupServiceImpl implements DepositAccountCleanupSe
     public void deleteUser(String userId) {
         try {
             depositAccountCleanupRepository.deleteUser(userId);
+            ledgerService.evictMetadataCache();
+            referenceCache.invalidateAll();
         } catch (CleanupModuleException e) {
             throw DepositModuleException.builder()
                           .devMsg(e.getDevMsg())
@@ -73,6 +78,8 @@ public class DepositAccountCleanupServiceImpl implements DepositAccountCleanupSe
     public void deleteAccount(String accountId) {
         try {
             depositAccountCleanupRepository.deleteAccount(accountId);
+            ledgerService.evictMetadataCache();
+            referenceCache.invalidateAll();
         } catch (CleanupModuleException e) {
             throw DepositModuleException.builder()
                           .devMsg(e.getDevMsg())
@@ -85,6 +92,8 @@ public class DepositAccountCleanupServiceImpl implements DepositAccountCleanupSe
     public void rollBackBranch(String branch, LocalDateTime revertTimestamp) {
         try {
             depositAccountCleanupRepository.rollBackBranch(branch, revertTimestamp);
+            ledgerService.evictMetadataCache();
+            referenceCache.invalidateAll();
         } catch (CleanupModuleException e) {
             throw DepositModuleException.builder()
                           .devMsg(e.getDevMsg())
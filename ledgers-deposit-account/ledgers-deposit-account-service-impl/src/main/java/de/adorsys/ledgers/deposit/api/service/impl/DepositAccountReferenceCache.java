@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.deposit.api.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of deposit account ids by IBAN and currency, so the accounts of a payment are not searched again for
+ * every validation, booking and status step. Only the id is cached, callers read the account itself by id, so its
+ * blocked and enabled state is always current, also when it was changed by another node.
+ * <p>
+ * References of accounts held by other banks are cached as absent for a shorter time, as an account with that
+ * reference may be created by another node. Entries are invalidated when an account changes and once more after the
+ * changing transaction completed, so a concurrent read can not keep the old state.
+ */
+@Component
+public class DepositAccountReferenceCache {
+    private final Cache<List<String>, Optional<String>> accountIds;
+
+    public DepositAccountReferenceCache(@Value("${ledgers.depositAccount.cache.maxSize:10000}") long maxSize,
+                                        @Value("${ledgers.depositAccount.cache.expireAfterWrite:PT10M}") Duration expireAfterWrite,
+                                        @Value("${ledgers.depositAccount.cache.expireAbsentAfterWrite:PT30S}") Duration expireAbsentAfterWrite) {
+        this.accountIds = Caffeine.newBuilder()
+                                  .maximumSize(maxSize)
+                                  .expireAfter(new Expiry<List<String>, Optional<String>>() {
+                                      @Override
+                                      public long expireAfterCreate(List<String> key, Optional<String> id, long currentTime) {
+                                          return (id.isPresent() ? expireAfterWrite : expireAbsentAfterWrite).toNanos();
+                                      }
+
+                                      @Override
+                                      public long expireAfterUpdate(List<String> key, Optional<String> id, long currentTime, long currentDuration) {
+                                          return expireAfterCreate(key, id, currentTime);
+                                      }
+
+                                      @Override
+                                      public long expireAfterRead(List<String> key, Optional<String> id, long currentTime, long currentDuration) {
+                                          return currentDuration;
+                                      }
+                                  })
+                                  .recordStats()
+                                  .build();
+        CaffeineCacheMetrics.monitor(Metrics.globalRegistry, accountIds, "depositAccountIdsByIbanAndCurrency");
+    }
+
+    public static List<String> key(String iban, String currency) {
+        return Arrays.asList(iban, currency);
+    }
+
+    /**
+     * Cached account id of the reference.
+     *
+     * @param iban     account IBAN
+     * @param currency account currency code
+     * @return the account id, empty for references of other banks, or null if the reference is not cached
+     */
+    public Optional<String> getIfPresent(String iban, String currency) { //NOSONAR null marks a reference not cached
+        return accountIds.getIfPresent(key(iban, currency));
+    }
+
+    public void put(String iban, String currency, Optional<String> accountId) { //NOSONAR absent ids are cached too
+        accountIds.put(key(iban, currency), accountId);
+    }
+
+    public Map<List<String>, Optional<String>> getAll(Set<List<String>> keys,
+                                                      Function<Set<? extends List<String>>, Map<List<String>, Optional<String>>> loader) {
+        return accountIds.getAll(keys, loader);
+    }
+
+    public void invalidate(String iban, String currency) {
+        invalidateNowAndAfterCompletion(() -> accountIds.invalidate(key(iban, currency)));
+    }
+
+    public void invalidateAll() {
+        invalidateNowAndAfterCompletion(accountIds::invalidateAll);
+    }
+
+    private void invalidateNowAndAfterCompletion(Runnable invalidation) {
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+}
@@ -12,6 +12,7 @@ import de.adorsys.ledgers.deposit.api.service.DepositAccountService;
 import de.adorsys.ledgers.deposit.api.service.mappers.DepositAccountMapper;
 import de.adorsys.ledgers.deposit.api.service.mappers.TransactionDetailsMapper;
 import de.adorsys.ledgers.deposit.db.domain.DepositAccount;
+import de.adorsys.ledgers.deposit.db.domain.DepositAccountStatus;
 import de.adorsys.ledgers.deposit.db.repository.DepositAccountRepository;
 import de.adorsys.ledgers.postings.api.domain.AccountStmtBO;
 import de.adorsys.ledgers.postings.api.domain.LedgerAccountBO;
@@ -33,6 +34,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import static de.adorsys.ledgers.deposit.api.domain.BalanceTypeBO.CLOSING_BOOKED;
@@ -53,18 +55,20 @@ public class DepositAccountServiceImpl extends AbstractServiceImpl implements De
     private final PostingService postingService;
     private final TransactionDetailsMapper transactionDetailsMapper;
     private final CurrencyExchangeRatesService exchangeRatesService;
+    private final DepositAccountReferenceCache referenceCache;
 
     public DepositAccountServiceImpl(DepositAccountConfigService depositAccountConfigService,
                                      LedgerService ledgerService, DepositAccountRepository depositAccountRepository,
                                      AccountStmtService accountStmtService,
                                      PostingService postingService, TransactionDetailsMapper transactionDetailsMapper,
-                                     CurrencyExchangeRatesService exchangeRatesService) {
+                                     CurrencyExchangeRatesService exchangeRatesService, DepositAccountReferenceCache referenceCache) {
         super(depositAccountConfigService, ledgerService);
         this.depositAccountRepository = depositAccountRepository;
         this.accountStmtService = accountStmtService;
         this.postingService = postingService;
         this.transactionDetailsMapper = transactionDetailsMapper;
         this.exchangeRatesService = exchangeRatesService;
+        this.referenceCache = referenceCache;
     }
 
     @Override
@@ -92,8 +96,43 @@ public class DepositAccountServiceImpl extends AbstractServiceImpl implements De
 
     @Override
     public Optional<DepositAccountBO> getOptionalAccountByIbanAndCurrency(String iban, Currency currency) {
-        return depositAccountRepository.findByIbanAndCurrency(iban, getCurrencyOrEmpty(currency))
-                       .map(depositAccountMapper::toDepositAccountBO);
+        String currencyCode = getCurrencyOrEmpty(currency);
+        Optional<String> accountId = referenceCache.getIfPresent(iban, currencyCode);
+        if (accountId != null) {
+            Optional<DepositAccount> account = accountId.flatMap(depositAccountRepository::findById);
+            if (account.isPresent() || accountId.isEmpty()) {
+                return account.map(depositAccountMapper::toDepositAccountBO);
+            }
+        }
+        // Not cached yet or the cached account was deleted meanwhile.
+        Optional<DepositAccount> account = depositAccountRepository.findByIbanAndCurrency(iban, currencyCode);
+        referenceCache.put(iban, currencyCode, account.map(DepositAccount::getId));
+        return account.map(depositAccountMapper::toDepositAccountBO);
+    }
+
+    @Override
+    public Map<AccountReferenceBO, DepositAccountBO> resolveAll(Collection<AccountReferenceBO> references) {
+        Set<List<String>> keys = references.stream()
+                                         .map(this::referenceKey)
+                                         .collect(Collectors.toSet());
+        Map<String, DepositAccount> accounts = new HashMap<>();
+        Map<List<String>, Optional<String>> accountIds = referenceCache.getAll(keys, missing -> loadIdsByIbanAndCurrency(missing, accounts));
+        // Accounts resolved from cached ids are read again for their current state.
+        Set<String> cachedIds = accountIds.values().stream()
+                                        .flatMap(Optional::stream)
+                                        .filter(id -> !accounts.containsKey(id))
+                                        .collect(Collectors.toSet());
+        if (!cachedIds.isEmpty()) {
+            depositAccountRepository.findAllById(cachedIds).forEach(a -> accounts.put(a.getId(), a));
+        }
+
+        Map<AccountReferenceBO, DepositAccountBO> result = new HashMap<>();
+        references.forEach(r -> accountIds.get(referenceKey(r))
+                                        .flatMap(id -> Optional.ofNullable(accounts.get(id))
+                                                               .map(depositAccountMapper::toDepositAccountBO)
+                                                               .or(() -> getOptionalAccountByIbanAndCurrency(r.getIban(), r.getCurrency())))
+                                        .ifPresent(a -> result.put(r, a)));
+        return result;
     }
 
     @Override
@@ -102,6 +141,16 @@ public class DepositAccountServiceImpl extends AbstractServiceImpl implements De
                        .map(depositAccountMapper::toDepositAccountBO);
     }
 
+    @Override
+    public boolean isAccountEnabled(String accountId) {
+        return depositAccountRepository.findStatusById(accountId)
+                       .map(DepositAccountStatus::isEnabled)
+                       .orElseThrow(() -> DepositModuleException.builder()
+                                                  .errorCode(DEPOSIT_ACCOUNT_NOT_FOUND)
+                                                  .devMsg(format(MSG_ACCOUNT_NOT_FOUND, accountId))
+                                                  .build());
+    }
+
     @Override
     public DepositAccountDetailsBO getAccountDetailsByIbanAndCurrency(String iban, Currency currency, LocalDateTime refTime, boolean withBalances) {
         return getOptionalAccountByIbanAndCurrency(iban, currency)
@@ -137,6 +186,14 @@ public class DepositAccountServiceImpl extends AbstractServiceImpl implements De
                        .collect(Collectors.toList());
     }
 
+    @Override
+    public void exportTransactionsByDates(String accountId, LocalDateTime dateFrom, LocalDateTime dateTo, Consumer<TransactionDetailsBO> consumer) {
+        DepositAccountBO account = getDepositAccountById(accountId);
+        LedgerAccountBO ledgerAccountBO = ledgerService.findLedgerAccountById(account.getLinkedAccounts());
+        postingService.exportPostingsByDates(ledgerAccountBO, dateFrom, dateTo,
+                                             line -> consumer.accept(enrichAdditionalInformation(transactionDetailsMapper.toTransactionSigned(line))));
+    }
+
     @Override
     public Page<TransactionDetailsBO> getTransactionsByDatesPaged(String accountId, LocalDateTime dateFrom, LocalDateTime dateTo, Pageable pageable) {
         DepositAccountBO account = getDepositAccountById(accountId);
@@ -235,6 +292,7 @@ public class DepositAccountServiceImpl extends AbstractServiceImpl implements De
 
         Optional.ofNullable(branch).ifPresent(depositAccount::setBranch);
         DepositAccount saved = depositAccountRepository.save(depositAccount);
+        referenceCache.invalidate(saved.getIban(), saved.getCurrency());
         return depositAccountMapper.toDepositAccountBO(saved);
     }
 
@@ -266,6 +324,26 @@ public class DepositAccountServiceImpl extends AbstractServiceImpl implements De
         }
     }
 
+    private List<String> referenceKey(AccountReferenceBO reference) {
+        return DepositAccountReferenceCache.key(reference.getIban(), getCurrencyOrEmpty(reference.getCurrency()));
+    }
+
+    private Map<List<String>, Optional<String>> loadIdsByIbanAndCurrency(Set<? extends List<String>> keys, Map<String, DepositAccount> loaded) {
+        Set<String> ibans = keys.stream()
+                                    .map(k -> k.get(0))
+                                    .filter(Objects::nonNull)
+                                    .collect(Collectors.toSet());
+        Map<List<String>, DepositAccount> found = depositAccountRepository.findByIbanIn(ibans).stream()
+                                                          .collect(Collectors.toMap(a -> DepositAccountReferenceCache.key(a.getIban(), a.getCurrency()), a -> a));
+        Map<List<String>, Optional<String>> accountIds = new HashMap<>();
+        keys.forEach(k -> {
+            Optional<DepositAccount> account = Optional.ofNullable(found.get(k));
+            account.ifPresent(a -> loaded.put(a.getId(), a));
+            accountIds.put(k, account.map(DepositAccount::getId));
+        });
+        return accountIds;
+    }
+
     private String getCurrencyOrEmpty(Currency currency) {
         return Optional.ofNullable(currency)
                        .map(Currency::getCurrencyCode)
@@ -22,6 +22,7 @@ import de.adorsys.ledgers.postings.api.service.LedgerService;
 import de.adorsys.ledgers.postings.api.service.PostingService;
 import de.adorsys.ledgers.util.Ids;
 import de.adorsys.ledgers.util.exception.DepositModuleException;
+import io.micrometer.core.instrument.Metrics;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -30,8 +31,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Currency;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static de.adorsys.ledgers.util.exception.DepositErrorCode.DEPOSIT_ACCOUNT_NOT_FOUND;
 import static de.adorsys.ledgers.util.exception.DepositErrorCode.DEPOSIT_OPERATION_FAILURE;
@@ -39,6 +44,9 @@ import static java.lang.String.format;
 
 @Service
 public class DepositAccountTransactionServiceImpl extends AbstractServiceImpl implements DepositAccountTransactionService {
+    private static final String BOOKING_METRIC = "ledgers.payment.booking";
+    private static final String TYPE_TAG = "type";
+
     private final PaymentMapper paymentMapper;
     private final PostingMapper postingMapper;
     private final PostingService postingService;
@@ -101,14 +109,17 @@ public class DepositAccountTransactionServiceImpl extends AbstractServiceImpl im
      */
     @Override
     public void bookPayment(PaymentBO payment, LocalDateTime pstTime, String userName) {
-        String oprDetails = serializeService.serializeOprDetails(paymentMapper.toPaymentOrder(payment));
-        LedgerBO ledger = loadLedger();
-
-        if (payment.getPaymentType() == PaymentTypeBO.BULK && Optional.ofNullable(payment.getBatchBookingPreferred()).orElse(false)) {
-            createBatchPostings(pstTime, oprDetails, ledger, payment, userName);
-        } else {
-            createRegularPostings(pstTime, oprDetails, ledger, payment, userName);
-        }
+        Metrics.timer(BOOKING_METRIC, TYPE_TAG, String.valueOf(payment.getPaymentType())).record(() -> {
+            String oprDetails = serializeService.serializeOprDetails(paymentMapper.toPaymentOrder(payment));
+            LedgerBO ledger = loadLedger();
+            BookingBalances balances = new BookingBalances();
+
+            if (payment.getPaymentType() == PaymentTypeBO.BULK && Optional.ofNullable(payment.getBatchBookingPreferred()).orElse(false)) {
+                createBatchPostings(pstTime, oprDetails, ledger, payment, userName, balances);
+            } else {
+                createRegularPostings(pstTime, oprDetails, ledger, payment, userName, balances);
+            }
+        });
     }
 
     private void depositCash(DepositAccountDetailsBO depositAccount, AmountBO amount, String recordUser, LedgerBO ledger, LocalDateTime postingDateTime) {
@@ -144,13 +155,6 @@ public class DepositAccountTransactionServiceImpl extends AbstractServiceImpl im
         return balanceAfterTransaction.orElse(null);
     }
 
-    private BalanceBO resolveBalanceAfterTransactionForPayment(boolean debit, PaymentTargetBO target, BigDecimal amount) {
-        DepositAccountDetailsBO accountDetails = debit
-                                                         ? depositAccountService.getAccountDetailsById(target.getPayment().getAccountId(), LocalDateTime.now(), true)
-                                                         : getAccount(target.getCreditorAccount().getIban(), target.getCreditorAccount().getCurrency());
-        return resolveBalanceAfterTransaction(debit, accountDetails, amount);
-    }
-
     private BalanceBO getBalance(List<BalanceBO> balances) {
         return balances.stream()
                        .filter(b -> b.getBalanceType() == BalanceTypeBO.INTERIM_AVAILABLE)
@@ -158,15 +162,16 @@ public class DepositAccountTransactionServiceImpl extends AbstractServiceImpl im
                        .orElse(null);
     }
 
-    private void createRegularPostings(LocalDateTime pstTime, String oprDetails, LedgerBO ledger, PaymentBO payment, String userName) {
-        payment.getTargets().stream()
-                .map(t -> {
-                    t.setPayment(payment);
-                    return buildDCPosting(pstTime, oprDetails, ledger, t, userName);
-                }).forEach(postingService::newPosting);
+    private void createRegularPostings(LocalDateTime pstTime, String oprDetails, LedgerBO ledger, PaymentBO payment, String userName, BookingBalances balances) {
+        List<PostingBO> postings = payment.getTargets().stream()
+                                           .map(t -> {
+                                               t.setPayment(payment);
+                                               return buildDCPosting(pstTime, oprDetails, ledger, t, userName, balances);
+                                           }).collect(Collectors.toList());
+        postingService.newPostings(postings);
     }
 
-    private void createBatchPostings(LocalDateTime pstTime, String oprDetails, LedgerBO ledger, PaymentBO payment, String userName) {
+    private void createBatchPostings(LocalDateTime pstTime, String oprDetails, LedgerBO ledger, PaymentBO payment, String userName, BookingBalances balances) {
         PostingBO posting = postingMapper.buildPosting(pstTime, payment.getPaymentId(), oprDetails, ledger, userName);
         List<ExchangeRateBO> ratesForDebitLine = new ArrayList<>();
         BigDecimal batchAmount = BigDecimal.ZERO;
@@ -175,38 +180,38 @@ public class DepositAccountTransactionServiceImpl extends AbstractServiceImpl im
             t.setPayment(payment);
             List<ExchangeRateBO> rates = exchangeRatesService.getExchangeRates(payment.getDebtorAccount().getCurrency(), t.getInstructedAmount().getCurrency(), t.getCreditorAccount().getCurrency());
             Optional.ofNullable(resolveRateIfRequired(payment.getDebtorAccount(), rates)).ifPresent(ratesForDebitLine::add);
-            PostingLineBO line = createLine(ledger, t, pstTime, rates, payment.getPaymentId(), false, true);
+            PostingLineBO line = createLine(ledger, t, pstTime, rates, payment.getPaymentId(), false, true, balances);
             creditLines.add(line);
             batchAmount = batchAmount.add(line.getCreditAmount());
-            addAdditionalLinesIfRequired(t, ledger, pstTime, rates, posting.getOprId(), creditLines);
+            addAdditionalLinesIfRequired(t, ledger, pstTime, rates, posting.getOprId(), creditLines, balances);
         }
 
         AmountBO amount = new AmountBO(payment.getDebtorAccount().getCurrency(), batchAmount);
         String id = Ids.id();
-        BalanceBO balanceAfterTransaction = resolveBalanceAfterTransaction(true, depositAccountService.getAccountDetailsById(payment.getAccountId(), LocalDateTime.now(), true), batchAmount);
+        LedgerAccountBO debtorLedgerAccount = getLedgerAccount(ledger, payment.getPaymentProduct(), payment.getDebtorAccount(), true, true, false);
+        BalanceBO balanceAfterTransaction = balances.afterLine(balances.debtor(payment.getAccountId()), debtorLedgerAccount, true, batchAmount);
         ratesForDebitLine = ratesForDebitLine.isEmpty() ? null : ratesForDebitLine;
         String debitLineDetails = serializeService.serializeOprDetails(paymentMapper.toPaymentTargetDetailsBatch(id, payment, amount, pstTime.toLocalDate(), ratesForDebitLine, balanceAfterTransaction, objectMapper));
-        LedgerAccountBO debtorLedgerAccount = getLedgerAccount(ledger, payment.getPaymentProduct(), payment.getDebtorAccount(), true, true, false);
         PostingLineBO debitLine = postingMapper.buildPostingLine(debitLineDetails, debtorLedgerAccount, amount.getAmount(), BigDecimal.ZERO, payment.getPaymentId(), id);
         posting.getLines().add(debitLine);
         posting.getLines().addAll(creditLines);
         postingService.newPosting(posting);
     }
 
-    private PostingBO buildDCPosting(LocalDateTime pstTime, String oprDetails, LedgerBO ledger, PaymentTargetBO target, String userName) {
+    private PostingBO buildDCPosting(LocalDateTime pstTime, String oprDetails, LedgerBO ledger, PaymentTargetBO target, String userName, BookingBalances balances) {
         PostingBO posting = postingMapper.buildPosting(pstTime, target.getPayment().getPaymentId(), oprDetails, ledger, userName);
         List<ExchangeRateBO> rates = exchangeRatesService.getExchangeRates(target.getPayment().getDebtorAccount().getCurrency(), target.getInstructedAmount().getCurrency(), target.getCreditorAccount().getCurrency());
-        PostingLineBO debitLine = createLine(ledger, target, pstTime, rates, posting.getOprId(), true, true);
-        PostingLineBO creditLine = createLine(ledger, target, pstTime, rates, target.getPayment().getPaymentId(), false, true);
+        PostingLineBO debitLine = createLine(ledger, target, pstTime, rates, posting.getOprId(), true, true, balances);
+        PostingLineBO creditLine = createLine(ledger, target, pstTime, rates, target.getPayment().getPaymentId(), false, true, balances);
         posting.getLines().addAll(Arrays.asList(debitLine, creditLine));
-        addAdditionalLinesIfRequired(target, ledger, pstTime, rates, posting.getOprId(), posting.getLines());
+        addAdditionalLinesIfRequired(target, ledger, pstTime, rates, posting.getOprId(), posting.getLines(), balances);
         return posting;
     }
 
-    private void addAdditionalLinesIfRequired(PaymentTargetBO target, LedgerBO ledger, LocalDateTime pstTime, List<ExchangeRateBO> rates, String oprId, List<PostingLineBO> lines) {
+    private void addAdditionalLinesIfRequired(PaymentTargetBO target, LedgerBO ledger, LocalDateTime pstTime, List<ExchangeRateBO> rates, String oprId, List<PostingLineBO> lines, BookingBalances balances) {
         if (additionalLinesRequired(target)) {
-            PostingLineBO additionalDebitLine = createLine(ledger, target, pstTime, rates, oprId, true, false);
-            PostingLineBO additionalCreditLine = createLine(ledger, target, pstTime, rates, target.getPayment().getPaymentId(), false, false);
+            PostingLineBO additionalDebitLine = createLine(ledger, target, pstTime, rates, oprId, true, false, balances);
+            PostingLineBO additionalCreditLine = createLine(ledger, target, pstTime, rates, target.getPayment().getPaymentId(), false, false, balances);
             lines.addAll(Arrays.asList(additionalDebitLine, additionalCreditLine));
         }
     }
@@ -216,7 +221,7 @@ public class DepositAccountTransactionServiceImpl extends AbstractServiceImpl im
     }
 
     // Here oprId is postingId for debitLine and paymentId for creditLine
-    private PostingLineBO createLine(LedgerBO ledger, PaymentTargetBO target, LocalDateTime pstTime, List<ExchangeRateBO> rates, String oprId, boolean isDebitLine, boolean isFirstLine) {
+    private PostingLineBO createLine(LedgerBO ledger, PaymentTargetBO target, LocalDateTime pstTime, List<ExchangeRateBO> rates, String oprId, boolean isDebitLine, boolean isFirstLine, BookingBalances balances) {
         String id = Ids.id();
         ExchangeRateBO ratesForLine = resolveRateIfRequired(getReferenceByValue(target, isFirstLine), rates);
 
@@ -224,7 +229,10 @@ public class DepositAccountTransactionServiceImpl extends AbstractServiceImpl im
         BigDecimal debitAmount = getDCtAmount(target.getInstructedAmount(), isDebitLine, ratesForLine);
         BigDecimal creditAmount = getDCtAmount(target.getInstructedAmount(), !isDebitLine, ratesForLine);
 
-        BalanceBO balanceAfterTransaction = resolveBalanceAfterTransactionForPayment(isDebitLine, target, isDebitLine ? debitAmount : creditAmount);
+        Optional<DepositAccountDetailsBO> account = isDebitLine
+                                                            ? balances.debtor(target.getPayment().getAccountId())
+                                                            : balances.creditor(target.getCreditorAccount());
+        BalanceBO balanceAfterTransaction = balances.afterLine(account, ledgerAccount, isDebitLine, isDebitLine ? debitAmount : creditAmount);
         String targetDetails = serializeService.serializeOprDetails(paymentMapper.toPaymentTargetDetails(id, target, pstTime.toLocalDate(), Optional.ofNullable(ratesForLine)
                                                                                                                                                     .map(Collections::singletonList)
                                                                                                                                                     .orElse(null), balanceAfterTransaction));
@@ -279,4 +287,51 @@ public class DepositAccountTransactionServiceImpl extends AbstractServiceImpl im
         return depositAccountService.getOptionalAccountByIbanAndCurrency(reference.getIban(), reference.getCurrency())
                        .map(DepositAccountBO::getLinkedAccounts);
     }
+
+    /**
+     * Balances of the accounts affected by one booking. Each account is loaded once, the amounts of the lines
+     * booked on it are then applied in the order of the lines.
+     */
+    private class BookingBalances {
+        private final Map<String, Optional<DepositAccountDetailsBO>> debtors = new HashMap<>();
+        private final Map<AccountReferenceBO, Optional<DepositAccountDetailsBO>> creditors = new HashMap<>();
+
+        Optional<DepositAccountDetailsBO> debtor(String accountId) {
+            return debtors.computeIfAbsent(accountId, id -> Optional.ofNullable(depositAccountService.getAccountDetailsById(id, LocalDateTime.now(), true)));
+        }
+
+        Optional<DepositAccountDetailsBO> creditor(AccountReferenceBO reference) {
+            return creditors.computeIfAbsent(reference, r -> Optional.ofNullable(getAccount(r.getIban(), r.getCurrency())));
+        }
+
+        /**
+         * Lines on other ledger accounts, i.e. the clearing lines of a currency exchange, only show the balance
+         * they would result in without changing it.
+         */
+        BalanceBO afterLine(Optional<DepositAccountDetailsBO> account, LedgerAccountBO ledgerAccount, boolean debit, BigDecimal amount) {
+            Optional<BalanceBO> balance = account.map(DepositAccountDetailsBO::getBalances)
+                                                  .map(DepositAccountTransactionServiceImpl.this::getBalance);
+            if (balance.isEmpty()) {
+                return null;
+            }
+            boolean bookedOnAccount = Objects.equals(account.get().getAccount().getLinkedAccounts(), ledgerAccount.getId());
+            BalanceBO result = copy(balance.get());
+            result.updateAmount(amount, debit ? BigDecimal::subtract : BigDecimal::add);
+            if (bookedOnAccount) {
+                balance.get().setAmount(result.getAmount());
+                return copy(result);
+            }
+            return result;
+        }
+
+        private BalanceBO copy(BalanceBO balance) {
+            BalanceBO copy = new BalanceBO();
+            copy.setAmount(new AmountBO(balance.getAmount().getCurrency(), balance.getAmount().getAmount()));
+            copy.setBalanceType(balance.getBalanceType());
+            copy.setLastChangeDateTime(balance.getLastChangeDateTime());
+            copy.setReferenceDate(balance.getReferenceDate());
+            copy.setLastCommittedTransaction(balance.getLastCommittedTransaction());
+            return copy;
+        }
+    }
 }
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.deposit.api.service.impl;
+
+import de.adorsys.ledgers.deposit.db.domain.Payment;
+import de.adorsys.ledgers.deposit.db.repository.PaymentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Claims due payments for one scheduler instance. Claimed rows are locked with skip locked semantics until
+ * the claim is stored, so concurrent instances never claim the same payment.
+ */
+@Service
+@RequiredArgsConstructor
+public class PaymentClaimer {
+    private final PaymentRepository paymentRepository;
+
+    @Transactional
+    public List<Payment> claim(String owner, int limit, LocalDateTime claimedUntil) {
+        List<Payment> payments = paymentRepository.findUnclaimedDuePayments(PageRequest.of(0, limit));
+        payments.forEach(p -> {
+            p.setClaimedBy(owner);
+            p.setClaimedUntil(claimedUntil);
+        });
+        paymentRepository.saveAll(payments);
+        return payments;
+    }
+}
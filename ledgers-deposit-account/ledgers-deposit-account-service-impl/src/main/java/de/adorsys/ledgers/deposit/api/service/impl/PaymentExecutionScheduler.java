@@ -5,35 +5,114 @@
 
 package de.adorsys.ledgers.deposit.api.service.impl;
 
-import de.adorsys.ledgers.deposit.db.domain.AccountReference;
+import de.adorsys.ledgers.deposit.api.domain.AccountReferenceBO;
+import de.adorsys.ledgers.deposit.api.domain.DepositAccountBO;
+import de.adorsys.ledgers.deposit.api.service.DepositAccountService;
+import de.adorsys.ledgers.deposit.api.service.mappers.DepositAccountMapper;
 import de.adorsys.ledgers.deposit.db.domain.DepositAccount;
 import de.adorsys.ledgers.deposit.db.domain.Payment;
 import de.adorsys.ledgers.deposit.db.domain.PaymentTarget;
 import de.adorsys.ledgers.deposit.db.repository.DepositAccountRepository;
 import de.adorsys.ledgers.deposit.db.repository.PaymentRepository;
-import lombok.RequiredArgsConstructor;
+import de.adorsys.ledgers.util.Ids;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.mapstruct.factory.Mappers;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 
+/**
+ * Executes due payments. Each instance claims due payments in batches, so several instances of the application
+ * can run the scheduler without booking a payment twice, and executes every batch on a pool of worker threads.
+ * Payments of one debtor account are executed one after the other by the same worker.
+ * <p>
+ * Claims are released at the end of each run, so payments that were not executed (failed, blocked accounts)
+ * are retried by the next run of any instance. Claims of an instance that died are released when their lease ends.
+ * A payment is executed only if it is still claimed by this instance once its debtor is locked, so a run that outlasts
+ * the lease does not book a payment claimed again by another instance.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class PaymentExecutionScheduler {
     private static final String SCHEDULER = "Scheduler";
+    private static final String METRIC_PREFIX = "ledgers.payment.scheduler.";
     private final PaymentRepository paymentRepository;
     private final DepositAccountRepository accountRepository;
+    private final DepositAccountService accountService;
+    private final PaymentClaimer paymentClaimer;
+    private final DepositAccountMapper depositAccountMapper = Mappers.getMapper(DepositAccountMapper.class);
 
     private final PaymentExecutionService executionService;
+    private final ExecutorService executor;
+
+    private final String owner = SCHEDULER + "-" + Ids.id();
+
+    @Value("${ledgers.paymentScheduler.batchSize:100}")
+    private int batchSize;
+    @Value("${ledgers.paymentScheduler.lease:PT10M}")
+    private Duration lease;
+
+    public PaymentExecutionScheduler(PaymentRepository paymentRepository, DepositAccountRepository accountRepository,
+                                     DepositAccountService accountService, PaymentClaimer paymentClaimer,
+                                     PaymentExecutionService executionService,
+                                     @Value("${ledgers.paymentScheduler.threads:4}") int threads) {
+        this.paymentRepository = paymentRepository;
+        this.accountRepository = accountRepository;
+        this.accountService = accountService;
+        this.paymentClaimer = paymentClaimer;
+        this.executionService = executionService;
+        this.executor = Executors.newFixedThreadPool(threads);
+    }
 
     @Scheduled(initialDelayString = "${ledgers.paymentScheduler.initialDelay}", fixedDelayString = "${ledgers.paymentScheduler.delay}")
     public void scheduler() {
         log.info("Payment Execution Scheduler started at {}", LocalDateTime.now());
-        List<Payment> payments = paymentRepository.getAllDuePayments();
-        payments.forEach(this::executeIfNotBlocked);
+        try {
+            List<Payment> payments;
+            do {
+                payments = paymentClaimer.claim(owner, batchSize, LocalDateTime.now().plus(lease));
+                Metrics.summary(METRIC_PREFIX + "batch.size").record(payments.size());
+                // Payments of different debtors do not compete for the same funds
+                Map<String, List<Payment>> byDebtor = payments.stream()
+                                                              .collect(Collectors.groupingBy(Payment::getAccountId, LinkedHashMap::new, Collectors.toList()));
+                CompletableFuture.allOf(byDebtor.values().stream()
+                                                .map(debtorPayments -> CompletableFuture.runAsync(() -> debtorPayments.forEach(this::execute), executor))
+                                                .toArray(CompletableFuture[]::new))
+                        .join();
+            } while (payments.size() == batchSize);
+        } finally {
+            paymentRepository.releaseClaims(owner);
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private void execute(Payment payment) {
+        // Time the payment waited for execution after it became due
+        if (payment.getNextScheduledExecution() != null) {
+            Metrics.timer(METRIC_PREFIX + "lag")
+                    .record(Duration.between(payment.getNextScheduledExecution(), LocalDateTime.now()));
+        }
+        try {
+            executeIfNotBlocked(payment);
+        } catch (RuntimeException e) {
+            log.error("Scheduler couldn't execute payment {}: {}", payment.getPaymentId(), e.getMessage());
+        }
     }
 
     private void executeIfNotBlocked(Payment payment) {
@@ -41,7 +120,7 @@ public class PaymentExecutionScheduler {
         boolean creditorsAreEnabled = areTargetsEnabled(payment.getTargets());
 
         if (debtorIsEnabled && creditorsAreEnabled) {
-            executionService.executePayment(payment, SCHEDULER);
+            executionService.executeClaimedPayment(payment, owner, SCHEDULER);
         }
     }
 
@@ -52,14 +131,12 @@ public class PaymentExecutionScheduler {
     }
 
     private boolean areTargetsEnabled(List<PaymentTarget> targets) {
-        return targets.stream()
-                       .map(PaymentTarget::getCreditorAccount)
-                       .allMatch(this::isEnabledCreditorAccount);
-    }
-
-    private boolean isEnabledCreditorAccount(AccountReference reference) {
-        return accountRepository.findByIbanAndCurrency(reference.getIban(), reference.getCurrency())
-                       .map(DepositAccount::isEnabled)
-                       .orElse(true);
+        List<AccountReferenceBO> creditors = targets.stream()
+                                                     .map(t -> depositAccountMapper.toAccountReferenceBO(t.getCreditorAccount()))
+                                                     .collect(Collectors.toList());
+        // Creditor accounts held by other banks are not known here and count as enabled
+        Map<AccountReferenceBO, DepositAccountBO> accounts = accountService.resolveAll(creditors);
+        return accounts.values().stream()
+                       .allMatch(DepositAccountBO::isEnabled);
     }
 }
@@ -9,11 +9,13 @@ import de.adorsys.ledgers.deposit.api.domain.*;
 import de.adorsys.ledgers.deposit.api.service.CurrencyExchangeRatesService;
 import de.adorsys.ledgers.deposit.api.service.DepositAccountService;
 import de.adorsys.ledgers.deposit.api.service.DepositAccountTransactionService;
+import de.adorsys.ledgers.deposit.api.service.mappers.DepositAccountMapper;
 import de.adorsys.ledgers.deposit.api.service.mappers.PaymentMapper;
 import de.adorsys.ledgers.deposit.db.domain.FrequencyCode;
 import de.adorsys.ledgers.deposit.db.domain.Payment;
 import de.adorsys.ledgers.deposit.db.domain.PaymentType;
 import de.adorsys.ledgers.deposit.db.domain.TransactionStatus;
+import de.adorsys.ledgers.deposit.db.repository.DepositAccountRepository;
 import de.adorsys.ledgers.deposit.db.repository.PaymentRepository;
 import de.adorsys.ledgers.util.exception.DepositModuleException;
 import lombok.RequiredArgsConstructor;
@@ -25,6 +27,7 @@ import net.objectlab.kit.datecalc.jdk8.LocalDateKitCalculatorsFactory;
 import org.mapstruct.factory.Mappers;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import pro.javatar.commons.reader.YamlReader;
 
 import java.io.IOException;
@@ -33,6 +36,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.*;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import static de.adorsys.ledgers.deposit.api.domain.ExecutionRules.FOLLOWING;
@@ -45,10 +49,12 @@ import static de.adorsys.ledgers.util.exception.DepositErrorCode.PAYMENT_PROCESS
 public class PaymentExecutionService implements InitializingBean {
     private static final String CALENDAR_NAME = "LEDGERS";
     private final PaymentRepository paymentRepository;
+    private final DepositAccountRepository accountRepository;
     private final DepositAccountTransactionService txService;
     private final DepositAccountService accountService;
     private final CurrencyExchangeRatesService exchangeRatesService;
     private final PaymentMapper paymentMapper = Mappers.getMapper(PaymentMapper.class);
+    private final DepositAccountMapper depositAccountMapper = Mappers.getMapper(DepositAccountMapper.class);
 
     @Override
     public void afterPropertiesSet() {
@@ -56,7 +62,33 @@ public class PaymentExecutionService implements InitializingBean {
         LocalDateKitCalculatorsFactory.getDefaultInstance().registerHolidays("DE", calendar);
     }
 
+    /*
+     * The debtor account stays locked from the funds check until the booking is committed, so concurrent payments
+     * of the same debtor, on any instance, can not both pass the check on the same funds.
+     */
+    @Transactional
     public TransactionStatusBO executePayment(Payment payment, String userName) {
+        accountRepository.findForUpdate(payment.getAccountId());
+        return execute(payment, userName);
+    }
+
+    /*
+     * The claim of a payment may end while the payments before it are executed and another instance may claim it.
+     * The payment is therefore read again under the lock of its debtor and executed only if it is still due and
+     * claimed by this owner, changes are applied to the stored payment, not to the claimed copy.
+     */
+    @Transactional
+    public Optional<TransactionStatusBO> executeClaimedPayment(Payment claimed, String owner, String userName) {
+        accountRepository.findForUpdate(claimed.getAccountId());
+        Optional<Payment> payment = paymentRepository.findForUpdate(claimed.getPaymentId())
+                                            .filter(p -> isClaimedAndDue(p, owner));
+        if (payment.isEmpty()) {
+            log.info("Scheduler skipped payment {}, it is no longer due or claimed by {}", claimed.getPaymentId(), owner);
+        }
+        return payment.map(p -> execute(p, userName));
+    }
+
+    private TransactionStatusBO execute(Payment payment, String userName) {
         PaymentBO paymentBO = paymentMapper.toPaymentBO(payment);
         AmountBO amountToVerify = calculateTotalPaymentAmount(paymentBO);
         boolean confirmationOfFunds = accountService.confirmationOfFunds(new FundsConfirmationRequestBO(null, paymentBO.getDebtorAccount(), amountToVerify, null, null));
@@ -78,6 +110,13 @@ public class PaymentExecutionService implements InitializingBean {
                        : schedulePayment(payment);
     }
 
+    private static boolean isClaimedAndDue(Payment payment, String owner) {
+        return payment.getTransactionStatus() == TransactionStatus.ACSP
+                       && owner.equals(payment.getClaimedBy())
+                       && payment.getNextScheduledExecution() != null
+                       && !payment.getNextScheduledExecution().isAfter(LocalDateTime.now());
+    }
+
     public TransactionStatusBO schedulePayment(Payment payment) {
         LocalDate executionDate = calculateExecutionDate(payment);
         TransactionStatus status = executionDate == null
@@ -110,9 +149,10 @@ public class PaymentExecutionService implements InitializingBean {
     }
 
     private TransactionStatusBO finalizePaymentStatus(Payment payment) {
-        return payment.getTargets().stream()
-                       .map(t -> accountService.getOptionalAccountByIbanAndCurrency(t.getCreditorAccount().getIban(), Currency.getInstance(t.getCreditorAccount().getCurrency())))
-                       .allMatch(Optional::isPresent)
+        List<AccountReferenceBO> creditors = payment.getTargets().stream()
+                                                     .map(t -> depositAccountMapper.toAccountReferenceBO(t.getCreditorAccount()))
+                                                     .collect(Collectors.toList());
+        return accountService.resolveAll(creditors).keySet().containsAll(creditors)
                        ? updatePaymentStatus(payment, TransactionStatus.ACCC)
                        : updatePaymentStatus(payment, TransactionStatus.ACSC);
     }
@@ -9,6 +9,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import de.adorsys.ledgers.deposit.api.domain.AccountReferenceBO;
 import de.adorsys.ledgers.deposit.api.domain.AmountBO;
 import de.adorsys.ledgers.deposit.api.domain.MockBookingDetailsBO;
+import de.adorsys.ledgers.deposit.api.domain.MockBookingResultBO;
 import de.adorsys.ledgers.deposit.api.domain.PaymentOrderDetailsBO;
 import de.adorsys.ledgers.deposit.api.domain.TransactionDetailsBO;
 import de.adorsys.ledgers.deposit.api.service.DepositAccountConfigService;
@@ -16,6 +17,7 @@ import de.adorsys.ledgers.deposit.api.service.TransactionService;
 import de.adorsys.ledgers.deposit.api.service.mappers.SerializeService;
 import de.adorsys.ledgers.postings.api.domain.LedgerAccountBO;
 import de.adorsys.ledgers.postings.api.domain.LedgerBO;
+import de.adorsys.ledgers.postings.api.domain.MockImportJobBO;
 import de.adorsys.ledgers.postings.api.domain.PostingBO;
 import de.adorsys.ledgers.postings.api.domain.PostingLineBO;
 import de.adorsys.ledgers.postings.api.service.LedgerService;
@@ -49,7 +51,7 @@ public class TransactionServiceImpl implements TransactionService {
     private final ObjectMapper objectMapper;
 
     @Override
-    public Map<String, String> bookMockTransaction(List<MockBookingDetailsBO> trDetails) {
+    public MockBookingResultBO bookMockTransaction(List<MockBookingDetailsBO> trDetails) {
         log.info("Start upload mock transactions, size: {}", trDetails.size());
         long start = System.nanoTime();
         LedgerBO ledger = loadLedger();
@@ -66,9 +68,14 @@ public class TransactionServiceImpl implements TransactionService {
             }
         });
         log.info("Populated postings in {} seconds from start", (double) (System.nanoTime() - start) / NANO_TO_SECOND);
-        postingService.addPostingsAsBatch(postings);
+        String jobId = postingService.addPostingsAsBatch(postings);
         log.info("Initiation completed in {} seconds, errors: {}, av: {} seconds/transaction", (double) (System.nanoTime() - start) / NANO_TO_SECOND, errorMap.size(), ((double) (System.nanoTime() - start) / NANO_TO_SECOND) / trDetails.size());
-        return errorMap;
+        return new MockBookingResultBO(jobId, errorMap);
+    }
+
+    @Override
+    public MockImportJobBO getMockImportJob(String jobId) {
+        return postingService.getImportJob(jobId);
     }
 
     private Map<String, LedgerAccountBO> getAccounts(List<MockBookingDetailsBO> transactions, LedgerBO ledger) {
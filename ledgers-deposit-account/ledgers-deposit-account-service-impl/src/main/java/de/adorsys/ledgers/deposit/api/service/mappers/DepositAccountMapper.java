@@ -24,6 +24,8 @@ public interface DepositAccountMapper {
 
     AccountReferenceBO toAccountReferenceBO(DepositAccount depositAccount);
 
+    AccountReferenceBO toAccountReferenceBO(AccountReference reference);
+
     AccountReference toAccountReference(AccountReferenceBO reference);
 
 }
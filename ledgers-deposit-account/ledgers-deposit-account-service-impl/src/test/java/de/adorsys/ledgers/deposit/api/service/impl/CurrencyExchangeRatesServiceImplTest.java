@@ -22,10 +22,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.Logger;
 import org.springframework.http.ResponseEntity;
-import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -64,9 +64,6 @@ class CurrencyExchangeRatesServiceImplTest {
     @Mock
     private Logger log;
 
-    @Mock
-    Map<Currency, String> rates;
-
     private JsonNode getNodes() {
         List<RateCube> collect = INTERNAL_TEST_RATES.entrySet().stream().map(e -> new RateCube(e.getKey(), e.getValue())).collect(Collectors.toList());
         return new ObjectMapper().valueToTree(new CubeEnvelope(Collections.singletonList(new Cube(collect))));
@@ -98,7 +95,10 @@ class CurrencyExchangeRatesServiceImplTest {
     }
 
     @Test
-    void getExchangeRates_creditor_currency_differs() {
+    void getExchangeRates_creditor_currency_differs() throws IOException {
+        // Given
+        loadTestRates();
+
         // When
         List<ExchangeRateBO> result = currencyExchangeRatesService.getExchangeRates(EUR, EUR, USD);
 
@@ -107,8 +107,9 @@ class CurrencyExchangeRatesServiceImplTest {
     }
 
     @Test
-    void getExchangeRates_currency_not_supported() {
+    void getExchangeRates_currency_not_supported() throws IOException {
         //Given
+        loadTestRates();
         Currency uah = Currency.getInstance("UAH");
         // Then
         assertThrows(DepositModuleException.class, () -> {
@@ -126,8 +127,10 @@ class CurrencyExchangeRatesServiceImplTest {
     }
 
     @Test
-    void applyRate_2() {
-        ReflectionTestUtils.setField(currencyExchangeRatesService, "rates", INTERNAL_TEST_RATES);
+    void applyRate_2() throws IOException {
+        // Given
+        loadTestRates();
+
         // When
         BigDecimal result = currencyExchangeRatesService.applyRate(EUR, USD, BigDecimal.TEN);
 
@@ -144,6 +147,32 @@ class CurrencyExchangeRatesServiceImplTest {
         assertThat(result, Matchers.comparesEqualTo(BigDecimal.TEN));
     }
 
+    @Test
+    void applyRate_cross_rate() throws IOException {
+        // Given
+        loadTestRates();
+
+        // When
+        BigDecimal result = currencyExchangeRatesService.applyRate(GBP, USD, BigDecimal.TEN);
+
+        // Then
+        BigDecimal expected = BigDecimal.TEN.divide(new BigDecimal("0.84868"), 4, RoundingMode.HALF_EVEN).multiply(new BigDecimal("1.1115"));
+        assertThat(result, Matchers.comparesEqualTo(expected));
+        assertEquals(Collections.singletonList(getRate(GBP, USD)), currencyExchangeRatesService.getExchangeRates(GBP, GBP, USD));
+    }
+
+    @Test
+    void applyRate_currency_not_supported_before_update() {
+        assertThrows(DepositModuleException.class, () -> currencyExchangeRatesService.applyRate(EUR, USD, BigDecimal.TEN));
+    }
+
+    private void loadTestRates() throws IOException {
+        when(client.getRatesToEur()).thenReturn(ResponseEntity.ok("<rate></rate>"));
+        when(objectMapper.readTree(anyString())).thenReturn(getNodes());
+        when(objectMapper.readValue(anyString(), any(Class.class))).thenAnswer(a -> new ObjectMapper().readValue((String) a.getArgument(0), Currency.class));
+        currencyExchangeRatesService.updateRates();
+    }
+
     private ExchangeRateBO getRate(Currency one, Currency two) {
         return new ExchangeRateBO(one, CurrencyExchangeRatesServiceImplTest.INTERNAL_TEST_RATES.get(one), two, CurrencyExchangeRatesServiceImplTest.INTERNAL_TEST_RATES.get(two), LocalDate.now(), "International Currency Exchange Market");
     }
@@ -19,6 +19,7 @@ import de.adorsys.ledgers.deposit.api.service.mappers.TransactionDetailsMapper;
 import de.adorsys.ledgers.deposit.db.domain.AccountType;
 import de.adorsys.ledgers.deposit.db.domain.AccountUsage;
 import de.adorsys.ledgers.deposit.db.domain.DepositAccount;
+import de.adorsys.ledgers.deposit.db.domain.DepositAccountStatus;
 import de.adorsys.ledgers.deposit.db.repository.DepositAccountRepository;
 import de.adorsys.ledgers.postings.api.domain.AccountStmtBO;
 import de.adorsys.ledgers.postings.api.domain.LedgerAccountBO;
@@ -33,6 +34,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -42,11 +44,16 @@ import pro.javatar.commons.reader.YamlReader;
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Currency;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import static de.adorsys.ledgers.util.exception.PostingErrorCode.POSTING_NOT_FOUND;
 import static org.junit.jupiter.api.Assertions.*;
@@ -77,6 +84,8 @@ class DepositAccountServiceImplTest {
     private TransactionDetailsMapper transactionDetailsMapper;
     @Mock
     private AccountStmtService accountStmtService;
+    @Spy
+    private DepositAccountReferenceCache referenceCache = new DepositAccountReferenceCache(100, Duration.ofMinutes(1), Duration.ofSeconds(30));
 
     @InjectMocks
     private DepositAccountServiceImpl depositAccountService;
@@ -136,6 +145,33 @@ class DepositAccountServiceImplTest {
         assertThrows(DepositModuleException.class, () -> depositAccountService.getAccountDetailsById("wrong_id", NOW, false));
     }
 
+    @Test
+    void isAccountEnabled() {
+        // Given
+        when(depositAccountRepository.findStatusById("id")).thenReturn(Optional.of(getStatus(false, false)));
+        // When
+        boolean enabled = depositAccountService.isAccountEnabled("id");
+        // Then
+        assertTrue(enabled);
+        verify(depositAccountRepository, never()).findById(any());
+    }
+
+    @Test
+    void isAccountEnabled_systemBlocked() {
+        // Given
+        when(depositAccountRepository.findStatusById("id")).thenReturn(Optional.of(getStatus(false, true)));
+        // Then
+        assertFalse(depositAccountService.isAccountEnabled("id"));
+    }
+
+    @Test
+    void isAccountEnabled_wrong_id() {
+        // Given
+        when(depositAccountRepository.findStatusById("wrong_id")).thenReturn(Optional.empty());
+        // Then
+        assertThrows(DepositModuleException.class, () -> depositAccountService.isAccountEnabled("wrong_id"));
+    }
+
     @Test
     void getDepositAccountByIBANAndCurrency() {
         // Given
@@ -243,6 +279,27 @@ class DepositAccountServiceImplTest {
         assertFalse(result.isEmpty());
     }
 
+    @Test
+    void exportTransactionsByDates() throws JsonProcessingException {
+        // Given
+        when(depositAccountRepository.findById(any())).thenReturn(Optional.of(new DepositAccount()));
+        PostingLineBO line = newPostingLineBO();
+        doAnswer(i -> {
+            i.<Consumer<PostingLineBO>>getArgument(3).accept(line);
+            return null;
+        }).when(postingService).exportPostingsByDates(any(), any(), any(), any());
+        when(transactionDetailsMapper.toTransactionSigned(line)).thenReturn(readFile(TransactionDetailsBO.class, "Transaction.yml"));
+        List<TransactionDetailsBO> exported = new ArrayList<>();
+
+        // When
+        depositAccountService.exportTransactionsByDates(ACCOUNT_ID, LocalDateTime.of(2018, 12, 12, 0, 0), LocalDateTime.of(2018, 12, 18, 0, 0), exported::add);
+
+        // Then
+        assertEquals(1, exported.size());
+        assertNotNull(exported.get(0).getAdditionalInformation());
+        verify(postingService, never()).findPostingsByDates(any(), any(), any());
+    }
+
     @Test
     void confirmationOfFunds_more_than_necessary_available() throws NoSuchFieldException {
         confirmationOfFunds_more_than_necessary_available(100, BigDecimal.ZERO);
@@ -303,6 +360,79 @@ class DepositAccountServiceImplTest {
         assertThrows(DepositModuleException.class, () -> depositAccountService.getAccountByIbanAndCurrency("iban", EUR));
     }
 
+    @Test
+    void getAccountByIbanAndCurrency_cached() {
+        // Given
+        DepositAccount account = getDepositAccount(false, BigDecimal.ZERO);
+        when(depositAccountRepository.findByIbanAndCurrency("iban", "EUR")).thenReturn(Optional.of(account));
+        when(depositAccountRepository.findById("id")).thenReturn(Optional.of(account));
+
+        // When
+        DepositAccountBO first = depositAccountService.getAccountByIbanAndCurrency("iban", EUR);
+        first.setBlocked(true);
+        DepositAccountBO second = depositAccountService.getAccountByIbanAndCurrency("iban", EUR);
+
+        // Then
+        assertFalse(second.isBlocked());
+        verify(depositAccountRepository, times(1)).findByIbanAndCurrency("iban", "EUR");
+        verify(depositAccountRepository, times(1)).findById("id");
+    }
+
+    @Test
+    void getAccountByIbanAndCurrency_current_state() {
+        // Given
+        DepositAccount account = getDepositAccount(false, BigDecimal.ZERO);
+        when(depositAccountRepository.findByIbanAndCurrency("iban", "EUR")).thenReturn(Optional.of(account));
+        depositAccountService.getAccountByIbanAndCurrency("iban", EUR);
+        // Blocked by another node, nothing invalidated locally
+        DepositAccount blocked = getDepositAccount(true, BigDecimal.ZERO);
+        when(depositAccountRepository.findById("id")).thenReturn(Optional.of(blocked));
+
+        // When
+        DepositAccountBO result = depositAccountService.getAccountByIbanAndCurrency("iban", EUR);
+
+        // Then
+        assertTrue(result.isBlocked());
+        verify(depositAccountRepository, times(1)).findByIbanAndCurrency("iban", "EUR");
+    }
+
+    @Test
+    void getAccountByIbanAndCurrency_cached_account_deleted() {
+        // Given
+        DepositAccount account = getDepositAccount(false, BigDecimal.ZERO);
+        when(depositAccountRepository.findByIbanAndCurrency("iban", "EUR")).thenReturn(Optional.of(account));
+        when(depositAccountRepository.findById("id")).thenReturn(Optional.empty());
+        depositAccountService.getAccountByIbanAndCurrency("iban", EUR);
+
+        // When
+        DepositAccountBO result = depositAccountService.getAccountByIbanAndCurrency("iban", EUR);
+
+        // Then
+        assertEquals("id", result.getId());
+        verify(depositAccountRepository, times(2)).findByIbanAndCurrency("iban", "EUR");
+    }
+
+    @Test
+    void resolveAll() {
+        // Given
+        AccountReferenceBO known = getReference("iban");
+        AccountReferenceBO foreign = getReference("DE91100000000123456789");
+        DepositAccount account = getDepositAccount(false, BigDecimal.ZERO);
+        when(depositAccountRepository.findByIbanIn(any())).thenReturn(List.of(account));
+        when(depositAccountRepository.findAllById(Set.of("id"))).thenReturn(List.of(account));
+
+        // When
+        Map<AccountReferenceBO, DepositAccountBO> result = depositAccountService.resolveAll(List.of(known, foreign, known));
+        Map<AccountReferenceBO, DepositAccountBO> cached = depositAccountService.resolveAll(List.of(known, foreign));
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals("id", result.get(known).getId());
+        assertEquals("id", cached.get(known).getId());
+        verify(depositAccountRepository, times(1)).findByIbanIn(any());
+        verify(depositAccountRepository, times(1)).findAllById(Set.of("id"));
+    }
+
     @Test
     void getAccountById() {
         // Given
@@ -386,6 +516,13 @@ class DepositAccountServiceImplTest {
                                   AccountUsage.PRIV, "details", status, false, CREATED, creditAmount);
     }
 
+    private AccountReferenceBO getReference(String iban) {
+        AccountReferenceBO reference = new AccountReferenceBO();
+        reference.setIban(iban);
+        reference.setCurrency(EUR);
+        return reference;
+    }
+
     private DepositAccountBO getDepositAccountBO() {
         return DepositAccountBO.builder().id("id")
                        .iban("iban").msisdn("msisdn")
@@ -471,4 +608,18 @@ class DepositAccountServiceImplTest {
         assertEquals(0, depositAccount.getCreditLimit().compareTo(BigDecimal.ONE));
     }
 
+
+    private DepositAccountStatus getStatus(boolean blocked, boolean systemBlocked) {
+        return new DepositAccountStatus() {
+            @Override
+            public boolean isBlocked() {
+                return blocked;
+            }
+
+            @Override
+            public boolean isSystemBlocked() {
+                return systemBlocked;
+            }
+        };
+    }
 }
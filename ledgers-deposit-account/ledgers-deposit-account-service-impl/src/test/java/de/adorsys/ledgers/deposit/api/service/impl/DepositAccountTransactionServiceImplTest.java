@@ -202,10 +202,7 @@ class DepositAccountTransactionServiceImplTest {
         transactionService.bookPayment(payment, REQUEST_TIME, "TEST");
 
         // Then
-        ArgumentCaptor<PostingBO> postingCaptor = ArgumentCaptor.forClass(PostingBO.class);
-        verify(postingService, times(1)).newPosting(postingCaptor.capture());
-
-        PostingBO posting = postingCaptor.getValue();
+        PostingBO posting = captureRegularPosting();
         List<PostingLineBO> lines = posting.getLines();
         assertThat(lines).hasSize(2);
         assertThat(dcAmountOk(lines)).isTrue();
@@ -245,10 +242,7 @@ class DepositAccountTransactionServiceImplTest {
         transactionService.bookPayment(payment, REQUEST_TIME, "TEST");
 
         // Then
-        ArgumentCaptor<PostingBO> postingCaptor = ArgumentCaptor.forClass(PostingBO.class);
-        verify(postingService, times(1)).newPosting(postingCaptor.capture());
-
-        PostingBO posting = postingCaptor.getValue();
+        PostingBO posting = captureRegularPosting();
         List<PostingLineBO> lines = posting.getLines();
         assertThat(lines).hasSize(4);
         assertThat(dcAmountOk(lines)).isTrue();
@@ -321,10 +315,7 @@ class DepositAccountTransactionServiceImplTest {
         transactionService.bookPayment(payment, REQUEST_TIME, "TEST");
 
         // Then
-        ArgumentCaptor<PostingBO> postingCaptor = ArgumentCaptor.forClass(PostingBO.class);
-        verify(postingService, times(1)).newPosting(postingCaptor.capture());
-
-        PostingBO posting = postingCaptor.getValue();
+        PostingBO posting = captureRegularPosting();
         List<PostingLineBO> lines = posting.getLines();
         assertThat(lines).hasSize(4);
         assertThat(dcAmountOk(lines)).isTrue();
@@ -424,10 +415,7 @@ class DepositAccountTransactionServiceImplTest {
         transactionService.bookPayment(payment, REQUEST_TIME, "TEST");
 
         // Then
-        ArgumentCaptor<PostingBO> postingCaptor = ArgumentCaptor.forClass(PostingBO.class);
-        verify(postingService, times(1)).newPosting(postingCaptor.capture());
-
-        PostingBO posting = postingCaptor.getValue();
+        PostingBO posting = captureRegularPosting();
         List<PostingLineBO> lines = posting.getLines();
         assertThat(lines).hasSize(2);
         assertThat(dcAmountOk(lines)).isTrue();
@@ -443,6 +431,42 @@ class DepositAccountTransactionServiceImplTest {
         assertThat(STATIC_MAPPER.readValue(line2.getDetails(), PaymentTargetDetailsBO.class)).isEqualToIgnoringGivenFields(getExpectedDetails(payment, line2.getId(), null));
     }
 
+    @Test
+    void bookPayment_bulk_balance_after_transaction_loaded_once() {
+        // Given
+        PaymentBO payment = getPayment(BULK, EUR, EUR, EUR, EUR, false);
+        LedgerAccountBO debtorLedgerAccount = new LedgerAccountBO("debtor", new LedgerBO());
+        debtorLedgerAccount.setId("linkedAccounts");
+
+        when(paymentMapper.toPaymentOrder(any())).thenAnswer(i -> localPaymentMapper.toPaymentOrder((PaymentBO) i.getArguments()[0]));
+        when(postingMapper.buildPosting(any(), anyString(), anyString(), any(), anyString())).thenAnswer(i -> localPostingMapper.buildPosting((LocalDateTime) i.getArguments()[0], (String) i.getArguments()[1], (String) i.getArguments()[2], (LedgerBO) i.getArguments()[3], (String) i.getArguments()[4]));
+        when(postingMapper.buildPostingLine(any(), any(), any(), any(), anyString(), anyString())).thenAnswer(i -> localPostingMapper.buildPostingLine((String) i.getArguments()[0], (LedgerAccountBO) i.getArguments()[1], (BigDecimal) i.getArguments()[2], (BigDecimal) i.getArguments()[3], (String) i.getArguments()[4], (String) i.getArguments()[5]));
+
+        when(depositAccountConfigService.getLedger()).thenReturn("mockbank");
+        when(ledgerService.findLedgerByName(anyString())).thenReturn(Optional.of(new LedgerBO("mockbank", "id", null, null, null, null, null)));
+
+        when(exchangeRatesService.getExchangeRates(any(), any(), any())).thenReturn(getRates(EUR, EUR, EUR));
+        when(exchangeRatesService.applyRate(any(), any())).thenAnswer(i -> new CurrencyExchangeRatesServiceImpl(null, null).applyRate(i.getArgument(0), i.getArgument(1)));
+
+        when(ledgerService.findLedgerAccountById(anyString())).thenReturn(debtorLedgerAccount);
+        when(depositAccountService.getOptionalAccountByIbanAndCurrency(any(), any())).thenReturn(Optional.of(getDepositAccountBO().getAccount()));
+        when(depositAccountService.getAccountDetailsById(anyString(), any(), anyBoolean())).thenReturn(getDepositAccountBO(BigDecimal.valueOf(100)));
+
+        // When
+        transactionService.bookPayment(payment, REQUEST_TIME, "TEST");
+
+        // Then
+        ArgumentCaptor<BalanceBO> balanceCaptor = ArgumentCaptor.forClass(BalanceBO.class);
+        verify(paymentMapper, times(4)).toPaymentTargetDetails(anyString(), any(), any(), any(), balanceCaptor.capture());
+        verify(depositAccountService, times(1)).getAccountDetailsById(anyString(), any(), anyBoolean());
+        verify(depositAccountService, times(1)).getAccountDetailsByIbanAndCurrency(any(), any(), any(), anyBoolean());
+        List<BalanceBO> balances = balanceCaptor.getAllValues();
+        assertThat(balances.get(0).getAmount().getAmount()).isEqualByComparingTo("90");
+        assertThat(balances.get(1)).isNull();
+        assertThat(balances.get(2).getAmount().getAmount()).isEqualByComparingTo("80");
+        assertThat(balances.get(3)).isNull();
+    }
+
     @Test
     void bookPayment_bulk_two_different_currency() {
         // Given
@@ -556,6 +580,14 @@ class DepositAccountTransactionServiceImplTest {
         return map.get(currency);
     }
 
+    @SuppressWarnings("unchecked")
+    private PostingBO captureRegularPosting() {
+        ArgumentCaptor<List<PostingBO>> postingsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(postingService, times(1)).newPostings(postingsCaptor.capture());
+        assertThat(postingsCaptor.getValue()).hasSize(1);
+        return postingsCaptor.getValue().get(0);
+    }
+
     private PaymentBO getPayment(PaymentTypeBO type, Currency debtor, Currency amount, Currency creditor, Currency creditor2, boolean batchBookingPreferred) {
         return new PaymentBO("pmt1", batchBookingPreferred, null,
                              null, type, "sepa-credit-transfers", null, null, null, null,
@@ -598,6 +630,15 @@ class DepositAccountTransactionServiceImplTest {
                                   AccountUsage.PRIV, "details", false, false, LocalDateTime.now(), BigDecimal.ZERO);
     }
 
+    private DepositAccountDetailsBO getDepositAccountBO(BigDecimal interimAvailable) {
+        BalanceBO balance = new BalanceBO();
+        balance.setBalanceType(BalanceTypeBO.INTERIM_AVAILABLE);
+        balance.setAmount(new AmountBO(EUR, interimAvailable));
+        DepositAccountDetailsBO details = getDepositAccountBO();
+        details.setBalances(new ArrayList<>(List.of(balance)));
+        return details;
+    }
+
     private DepositAccountDetailsBO getDepositAccountBO() {
         return new DepositAccountDetailsBO(
                 new DepositAccountBO("id", IBAN, null, null, null, "msisdn", EUR, "name", "displayName", "product", AccountTypeBO.CASH, "bic", "linkedAccounts", AccountUsageBO.PRIV, "details", false, false, "branch", null, BigDecimal.ZERO),
@@ -5,32 +5,39 @@
 
 package de.adorsys.ledgers.deposit.api.service.impl;
 
+import de.adorsys.ledgers.deposit.api.domain.DepositAccountBO;
+import de.adorsys.ledgers.deposit.api.service.DepositAccountService;
 import de.adorsys.ledgers.deposit.db.domain.DepositAccount;
 import de.adorsys.ledgers.deposit.db.domain.Payment;
 import de.adorsys.ledgers.deposit.db.repository.DepositAccountRepository;
 import de.adorsys.ledgers.deposit.db.repository.PaymentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 import pro.javatar.commons.reader.YamlReader;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class PaymentExecutionSchedulerTest {
 
     private static final String ACCOUNT_ID = "accountId";
-    private static final String IBAN = "DE91100000000123456789";
     private static final String SCHEDULER = "Scheduler";
 
-    @InjectMocks
     private PaymentExecutionScheduler paymentExecutionScheduler;
 
     @Mock
@@ -38,32 +45,49 @@ class PaymentExecutionSchedulerTest {
     @Mock
     private DepositAccountRepository accountRepository;
     @Mock
+    private DepositAccountService accountService;
+    @Mock
+    private PaymentClaimer paymentClaimer;
+    @Mock
     private PaymentExecutionService executionService;
 
+    @BeforeEach
+    void setUp() {
+        paymentExecutionScheduler = new PaymentExecutionScheduler(paymentRepository, accountRepository, accountService, paymentClaimer, executionService, 2);
+        ReflectionTestUtils.setField(paymentExecutionScheduler, "batchSize", 1);
+        ReflectionTestUtils.setField(paymentExecutionScheduler, "lease", Duration.ofMinutes(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        paymentExecutionScheduler.destroy();
+    }
+
     @Test
     void scheduler_executed_successfully() {
         // Given
         Payment singlePayment = getSinglePayment();
-        when(paymentRepository.getAllDuePayments())
-                .thenReturn(Collections.singletonList(singlePayment));
+        when(paymentClaimer.claim(anyString(), eq(1), any()))
+                .thenReturn(Collections.singletonList(singlePayment), Collections.emptyList());
         when(accountRepository.findById(ACCOUNT_ID))
                 .thenReturn(Optional.of(getDepositAccount()));
-        when(accountRepository.findByIbanAndCurrency(IBAN, "EUR"))
-                .thenReturn(Optional.of(getDepositAccount()));
+        when(accountService.resolveAll(anyList()))
+                .thenReturn(Map.of());
 
         // When
         paymentExecutionScheduler.scheduler();
 
         // Then
-        verify(executionService, times(1)).executePayment(singlePayment, SCHEDULER);
+        verify(executionService, times(1)).executeClaimedPayment(eq(singlePayment), anyString(), eq(SCHEDULER));
+        verify(paymentRepository).releaseClaims(anyString());
     }
 
     @Test
     void scheduler_not_executed_debtor_disabled() {
         // Given
         Payment singlePayment = getSinglePayment();
-        when(paymentRepository.getAllDuePayments())
-                .thenReturn(Collections.singletonList(singlePayment));
+        when(paymentClaimer.claim(anyString(), eq(1), any()))
+                .thenReturn(Collections.singletonList(singlePayment), Collections.emptyList());
         DepositAccount blockedAccount = getDepositAccount();
         blockedAccount.setBlocked(true);
 
@@ -74,28 +98,79 @@ class PaymentExecutionSchedulerTest {
         paymentExecutionScheduler.scheduler();
 
         // Then
-        verify(executionService, never()).executePayment(singlePayment, SCHEDULER);
+        verify(executionService, never()).executeClaimedPayment(any(), any(), any());
     }
 
     @Test
     void scheduler_not_executed_creditor_disabled() {
         // Given
         Payment singlePayment = getSinglePayment();
-        when(paymentRepository.getAllDuePayments())
-                .thenReturn(Collections.singletonList(singlePayment));
+        when(paymentClaimer.claim(anyString(), eq(1), any()))
+                .thenReturn(Collections.singletonList(singlePayment), Collections.emptyList());
         when(accountRepository.findById(anyString()))
                 .thenReturn(Optional.of(getDepositAccount()));
 
-        DepositAccount blockedAccount = getDepositAccount();
+        DepositAccountBO blockedAccount = new DepositAccountBO();
         blockedAccount.setBlocked(true);
 
-        when(accountRepository.findByIbanAndCurrency(IBAN, "EUR"))
-                .thenReturn(Optional.of(blockedAccount));
+        when(accountService.resolveAll(anyList()))
+                .thenAnswer(i -> Map.of(((List<?>) i.getArgument(0)).get(0), blockedAccount));
+        // When
+        paymentExecutionScheduler.scheduler();
+
+        // Then
+        verify(executionService, never()).executeClaimedPayment(any(), any(), any());
+    }
+
+    @Test
+    void scheduler_continues_after_failed_payment() {
+        // Given
+        Payment failing = getSinglePayment();
+        Payment succeeding = getSinglePayment();
+        succeeding.setPaymentId("succeeding");
+        when(paymentClaimer.claim(anyString(), eq(1), any()))
+                .thenReturn(List.of(failing), List.of(succeeding), Collections.emptyList());
+        when(accountRepository.findById(ACCOUNT_ID))
+                .thenReturn(Optional.of(getDepositAccount()));
+        when(accountService.resolveAll(anyList()))
+                .thenReturn(Map.of());
+        when(executionService.executeClaimedPayment(eq(failing), anyString(), eq(SCHEDULER)))
+                .thenThrow(new IllegalStateException("booking failed"));
+
+        // When
+        paymentExecutionScheduler.scheduler();
+
+        // Then
+        verify(executionService).executeClaimedPayment(eq(succeeding), anyString(), eq(SCHEDULER));
+        verify(paymentClaimer, times(3)).claim(anyString(), eq(1), any());
+        verify(paymentRepository).releaseClaims(anyString());
+    }
+
+    @Test
+    void scheduler_same_debtor_executed_in_order() {
+        // Given
+        ReflectionTestUtils.setField(paymentExecutionScheduler, "batchSize", 10);
+        Payment first = getSinglePayment();
+        Payment second = getSinglePayment();
+        second.setPaymentId("second");
+        when(paymentClaimer.claim(anyString(), eq(10), any()))
+                .thenReturn(List.of(first, second));
+        when(accountRepository.findById(ACCOUNT_ID))
+                .thenReturn(Optional.of(getDepositAccount()));
+        when(accountService.resolveAll(anyList()))
+                .thenReturn(Map.of());
+        List<String> executed = Collections.synchronizedList(new ArrayList<>());
+        when(executionService.executeClaimedPayment(any(), anyString(), eq(SCHEDULER)))
+                .thenAnswer(i -> {
+                    executed.add(i.<Payment>getArgument(0).getPaymentId());
+                    return null;
+                });
+
         // When
         paymentExecutionScheduler.scheduler();
 
         // Then
-        verify(executionService, never()).executePayment(singlePayment, SCHEDULER);
+        assertEquals(List.of(first.getPaymentId(), "second"), executed);
     }
 
     private DepositAccount getDepositAccount() {
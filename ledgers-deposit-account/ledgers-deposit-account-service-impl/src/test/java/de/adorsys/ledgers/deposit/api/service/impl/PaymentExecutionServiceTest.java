@@ -14,6 +14,7 @@ import de.adorsys.ledgers.deposit.db.domain.AccountUsage;
 import de.adorsys.ledgers.deposit.db.domain.DepositAccount;
 import de.adorsys.ledgers.deposit.db.domain.Payment;
 import de.adorsys.ledgers.deposit.db.domain.TransactionStatus;
+import de.adorsys.ledgers.deposit.db.repository.DepositAccountRepository;
 import de.adorsys.ledgers.deposit.db.repository.PaymentRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -26,18 +27,25 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Currency;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static de.adorsys.ledgers.deposit.api.domain.PaymentTypeBO.SINGLE;
 import static de.adorsys.ledgers.deposit.api.domain.TransactionStatusBO.ACSP;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -54,6 +62,8 @@ class PaymentExecutionServiceTest {
     private static final TransactionStatusBO STATUS_BO_ACSP = TransactionStatusBO.ACSP;  //NOPMD
     private static final TransactionStatusBO STATUS_BO_RJCT = TransactionStatusBO.RJCT;
 
+    private static final String OWNER = "Scheduler-owner";
+
     private static final String executionRulePreceding = "preceding";
     private static final String executionRuleFollowing = "following";
 
@@ -62,6 +72,8 @@ class PaymentExecutionServiceTest {
     @Mock
     private PaymentRepository paymentRepository;
     @Mock
+    private DepositAccountRepository accountRepository;
+    @Mock
     private DepositAccountTransactionService txService;
     @Mock
     private DepositAccountService accountService;
@@ -74,7 +86,9 @@ class PaymentExecutionServiceTest {
         when(accountService.getAccountDetailsById(anyString(), any(LocalDateTime.class), anyBoolean())).thenReturn(getDepositAccountDetailsBO(EUR));
         when(exchangeRatesService.applyRate(any(), any(), any())).thenReturn(BigDecimal.TEN);
         when(accountService.confirmationOfFunds(any())).thenReturn(true);
-        when(accountService.getOptionalAccountByIbanAndCurrency(any(), any())).thenReturn(Optional.of(getDepositAccountBO(EUR)));
+        when(accountService.resolveAll(anyCollection()))
+                .thenAnswer(i -> ((Collection<AccountReferenceBO>) i.getArgument(0)).stream()
+                                         .collect(Collectors.toMap(Function.identity(), r -> getDepositAccountBO(EUR), (l, r) -> l)));
         when(paymentRepository.save(any())).thenReturn(getSinglePayment());
 
         // When
@@ -90,7 +104,7 @@ class PaymentExecutionServiceTest {
         when(accountService.getAccountDetailsById(anyString(), any(LocalDateTime.class), anyBoolean())).thenReturn(getDepositAccountDetailsBO(EUR));
         when(exchangeRatesService.applyRate(any(), any(), any())).thenReturn(BigDecimal.TEN);
         when(accountService.confirmationOfFunds(any())).thenReturn(true);
-        when(accountService.getOptionalAccountByIbanAndCurrency(any(), any())).thenReturn(Optional.empty());
+        when(accountService.resolveAll(anyCollection())).thenReturn(Collections.emptyMap());
         when(paymentRepository.save(any())).thenReturn(getSinglePayment());
 
         // When
@@ -108,10 +122,12 @@ class PaymentExecutionServiceTest {
         when(accountService.confirmationOfFunds(any())).thenReturn(false);
 
         // When
-        TransactionStatusBO status = executionService.executePayment(getSinglePayment(), "userName");
+        Payment payment = getSinglePayment();
+        TransactionStatusBO status = executionService.executePayment(payment, "userName");
 
         // Then
         assertSame(STATUS_BO_RJCT, status);
+        verify(accountRepository).findForUpdate(payment.getAccountId());
     }
 
     @Test
@@ -120,7 +136,7 @@ class PaymentExecutionServiceTest {
         when(accountService.getAccountDetailsById(anyString(), any(LocalDateTime.class), anyBoolean())).thenReturn(getDepositAccountDetailsBO(EUR));
         when(exchangeRatesService.applyRate(any(), any(), any())).thenReturn(BigDecimal.TEN);
         when(accountService.confirmationOfFunds(any())).thenReturn(true);
-        when(accountService.getOptionalAccountByIbanAndCurrency(any(), any())).thenReturn(Optional.empty());
+        when(accountService.resolveAll(anyCollection())).thenReturn(Collections.emptyMap());
         when(paymentRepository.save(any())).thenReturn(getBulkPayment());
 
         // When
@@ -175,6 +191,43 @@ class PaymentExecutionServiceTest {
         assertSame(STATUS_BO_ACSP, status);
     }
 
+    @Test
+    void executeClaimedPayment_claimLost() {
+        // Given
+        Payment claimed = getClaimedPayment(OWNER);
+        when(paymentRepository.findForUpdate(claimed.getPaymentId())).thenReturn(Optional.of(getClaimedPayment("otherScheduler")));
+
+        // When
+        Optional<TransactionStatusBO> status = executionService.executeClaimedPayment(claimed, OWNER, "userName");
+
+        // Then
+        assertTrue(status.isEmpty());
+        verify(accountRepository).findForUpdate(claimed.getAccountId());
+        verify(paymentRepository, never()).save(any());
+        verifyNoInteractions(txService);
+    }
+
+    @Test
+    void executeClaimedPayment_appliedToStoredPayment() {
+        // Given
+        Payment claimed = getClaimedPayment(OWNER);
+        Payment stored = getClaimedPayment(OWNER);
+        when(paymentRepository.findForUpdate(claimed.getPaymentId())).thenReturn(Optional.of(stored));
+        when(accountService.getAccountDetailsById(anyString(), any(LocalDateTime.class), anyBoolean())).thenReturn(getDepositAccountDetailsBO(EUR));
+        when(exchangeRatesService.applyRate(any(), any(), any())).thenReturn(BigDecimal.TEN);
+        when(accountService.confirmationOfFunds(any())).thenReturn(true);
+        when(accountService.resolveAll(anyCollection())).thenReturn(Collections.emptyMap());
+
+        // When
+        Optional<TransactionStatusBO> status = executionService.executeClaimedPayment(claimed, OWNER, "userName");
+
+        // Then
+        assertEquals(Optional.of(STATUS_BO_ACSC), status);
+        verify(paymentRepository).save(stored);
+        assertSame(STATUS_ACSC, stored.getTransactionStatus());
+        assertSame(STATUS_ACSP, claimed.getTransactionStatus());
+    }
+
     @Test
     void schedulePayment() {
         // Given
@@ -206,6 +259,13 @@ class PaymentExecutionServiceTest {
     }
 
 
+    private Payment getClaimedPayment(String owner) {
+        Payment payment = getSinglePaymentChanged(STATUS_ACSP, getSinglePayment().getEndDate());
+        payment.setNextScheduledExecution(LocalDateTime.now().minusMinutes(1));
+        payment.setClaimedBy(owner);
+        return payment;
+    }
+
     private Payment getSinglePaymentChanged(TransactionStatus status, LocalDate endDate) {
         Payment payment = getSinglePayment();
         payment.setTransactionStatus(status);
@@ -6,10 +6,12 @@
 package de.adorsys.ledgers.deposit.api.service.impl;
 
 import de.adorsys.ledgers.deposit.api.domain.MockBookingDetailsBO;
+import de.adorsys.ledgers.deposit.api.domain.MockBookingResultBO;
 import de.adorsys.ledgers.deposit.api.service.DepositAccountConfigService;
 import de.adorsys.ledgers.deposit.api.service.mappers.SerializeService;
 import de.adorsys.ledgers.postings.api.domain.ChartOfAccountBO;
 import de.adorsys.ledgers.postings.api.domain.LedgerBO;
+import de.adorsys.ledgers.postings.api.domain.MockImportJobBO;
 import de.adorsys.ledgers.postings.api.service.LedgerService;
 import de.adorsys.ledgers.postings.api.service.PostingMockService;
 import org.junit.jupiter.api.Test;
@@ -24,11 +26,9 @@ import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.Currency;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
-import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -57,11 +57,14 @@ class TransactionServiceImplTest {
         when(depositAccountConfigService.getLedger()).thenReturn("ledger");
         when(ledgerService.findLedgerByName(any())).thenReturn(Optional.of(getLedger()));
 
+        when(postingService.addPostingsAsBatch(any())).thenReturn("jobId");
+
         // When
-        Map<String, String> map = transactionService.bookMockTransaction(Collections.singletonList(getMockBookingDetailsBO(BigDecimal.TEN)));
+        MockBookingResultBO result = transactionService.bookMockTransaction(Collections.singletonList(getMockBookingDetailsBO(BigDecimal.TEN)));
 
         // Then
-        assertTrue(map.isEmpty());
+        assertTrue(result.getErrors().isEmpty());
+        assertEquals("jobId", result.getJobId());
         verify(depositAccountConfigService, times(1)).getLedger();
         verify(ledgerService, times(1)).findLedgerByName("ledger");
     }
@@ -72,11 +75,14 @@ class TransactionServiceImplTest {
         when(depositAccountConfigService.getLedger()).thenReturn("ledger");
         when(ledgerService.findLedgerByName(any())).thenReturn(Optional.of(getLedger()));
 
+        when(postingService.addPostingsAsBatch(any())).thenReturn("jobId");
+
         // When
-        Map<String, String> map = transactionService.bookMockTransaction(Collections.singletonList(getMockBookingDetailsBO(BigDecimal.valueOf(-1))));
+        MockBookingResultBO result = transactionService.bookMockTransaction(Collections.singletonList(getMockBookingDetailsBO(BigDecimal.valueOf(-1))));
 
         // Then
-        assertTrue(map.isEmpty());
+        assertTrue(result.getErrors().isEmpty());
+        assertEquals("jobId", result.getJobId());
         verify(depositAccountConfigService, times(1)).getLedger();
         verify(ledgerService, times(1)).findLedgerByName("ledger");
     }
@@ -90,6 +96,16 @@ class TransactionServiceImplTest {
         assertThrows(IllegalStateException.class, () -> transactionService.bookMockTransaction(detailsBOList));
     }
 
+    @Test
+    void getMockImportJob() {
+        // Given
+        MockImportJobBO job = new MockImportJobBO();
+        when(postingService.getImportJob("jobId")).thenReturn(job);
+
+        // Then
+        assertSame(job, transactionService.getMockImportJob("jobId"));
+    }
+
     private MockBookingDetailsBO getMockBookingDetailsBO(BigDecimal amount) {
         MockBookingDetailsBO details = new MockBookingDetailsBO();
         details.setUserAccount(USER_ACCOUNT);
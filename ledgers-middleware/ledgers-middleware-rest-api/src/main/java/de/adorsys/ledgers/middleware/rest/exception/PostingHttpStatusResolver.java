@@ -25,6 +25,7 @@ public class PostingHttpStatusResolver {
         container.put(LEDGER_NOT_FOUND, NOT_FOUND);
         container.put(POSTING_NOT_FOUND, NOT_FOUND);
         container.put(CHART_OF_ACCOUNT_NOT_FOUND, NOT_FOUND);
+        container.put(IMPORT_JOB_NOT_FOUND, NOT_FOUND);
 
         //400 Block
         container.put(DOBLE_ENTRY_ERROR, BAD_REQUEST);
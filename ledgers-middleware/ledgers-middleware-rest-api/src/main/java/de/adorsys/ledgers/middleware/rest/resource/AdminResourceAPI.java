@@ -6,6 +6,7 @@
 package de.adorsys.ledgers.middleware.rest.resource;
 
 import de.adorsys.ledgers.middleware.api.domain.account.AccountDetailsExtendedTO;
+import de.adorsys.ledgers.middleware.api.domain.general.LedgerIntegrityReportTO;
 import de.adorsys.ledgers.middleware.api.domain.um.UserExtendedTO;
 import de.adorsys.ledgers.middleware.api.domain.um.UserRoleTO;
 import de.adorsys.ledgers.middleware.api.domain.um.UserTO;
@@ -91,4 +92,11 @@ public interface AdminResourceAPI {
             description = "Update user")
     @PutMapping("/users")
     ResponseEntity<Void> user(@RequestBody UserTO user);
+
+    @Operation(summary = "Verify ledger integrity",
+            description = "Recomputes the posting hashes and checks the hash chain of every ledger, reports the first broken posting per ledger")
+    @SecurityRequirement(name = API_KEY)
+    @SecurityRequirement(name = OAUTH2)
+    @PostMapping("/ledgers/integrity")
+    ResponseEntity<List<LedgerIntegrityReportTO>> verifyLedgerIntegrity();
 }
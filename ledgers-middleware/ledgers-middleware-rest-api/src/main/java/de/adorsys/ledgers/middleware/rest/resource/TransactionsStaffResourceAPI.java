@@ -6,10 +6,13 @@
 package de.adorsys.ledgers.middleware.rest.resource;
 
 import de.adorsys.ledgers.middleware.api.domain.account.MockBookingDetails;
+import de.adorsys.ledgers.middleware.api.domain.account.MockImportJobTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 
@@ -22,15 +25,30 @@ import static de.adorsys.ledgers.middleware.rest.utils.Constants.OAUTH2;
 @Tag(name = "LDG014 - Transactions Mock Upload (STAFF access)")
 public interface TransactionsStaffResourceAPI {
     String BASE_PATH = "/staff-access/transactions";
+    String JOBS_PATH = "/jobs";
+    String JOB_ID = "jobId";
 
     /**
-     * Registers a new user within a given branch.
+     * Posts mocked transactions. Postings are stored asynchronously, the Location header
+     * points to the import job.
      *
-     * @return user object without pin
+     * @return transactions that could not be posted with the reason
      */
     @Operation(summary = "Posts transactions to Ledgers")
     @SecurityRequirement(name = API_KEY)
     @SecurityRequirement(name = OAUTH2)
     @PostMapping
     ResponseEntity<Map<String, String>> transactions(@RequestBody List<MockBookingDetails> data);
+
+    /**
+     * Reads the progress of an import of mocked transactions.
+     *
+     * @param jobId id of the import job
+     * @return import job
+     */
+    @Operation(summary = "Reads the status of a transactions import")
+    @SecurityRequirement(name = API_KEY)
+    @SecurityRequirement(name = OAUTH2)
+    @GetMapping(JOBS_PATH + "/{" + JOB_ID + "}")
+    ResponseEntity<MockImportJobTO> importJob(@PathVariable(JOB_ID) String jobId);
 }
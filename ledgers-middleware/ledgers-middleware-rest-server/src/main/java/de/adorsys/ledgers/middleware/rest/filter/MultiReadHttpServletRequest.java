@@ -22,14 +22,15 @@ import static java.util.stream.Collectors.joining;
 
 @Slf4j
 public class MultiReadHttpServletRequest extends HttpServletRequestWrapper {
-    private String requestBody;
+    private byte[] requestBody = new byte[0];
 
     public MultiReadHttpServletRequest(HttpServletRequest request) {
         super(request);
         try {
             requestBody = request.getReader()
                                   .lines()
-                                  .collect(joining(lineSeparator()));
+                                  .collect(joining(lineSeparator()))
+                                  .getBytes(UTF_8);
         } catch (IOException e) {
             log.error("MultiReadHttpServletRequest exception: {}", e.getMessage());
         }
@@ -37,7 +38,7 @@ public class MultiReadHttpServletRequest extends HttpServletRequestWrapper {
 
     @Override
     public ServletInputStream getInputStream() {
-        final ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(requestBody.getBytes(UTF_8));
+        final ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(requestBody);
         return new ServletInputStream() {
             @Override
             public boolean isFinished() {
@@ -5,14 +5,14 @@
 
 package de.adorsys.ledgers.middleware.rest.filter;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import de.adorsys.ledgers.middleware.api.service.CurrencyService;
-import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.validator.routines.IBANValidator;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -21,46 +21,63 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.*;
 import java.util.function.Predicate;
-import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
 import static org.springframework.http.MediaType.APPLICATION_XML;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class ValidationFilter extends OncePerRequestFilter {
     private static final String IBAN = "iban";
     private static final String CURRENCY = "currency";
+    private static final String NULL_VALUE = "null";
 
-    private final CurrencyService currencyService;
     private final ObjectMapper mapper;
+    private final Set<String> supportedCurrencies;
+
+    public ValidationFilter(CurrencyService currencyService, ObjectMapper mapper) {
+        this.mapper = mapper;
+        this.supportedCurrencies = currencyService.getSupportedCurrencies().stream()
+                                           .map(Currency::getCurrencyCode)
+                                           .collect(Collectors.toUnmodifiableSet());
+    }
 
     @Override
     public void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws IOException, ServletException {
-        MultiReadHttpServletRequest servletRequest = new MultiReadHttpServletRequest(request);
-        boolean isXmlContent = StringUtils.equals(APPLICATION_XML.toString(), servletRequest.getHeader(CONTENT_TYPE));
+        boolean isXmlContent = StringUtils.equals(APPLICATION_XML.toString(), request.getHeader(CONTENT_TYPE));
         if (isXmlContent) {
             // TODO implement iban validation for xml payment
-            chain.doFilter(servletRequest, response);
+            chain.doFilter(request, response);
             return;
         }
+        boolean hasBody = !HttpMethod.GET.matches(request.getMethod()) && request.getContentLengthLong() != 0;
+        HttpServletRequest servletRequest = hasBody
+                                                    ? new MultiReadHttpServletRequest(request)
+                                                    : request;
+        Map<String, List<String>> values = new HashMap<>();
+        values.put(IBAN, new ArrayList<>());
+        values.put(CURRENCY, new ArrayList<>());
         try {
-            Supplier<Optional<String>> supplierIban = () -> validate(readValuesByField(servletRequest, IBAN), v -> IBANValidator.getInstance().isValid(v));
-            Supplier<Optional<String>> supplierCurrency = () -> validate(readValuesByField(servletRequest, CURRENCY), this::isSupportedCurrency);
-            Optional<String> combined = findFirstPresent(supplierIban, supplierCurrency);
-            if (combined.isPresent()) {
-                buildError(response, combined.get());
-                return;
+            if (hasBody) {
+                readBodyValues(servletRequest.getInputStream(), values);
             }
         } catch (IOException e) {
             response.sendError(400, String.format("Could not parse request body, msg: %s", e.getMessage()));
             return;
         }
+        values.forEach((field, fieldValues) -> Optional.ofNullable(servletRequest.getParameter(field))
+                                                         .ifPresent(fieldValues::add));
+
+        Optional<String> invalid = validate(values.get(IBAN), v -> IBANValidator.getInstance().isValid(v))
+                                           .or(() -> validate(values.get(CURRENCY), supportedCurrencies::contains));
+        if (invalid.isPresent()) {
+            buildError(response, invalid.get());
+            return;
+        }
         chain.doFilter(servletRequest, response);
     }
 
@@ -69,29 +86,27 @@ public class ValidationFilter extends OncePerRequestFilter {
                        .findFirst();
     }
 
-    @SneakyThrows
-    private Collection<String> readValuesByField(MultiReadHttpServletRequest servletRequest, String fieldName) {
-        JsonNode jsonNode = mapper.readTree(servletRequest.getInputStream());
-        List<String> values = jsonNode != null
-                                      ? jsonNode.findValuesAsText(fieldName).stream().filter(a-> !a.equals("null")).collect(Collectors.toList())
-                                      : new ArrayList<>();
-        Optional.ofNullable(servletRequest.getParameter(fieldName))
-                .ifPresent(values::add);
-        return values;
-    }
-
-    private boolean isSupportedCurrency(String currency) {
-        return currencyService.getSupportedCurrencies().stream()
-                       .anyMatch(c -> StringUtils.equals(c.getCurrencyCode(), currency));
-    }
-
-    @SafeVarargs
-    private static Optional<String> findFirstPresent(Supplier<Optional<String>>... suppliers) {
-        return Stream.of(suppliers)
-                       .map(Supplier::get)
-                       .filter(Optional::isPresent)
-                       .findFirst()
-                       .orElseGet(Optional::empty);
+    /**
+     * Collects the values of all validated fields at any depth of the body in a single pass. Like
+     * {@link com.fasterxml.jackson.databind.JsonNode#findValuesAsText(String)}, the value of a matched field is not searched any further.
+     */
+    private void readBodyValues(InputStream body, Map<String, List<String>> values) throws IOException {
+        try (JsonParser parser = mapper.getFactory().createParser(body)) {
+            JsonToken token = parser.nextToken();
+            while (token != null && !parser.getParsingContext().inRoot()) {
+                if (token == JsonToken.FIELD_NAME && values.containsKey(parser.getCurrentName())) {
+                    List<String> fieldValues = values.get(parser.getCurrentName());
+                    JsonToken valueToken = parser.nextToken();
+                    if (valueToken.isStructStart()) {
+                        parser.skipChildren();
+                        fieldValues.add("");
+                    } else if (valueToken != JsonToken.VALUE_NULL && !NULL_VALUE.equals(parser.getText())) {
+                        fieldValues.add(parser.getText());
+                    }
+                }
+                token = parser.nextToken();
+            }
+        }
     }
 
     private void buildError(HttpServletResponse response, String value) throws IOException {
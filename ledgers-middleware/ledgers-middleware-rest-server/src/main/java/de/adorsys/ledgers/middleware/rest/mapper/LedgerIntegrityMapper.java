@@ -0,0 +1,18 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.middleware.rest.mapper;
+
+import de.adorsys.ledgers.middleware.api.domain.general.LedgerIntegrityReportTO;
+import de.adorsys.ledgers.postings.api.domain.LedgerIntegrityReportBO;
+import org.mapstruct.Mapper;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface LedgerIntegrityMapper {
+
+    List<LedgerIntegrityReportTO> toLedgerIntegrityReportTOs(List<LedgerIntegrityReportBO> reports);
+}
@@ -7,6 +7,8 @@ package de.adorsys.ledgers.middleware.rest.mapper;
 
 import de.adorsys.ledgers.deposit.api.domain.MockBookingDetailsBO;
 import de.adorsys.ledgers.middleware.api.domain.account.MockBookingDetails;
+import de.adorsys.ledgers.middleware.api.domain.account.MockImportJobTO;
+import de.adorsys.ledgers.postings.api.domain.MockImportJobBO;
 import org.mapstruct.Mapper;
 
 import java.util.List;
@@ -15,4 +17,6 @@ import java.util.List;
 public interface MockTransactionMapper {
 
     List<MockBookingDetailsBO> toMockTransactionDetailsBO(List<MockBookingDetails> det);
+
+    MockImportJobTO toMockImportJobTO(MockImportJobBO job);
 }
@@ -5,6 +5,9 @@
 
 package de.adorsys.ledgers.middleware.rest.resource;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import de.adorsys.ledgers.middleware.api.domain.account.*;
 import de.adorsys.ledgers.middleware.api.exception.MiddlewareModuleException;
 import de.adorsys.ledgers.middleware.api.service.MiddlewareAccountManagementService;
@@ -13,13 +16,23 @@ import de.adorsys.ledgers.middleware.rest.annotation.MiddlewareUserResource;
 import de.adorsys.ledgers.middleware.rest.security.ScaInfoHolder;
 import de.adorsys.ledgers.util.domain.CustomPageImpl;
 import de.adorsys.ledgers.util.domain.CustomPageableImpl;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -27,6 +40,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static de.adorsys.ledgers.middleware.api.exception.MiddlewareErrorCode.REQUEST_VALIDATION_FAILURE;
+import static de.adorsys.ledgers.middleware.rest.utils.Constants.*;
 
 @Slf4j
 @RestController
@@ -37,6 +51,7 @@ public class AccountResource implements AccountRestAPI {
     private final ScaInfoHolder scaInfoHolder;
     private final MiddlewareAccountManagementService middlewareAccountService;
     private final MiddlewareUserManagementService userManagementService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Return the list of accounts linked with the current customer.
@@ -70,6 +85,33 @@ public class AccountResource implements AccountRestAPI {
         return ResponseEntity.ok(transactions);
     }
 
+    /**
+     * Streams all transactions of the account within the given dates as newline delimited JSON.
+     * Declared here rather than in {@link AccountRestAPI}, as a streamed body can not be decoded by its feign client.
+     */
+    @GetMapping(path = "/{accountId}/transactions/export", params = {DATE_FROM_QUERY_PARAM, DATE_TO_QUERY_PARAM}, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export Transactions By Date", description = "Streams all transactions for the given account id as newline delimited JSON, one transaction per line")
+    @SecurityRequirement(name = API_KEY)
+    @SecurityRequirement(name = OAUTH2)
+    @PreAuthorize("hasAccessToAccount(#accountId)")
+    public ResponseEntity<StreamingResponseBody> exportTransactionsByDates(
+            @PathVariable(ACCOUNT_ID) String accountId,
+            @RequestParam(name = DATE_FROM_QUERY_PARAM, required = false) @DateTimeFormat(pattern = LOCAL_DATE_YYYY_MM_DD_FORMAT) LocalDate dateFrom,
+            @RequestParam(name = DATE_TO_QUERY_PARAM) @DateTimeFormat(pattern = LOCAL_DATE_YYYY_MM_DD_FORMAT) LocalDate dateTo) {
+        dateChecker(dateFrom, dateTo);
+        StreamingResponseBody body = out -> {
+            try (SequenceWriter writer = objectMapper.writer()
+                                                 .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                                                 .withRootValueSeparator("\n")
+                                                 .writeValues(out)) {
+                middlewareAccountService.exportTransactionsByDates(accountId, validDate(dateFrom), validDate(dateTo), t -> writeLine(writer, t));
+            }
+        };
+        return ResponseEntity.ok()
+                       .contentType(MediaType.APPLICATION_NDJSON)
+                       .body(body);
+    }
+
     @Override
     @PreAuthorize("hasAccessToAccount(#accountId)")
     public ResponseEntity<CustomPageImpl<TransactionTO>> getTransactionByDatesPaged(String accountId, LocalDate dateFrom, LocalDate dateTo, int page, int size) {
@@ -114,6 +156,14 @@ public class AccountResource implements AccountRestAPI {
         }
     }
 
+    private void writeLine(SequenceWriter writer, TransactionTO transaction) {
+        try {
+            writer.write(transaction);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     private LocalDate validDate(LocalDate date) {
         return Optional.ofNullable(date)
                        .orElseGet(LocalDate::now);
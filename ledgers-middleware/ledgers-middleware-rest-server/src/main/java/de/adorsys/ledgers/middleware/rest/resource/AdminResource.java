@@ -6,6 +6,7 @@
 package de.adorsys.ledgers.middleware.rest.resource;
 
 import de.adorsys.ledgers.middleware.api.domain.account.AccountDetailsExtendedTO;
+import de.adorsys.ledgers.middleware.api.domain.general.LedgerIntegrityReportTO;
 import de.adorsys.ledgers.middleware.api.domain.um.UserExtendedTO;
 import de.adorsys.ledgers.middleware.api.domain.um.UserRoleTO;
 import de.adorsys.ledgers.middleware.api.domain.um.UserTO;
@@ -16,6 +17,8 @@ import de.adorsys.ledgers.middleware.api.service.MiddlewareAccountManagementServ
 import de.adorsys.ledgers.middleware.api.service.MiddlewareUserManagementService;
 import de.adorsys.ledgers.middleware.impl.converter.UserMapper;
 import de.adorsys.ledgers.middleware.rest.annotation.MiddlewareResetResource;
+import de.adorsys.ledgers.middleware.rest.mapper.LedgerIntegrityMapper;
+import de.adorsys.ledgers.postings.api.service.LedgerIntegrityService;
 import de.adorsys.ledgers.um.api.domain.UserBO;
 import de.adorsys.ledgers.um.api.service.UserService;
 import de.adorsys.ledgers.util.domain.CustomPageImpl;
@@ -45,6 +48,8 @@ public class AdminResource implements AdminResourceAPI {
     private final AppManagementService appManagementService;
     private final UserService userService;
     private final UserMapper userMapper;
+    private final LedgerIntegrityService ledgerIntegrityService;
+    private final LedgerIntegrityMapper ledgerIntegrityMapper;
 
     @Override
     @PreAuthorize("hasAnyRole('SYSTEM')")
@@ -103,6 +108,12 @@ public class AdminResource implements AdminResourceAPI {
         return ResponseEntity.accepted().build();
     }
 
+    @Override
+    @PreAuthorize("hasRole('SYSTEM')")
+    public ResponseEntity<List<LedgerIntegrityReportTO>> verifyLedgerIntegrity() {
+        return ResponseEntity.ok(ledgerIntegrityMapper.toLedgerIntegrityReportTOs(ledgerIntegrityService.verifyLedgers()));
+    }
+
     @SuppressWarnings("PMD.CyclomaticComplexity")
     private void checkUpdateData(UserTO user) { //TODO move to validation filter
         UserBO userStored = userService.findById(user.getId());
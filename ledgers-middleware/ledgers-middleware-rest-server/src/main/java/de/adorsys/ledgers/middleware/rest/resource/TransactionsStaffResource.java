@@ -6,8 +6,10 @@
 package de.adorsys.ledgers.middleware.rest.resource;
 
 import de.adorsys.ledgers.deposit.api.domain.MockBookingDetailsBO;
+import de.adorsys.ledgers.deposit.api.domain.MockBookingResultBO;
 import de.adorsys.ledgers.deposit.api.service.TransactionService;
 import de.adorsys.ledgers.middleware.api.domain.account.MockBookingDetails;
+import de.adorsys.ledgers.middleware.api.domain.account.MockImportJobTO;
 import de.adorsys.ledgers.middleware.rest.annotation.MiddlewareUserResource;
 import de.adorsys.ledgers.middleware.rest.mapper.MockTransactionMapper;
 import lombok.RequiredArgsConstructor;
@@ -17,6 +19,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
 
@@ -32,6 +35,15 @@ public class TransactionsStaffResource implements TransactionsStaffResourceAPI {
     @PreAuthorize("hasRole('STAFF')")
     public ResponseEntity<Map<String, String>> transactions(List<MockBookingDetails> data) {
         List<MockBookingDetailsBO> dataBO = transactionMapper.toMockTransactionDetailsBO(data);
-        return new ResponseEntity<>(transactionService.bookMockTransaction(dataBO), HttpStatus.CREATED);
+        MockBookingResultBO result = transactionService.bookMockTransaction(dataBO);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                       .location(URI.create(BASE_PATH + JOBS_PATH + "/" + result.getJobId()))
+                       .body(result.getErrors());
+    }
+
+    @Override
+    @PreAuthorize("hasRole('STAFF')")
+    public ResponseEntity<MockImportJobTO> importJob(String jobId) {
+        return ResponseEntity.ok(transactionMapper.toMockImportJobTO(transactionService.getMockImportJob(jobId)));
     }
 }
@@ -9,6 +9,7 @@ import de.adorsys.ledgers.keycloak.client.mapper.KeycloakAuthMapper;
 import de.adorsys.ledgers.middleware.api.domain.account.AccountDetailsTO;
 import de.adorsys.ledgers.middleware.api.domain.account.AccountIdentifierTypeTO;
 import de.adorsys.ledgers.middleware.api.domain.account.AccountReferenceTO;
+import de.adorsys.ledgers.middleware.api.domain.account.AccountStatusTO;
 import de.adorsys.ledgers.middleware.api.domain.sca.OpTypeTO;
 import de.adorsys.ledgers.middleware.api.domain.sca.StartScaOprTO;
 import de.adorsys.ledgers.middleware.api.domain.um.AccessTokenTO;
@@ -22,7 +23,6 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -33,6 +33,7 @@ import static de.adorsys.ledgers.middleware.api.domain.um.UserRoleTO.SYSTEM;
 @Component
 @SuppressWarnings("PMD.TooManyMethods")
 public class AccountAccessSecurityFilter extends SecurityExpressionAdapter {
+    private SecurityRequestContext context;
 
     public AccountAccessSecurityFilter(Authentication authentication, MiddlewareAccountManagementService accountService,
                                        MiddlewarePaymentService paymentService, KeycloakAuthMapper authMapper,
@@ -76,23 +77,23 @@ public class AccountAccessSecurityFilter extends SecurityExpressionAdapter {
     public boolean hasAccessToAccountsWithIbans(Collection<String> ibans) {
         UserTO user = user();
         return user.getUserRoles().contains(SYSTEM)
-                       || user.getUserRoles().contains(STAFF) && user.hasAccessToAccountsWithIbans(ibans)
-                       || user.hasAccessToAccountsWithIbans(ibans) && ibans.stream().allMatch(this::isEnabledAccountIban);
+                       || user.getUserRoles().contains(STAFF) && context().hasAccessToAccountsWithIbans(ibans)
+                       || context().hasAccessToAccountsWithIbans(ibans) && ibans.stream().allMatch(this::isEnabledAccountIban);
     }
 
     //System retrieves regardless of status, STAFF & CUSTOMER if has access, CUSTOMER if accountEnabled
     public boolean hasAccessToAccount(String accountId) {
         UserTO user = user();
         return user.getUserRoles().contains(SYSTEM)
-                       || user.getUserRoles().contains(STAFF) && user.hasAccessToAccountWithId(accountId)
-                       || user.hasAccessToAccountWithId(accountId) && isEnabledAccount(accountId);
+                       || user.getUserRoles().contains(STAFF) && context().hasAccessToAccountWithId(accountId)
+                       || context().hasAccessToAccountWithId(accountId) && isEnabledAccount(accountId);
     }
 
     public boolean hasAccessToAccountWithIban(String iban) {
         UserTO user = user();
         return user.getUserRoles().contains(SYSTEM)
-                       || user.getUserRoles().contains(STAFF) && user.hasAccessToAccountWithIban(iban)
-                       || user.hasAccessToAccountWithIban(iban) && isEnabledAccountIban(iban);
+                       || user.getUserRoles().contains(STAFF) && context().hasAccessToAccountWithIban(iban)
+                       || context().hasAccessToAccountWithIban(iban) && isEnabledAccountIban(iban);
     }
 
     public boolean accountInfoByIdentifier(AccountIdentifierTypeTO type, String accountIdentifier) {
@@ -102,7 +103,7 @@ public class AccountAccessSecurityFilter extends SecurityExpressionAdapter {
     }
 
     public boolean isEnabledAccount(String accountId) {
-        return accountService.getDepositAccountById(accountId, LocalDateTime.now(), false).isEnabled();
+        return accountService.getAccountStatusById(accountId) == AccountStatusTO.ENABLED;
     }
 
     public boolean hasAccessToAccountByLogin(String login, String iban) {
@@ -143,21 +144,23 @@ public class AccountAccessSecurityFilter extends SecurityExpressionAdapter {
         return authMapper.toAccessTokenFromJwt(credentials);
     }
 
+    private SecurityRequestContext context() {
+        if (context == null) {
+            context = SecurityRequestContext.of(getAuthentication(), () -> userManagementService.findByUserLogin(getAccessTokenTO().getLogin()));
+        }
+        return context;
+    }
+
     private UserTO user() {
-        return userManagementService.findByUserLogin(getAccessTokenTO().getLogin());
+        return context().getUser();
     }
 
     private boolean hasAnyScope(String... scopes) {
-        Set<String> scopesInToken = getScopes();
+        Set<String> scopesInToken = context().getScopes();
         return Arrays.stream(scopes)
                        .anyMatch(scopesInToken::contains);
     }
 
-    private Set<String> getScopes() {
-        Jwt credentials = (Jwt) getAuthentication().getCredentials();
-        return new HashSet<>(Arrays.asList(credentials.getClaimAsString("scope").split(" ")));
-    }
-
     private boolean isEnabledAccountIban(String iban) {
         return accountService.getAccountsByIbanAndCurrency(iban, "").stream().allMatch(AccountDetailsTO::isEnabled);
     }
@@ -171,10 +174,10 @@ public class AccountAccessSecurityFilter extends SecurityExpressionAdapter {
     }
 
     private boolean hasManagerAccessIban(String iban, UserTO user) {
-        return user.getUserRoles().contains(SYSTEM) || user.hasAccessToAccountWithIban(iban);
+        return user.getUserRoles().contains(SYSTEM) || context().hasAccessToAccountWithIban(iban);
     }
 
     private boolean hasManagerAccessId(String accountId, UserTO user) {
-        return user.getUserRoles().contains(SYSTEM) || user.hasAccessToAccountWithId(accountId);
+        return user.getUserRoles().contains(SYSTEM) || context().hasAccessToAccountWithId(accountId);
     }
 }
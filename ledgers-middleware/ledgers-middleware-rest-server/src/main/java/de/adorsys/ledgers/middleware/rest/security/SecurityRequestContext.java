@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.middleware.rest.security;
+
+import de.adorsys.ledgers.middleware.api.domain.um.AccountAccessTO;
+import de.adorsys.ledgers.middleware.api.domain.um.UserTO;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Authenticated user, its account accesses and token scopes, resolved once per request.
+ * <p>
+ * Security expressions are evaluated on a new root object for each secured invocation,
+ * so the context is kept as a request attribute and shared by all expressions of the request.
+ * Outside of a request a fresh context is used for each root object.
+ */
+class SecurityRequestContext {
+    private static final String ATTRIBUTE_NAME = SecurityRequestContext.class.getName();
+
+    private final Authentication authentication;
+    private final Supplier<UserTO> userLoader;
+
+    private UserTO user;
+    private Set<String> accountIds;
+    private Set<String> ibans;
+    private Set<String> scopes;
+
+    private SecurityRequestContext(Authentication authentication, Supplier<UserTO> userLoader) {
+        this.authentication = authentication;
+        this.userLoader = userLoader;
+    }
+
+    static SecurityRequestContext of(Authentication authentication, Supplier<UserTO> userLoader) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return new SecurityRequestContext(authentication, userLoader);
+        }
+        Object stored = attributes.getAttribute(ATTRIBUTE_NAME, RequestAttributes.SCOPE_REQUEST);
+        if (stored instanceof SecurityRequestContext context && context.authentication == authentication) {
+            return context;
+        }
+        SecurityRequestContext context = new SecurityRequestContext(authentication, userLoader);
+        attributes.setAttribute(ATTRIBUTE_NAME, context, RequestAttributes.SCOPE_REQUEST);
+        return context;
+    }
+
+    UserTO getUser() {
+        if (user == null) {
+            user = userLoader.get();
+        }
+        return user;
+    }
+
+    boolean hasAccessToAccountWithId(String accountId) {
+        if (accountIds == null) {
+            accountIds = indexAccesses(AccountAccessTO::getAccountId);
+        }
+        return accountIds.contains(accountId);
+    }
+
+    boolean hasAccessToAccountWithIban(String iban) {
+        return getIbans().contains(iban);
+    }
+
+    boolean hasAccessToAccountsWithIbans(Collection<String> requested) {
+        return getIbans().containsAll(requested);
+    }
+
+    Set<String> getScopes() {
+        if (scopes == null) {
+            Jwt credentials = (Jwt) authentication.getCredentials();
+            scopes = new HashSet<>(Arrays.asList(credentials.getClaimAsString("scope").split(" ")));
+        }
+        return scopes;
+    }
+
+    private Set<String> getIbans() {
+        if (ibans == null) {
+            ibans = indexAccesses(AccountAccessTO::getIban);
+        }
+        return ibans;
+    }
+
+    private Set<String> indexAccesses(Function<AccountAccessTO, String> key) {
+        return getUser().getAccountAccesses().stream()
+                       .map(key)
+                       .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.middleware.rest.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.adorsys.ledgers.middleware.api.service.CurrencyService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Currency;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ValidationFilterTest {
+    private static final String VALID_IBAN = "DE89370400440532013000";
+
+    @Mock
+    private CurrencyService currencyService;
+
+    private ValidationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        when(currencyService.getSupportedCurrencies()).thenReturn(Set.of(Currency.getInstance("EUR"), Currency.getInstance("USD")));
+        filter = new ValidationFilter(currencyService, new ObjectMapper());
+    }
+
+    @Test
+    void doFilterInternal_valid_nested_values() throws ServletException, IOException {
+        // Given
+        String body = "{\"debtorAccount\":{\"iban\":\"" + VALID_IBAN + "\",\"currency\":\"EUR\"}," +
+                              "\"targets\":[{\"creditorAccount\":{\"iban\":\"" + VALID_IBAN + "\",\"currency\":null}}]}";
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        MockHttpServletResponse response = filter(post(body), chain);
+
+        // Then
+        assertEquals(200, response.getStatus());
+        assertEquals(body, new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void doFilterInternal_invalid_iban() throws ServletException, IOException {
+        // When
+        MockHttpServletResponse response = filter(post("{\"targets\":[{\"iban\":\"DE00000\"}]}"), new MockFilterChain());
+
+        // Then
+        assertEquals(400, response.getStatus());
+        assertEquals("Invalid value: DE00000", response.getErrorMessage());
+    }
+
+    @Test
+    void doFilterInternal_unsupported_currency() throws ServletException, IOException {
+        // When
+        MockHttpServletResponse response = filter(post("{\"iban\":\"" + VALID_IBAN + "\",\"currency\":\"UAH\"}"), new MockFilterChain());
+
+        // Then
+        assertEquals(400, response.getStatus());
+        assertEquals("Invalid value: UAH", response.getErrorMessage());
+    }
+
+    @Test
+    void doFilterInternal_malformed_body() throws ServletException, IOException {
+        // When
+        MockHttpServletResponse response = filter(post("{\"iban\":"), new MockFilterChain());
+
+        // Then
+        assertEquals(400, response.getStatus());
+    }
+
+    @Test
+    void doFilterInternal_get_validates_parameters_without_buffering() throws ServletException, IOException {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/accounts");
+        request.addParameter("currency", "UAH");
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        MockHttpServletResponse response = filter(request, chain);
+
+        // Then
+        assertEquals(400, response.getStatus());
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void doFilterInternal_get_passes_original_request() throws ServletException, IOException {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/accounts");
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        filter(request, chain);
+
+        // Then
+        assertSame(request, chain.getRequest());
+    }
+
+    private MockHttpServletRequest post(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/payments");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private MockHttpServletResponse filter(MockHttpServletRequest request, MockFilterChain chain) throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilterInternal(request, response, chain);
+        return response;
+    }
+}
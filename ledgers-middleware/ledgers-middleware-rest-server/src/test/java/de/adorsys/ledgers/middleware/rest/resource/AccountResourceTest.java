@@ -5,8 +5,10 @@
 
 package de.adorsys.ledgers.middleware.rest.resource;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import de.adorsys.ledgers.middleware.api.domain.account.AccountReferenceTO;
 import de.adorsys.ledgers.middleware.api.domain.account.FundsConfirmationRequestTO;
+import de.adorsys.ledgers.middleware.api.domain.account.TransactionTO;
 import de.adorsys.ledgers.middleware.api.domain.payment.AmountTO;
 import de.adorsys.ledgers.middleware.api.exception.MiddlewareModuleException;
 import de.adorsys.ledgers.middleware.api.service.MiddlewareAccountManagementService;
@@ -14,15 +16,24 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.Currency;
+import java.util.function.Consumer;
 
-import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +44,8 @@ class AccountResourceTest {
 
     @Mock
     MiddlewareAccountManagementService middlewareAccountService;
+    @Spy
+    ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
 
     @Test
     void fundsConfirmation_zero() {
@@ -61,6 +74,36 @@ class AccountResourceTest {
         assertTrue(confirmation.getBody());
     }
 
+    @Test
+    void exportTransactionsByDates() throws IOException {
+        // Given
+        LocalDate today = LocalDate.now();
+        doAnswer(i -> {
+            Consumer<TransactionTO> consumer = i.getArgument(3);
+            consumer.accept(getTransaction("t1"));
+            consumer.accept(getTransaction("t2"));
+            return null;
+        }).when(middlewareAccountService).exportTransactionsByDates(eq("accountId"), eq(today), eq(today), any());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        ResponseEntity<StreamingResponseBody> response = accountResource.exportTransactionsByDates("accountId", null, today);
+        response.getBody().writeTo(out);
+
+        // Then
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("t1", objectMapper.readValue(lines[0], TransactionTO.class).getTransactionId());
+        assertEquals("t2", objectMapper.readValue(lines[1], TransactionTO.class).getTransactionId());
+    }
+
+    private TransactionTO getTransaction(String id) {
+        TransactionTO transaction = new TransactionTO();
+        transaction.setTransactionId(id);
+        return transaction;
+    }
+
     private FundsConfirmationRequestTO getFundsConfirmationRequest(BigDecimal amount) {
         return new FundsConfirmationRequestTO("PSU_ID", new AccountReferenceTO(), new AmountTO(Currency.getInstance("EUR"), amount), null, null);
     }
@@ -6,6 +6,8 @@
 package de.adorsys.ledgers.middleware.rest.resource;
 
 import de.adorsys.ledgers.middleware.api.domain.account.AccountDetailsExtendedTO;
+import de.adorsys.ledgers.middleware.api.domain.general.LedgerIntegrityReportTO;
+import de.adorsys.ledgers.middleware.api.domain.general.LedgerIntegrityViolationTO;
 import de.adorsys.ledgers.middleware.api.domain.um.UserExtendedTO;
 import de.adorsys.ledgers.middleware.api.domain.um.UserRoleTO;
 import de.adorsys.ledgers.middleware.api.domain.um.UserTO;
@@ -14,6 +16,10 @@ import de.adorsys.ledgers.middleware.api.service.AppManagementService;
 import de.adorsys.ledgers.middleware.api.service.MiddlewareAccountManagementService;
 import de.adorsys.ledgers.middleware.api.service.MiddlewareUserManagementService;
 import de.adorsys.ledgers.middleware.impl.converter.UserMapper;
+import de.adorsys.ledgers.middleware.rest.mapper.LedgerIntegrityMapper;
+import de.adorsys.ledgers.postings.api.domain.LedgerIntegrityReportBO;
+import de.adorsys.ledgers.postings.api.domain.LedgerIntegrityViolationBO;
+import de.adorsys.ledgers.postings.api.service.LedgerIntegrityService;
 import de.adorsys.ledgers.um.api.domain.UserBO;
 import de.adorsys.ledgers.um.api.domain.UserRoleBO;
 import de.adorsys.ledgers.um.api.service.UserService;
@@ -29,6 +35,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Collections;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -50,6 +57,8 @@ class AdminResourceTest {
     private AppManagementService appManagementService;
     @Mock
     private UserService userService;
+    @Mock
+    private LedgerIntegrityService ledgerIntegrityService;
 
     @InjectMocks
     private AdminResource resource;
@@ -140,6 +149,21 @@ class AdminResourceTest {
         assertThrows(MiddlewareModuleException.class, () -> resource.user(userTO));
     }
 
+    @Test
+    void verifyLedgerIntegrity() {
+        LedgerIntegrityReportBO report = new LedgerIntegrityReportBO();
+        report.setLedgerName("mockbank");
+        report.setBrokenPostingId("postingId");
+        report.setViolation(LedgerIntegrityViolationBO.BROKEN_LINK);
+        when(ledgerIntegrityService.verifyLedgers()).thenReturn(List.of(report));
+        ReflectionTestUtils.setField(resource, "ledgerIntegrityMapper", Mappers.getMapper(LedgerIntegrityMapper.class));
+
+        ResponseEntity<List<LedgerIntegrityReportTO>> result = resource.verifyLedgerIntegrity();
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals("postingId", result.getBody().get(0).getBrokenPostingId());
+        assertEquals(LedgerIntegrityViolationTO.BROKEN_LINK, result.getBody().get(0).getViolation());
+    }
+
     private UserBO getUserBO(String id, String branch, UserRoleBO role) {
         UserBO bo = new UserBO(LOGIN, "", PIN);
         bo.setId(id);
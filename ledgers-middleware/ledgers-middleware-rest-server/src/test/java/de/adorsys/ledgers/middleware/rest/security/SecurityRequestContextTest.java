@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.middleware.rest.security;
+
+import de.adorsys.ledgers.middleware.api.domain.um.AccessTypeTO;
+import de.adorsys.ledgers.middleware.api.domain.um.AccountAccessTO;
+import de.adorsys.ledgers.middleware.api.domain.um.UserTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecurityRequestContextTest {
+    private static final String ACCOUNT_ID = "accountId";
+    private static final String IBAN = "DE89370400440532013000";
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Supplier<UserTO> userLoader = () -> {
+        loads.incrementAndGet();
+        return getUser();
+    };
+
+    @BeforeEach
+    void setUp() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void userResolvedOncePerRequest() {
+        // Given
+        Authentication authentication = getAuthentication();
+
+        // When
+        SecurityRequestContext first = SecurityRequestContext.of(authentication, userLoader);
+        SecurityRequestContext second = SecurityRequestContext.of(authentication, userLoader);
+        first.getUser();
+        boolean hasId = second.hasAccessToAccountWithId(ACCOUNT_ID);
+        boolean hasIban = second.hasAccessToAccountsWithIbans(Set.of(IBAN));
+
+        // Then
+        assertSame(first, second);
+        assertTrue(hasId);
+        assertTrue(hasIban);
+        assertFalse(second.hasAccessToAccountWithIban("other"));
+        assertEquals(Set.of("sca", "partial_access"), second.getScopes());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void newContextForOtherAuthentication() {
+        // When
+        SecurityRequestContext first = SecurityRequestContext.of(getAuthentication(), userLoader);
+        SecurityRequestContext second = SecurityRequestContext.of(getAuthentication(), userLoader);
+
+        // Then
+        assertNotSame(first, second);
+    }
+
+    @Test
+    void noRequest() {
+        // Given
+        RequestContextHolder.resetRequestAttributes();
+        Authentication authentication = getAuthentication();
+
+        // When
+        SecurityRequestContext first = SecurityRequestContext.of(authentication, userLoader);
+        SecurityRequestContext second = SecurityRequestContext.of(authentication, userLoader);
+
+        // Then
+        assertNotSame(first, second);
+    }
+
+    private Authentication getAuthentication() {
+        Jwt jwt = Jwt.withTokenValue("token")
+                          .header("alg", "RS256")
+                          .claim("scope", "sca partial_access")
+                          .build();
+        return new TestingAuthenticationToken("login", jwt);
+    }
+
+    private UserTO getUser() {
+        UserTO user = new UserTO("login", "email", "pin");
+        user.setAccountAccesses(List.of(new AccountAccessTO("id", IBAN, null, AccessTypeTO.OWNER, 100, ACCOUNT_ID)));
+        return user;
+    }
+}
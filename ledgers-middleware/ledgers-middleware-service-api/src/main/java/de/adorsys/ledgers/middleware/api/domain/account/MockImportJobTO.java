@@ -0,0 +1,23 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.middleware.api.domain.account;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class MockImportJobTO {
+    private String id;
+    private MockImportStatusTO status;
+    private int total;
+    private int imported;
+    private int failed;
+    private List<String> errors;
+    private LocalDateTime started;
+    private LocalDateTime finished;
+}
@@ -0,0 +1,12 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.middleware.api.domain.account;
+
+public enum MockImportStatusTO {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,23 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.middleware.api.domain.general;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class LedgerIntegrityReportTO {
+    private String ledgerId;
+    private String ledgerName;
+    private boolean intact;
+    private String brokenPostingId;
+    private LedgerIntegrityViolationTO violation;
+    private long verifiedPostings;
+    private double postingsPerSecond;
+    private LocalDateTime started;
+    private LocalDateTime finished;
+}
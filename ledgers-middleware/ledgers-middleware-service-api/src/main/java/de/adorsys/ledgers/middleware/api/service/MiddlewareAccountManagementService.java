@@ -18,6 +18,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 public interface MiddlewareAccountManagementService {
 
@@ -64,6 +65,14 @@ public interface MiddlewareAccountManagementService {
      */
     AccountDetailsTO getDepositAccountById(String id, LocalDateTime time, boolean withBalance);
 
+    /**
+     * Retrieves the status of an account without loading its details or balances
+     *
+     * @param accountId DepositAccount identifier
+     * @return ENABLED or BLOCKED
+     */
+    AccountStatusTO getAccountStatusById(String accountId);
+
     //============================ Account Details ==============================//
 
     /**
@@ -85,6 +94,16 @@ public interface MiddlewareAccountManagementService {
      */
     List<TransactionTO> getTransactionsByDates(String accountId, LocalDate dateFrom, LocalDate dateTo);
 
+    /**
+     * Passes the transactions of the account within the given dates to the consumer one by one
+     *
+     * @param accountId the account id
+     * @param dateFrom  first day of the period, today if null
+     * @param dateTo    last day of the period, today if null
+     * @param consumer  receives the transactions, youngest first
+     */
+    void exportTransactionsByDates(String accountId, LocalDate dateFrom, LocalDate dateTo, Consumer<TransactionTO> consumer);
+
     /**
      * Retrieves a List of transactions by accountId and dates (from/to) if dateTo is empty it is considered that requested date is today
      *
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.middleware.impl.sca;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.adorsys.ledgers.middleware.api.domain.sca.ChallengeDataTO;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Challenge data templates per SCA method, read once from {@code ledgers.sca.challenge_data.path}.
+ * <p>
+ * Templates are never handed out, callers get a copy they may change. With a positive
+ * {@code ledgers.sca.challenge_data.reloadInterval} a template file on the file system is read again once it was
+ * modified, checked at most once per interval on access.
+ */
+@Slf4j
+@Component
+public class ChallengeDataRegistry {
+    private static final String DEFAULT_CHALLENGE_DATA_PATH = "classpath:sca_challenge_data.json";
+    private static final String CLASSPATH_PREFIX = "classpath:";
+    private static final String FILE_PREFIX = "file:";
+
+    private final ObjectMapper mapper;
+    private final Resource resource;
+    private final long reloadIntervalNanos;
+
+    private volatile Map<String, ChallengeDataTO> templates = Map.of();
+    private volatile long lastModified;
+    private volatile long nextCheck;
+
+    public ChallengeDataRegistry(ObjectMapper mapper, ResourceLoader resourceLoader,
+                                 @Value("${ledgers.sca.challenge_data.path:}") String customChallengeDataPath,
+                                 @Value("${ledgers.sca.challenge_data.reloadInterval:PT0S}") Duration reloadInterval) {
+        this.mapper = mapper;
+        this.resource = resourceLoader.getResource(resolveChallengeDataPath(customChallengeDataPath));
+        this.reloadIntervalNanos = reloadInterval.toNanos();
+        load();
+    }
+
+    /**
+     * Copy of the template of the SCA method, {@code null} if there is none.
+     */
+    public ChallengeDataTO getChallengeData(String scaMethod) {
+        if (reloadIntervalNanos > 0 && System.nanoTime() - nextCheck >= 0) {
+            reloadIfModified();
+        }
+        ChallengeDataTO template = templates.get(scaMethod);
+        return template == null ? null : copy(template);
+    }
+
+    private synchronized void reloadIfModified() {
+        if (System.nanoTime() - nextCheck < 0) {
+            return;
+        }
+        nextCheck = System.nanoTime() + reloadIntervalNanos;
+        if (lastModified() != lastModified) {
+            load();
+        }
+    }
+
+    private void load() {
+        lastModified = lastModified();
+        try (InputStream is = resource.getInputStream()) {
+            String content = IOUtils.toString(is, StandardCharsets.UTF_8);
+            if (StringUtils.isNoneBlank(content)) {
+                Map<String, ChallengeDataTO> loaded = mapper.readValue(content, new TypeReference<Map<String, ChallengeDataTO>>() {
+                });
+                if (loaded == null) {
+                    log.error("No challenge data found in {}", resource.getDescription());
+                    return;
+                }
+                templates = withoutEmptyTemplates(loaded);
+                log.info("Loaded challenge data of {} SCA methods from {}", templates.size(), resource.getDescription());
+            }
+        } catch (IOException e) {
+            // Keeps the templates read before
+            log.error("Could not read challenge data from {}", resource.getDescription());
+        }
+    }
+
+    /*
+     * Methods without a template are skipped, as if they were not listed at all.
+     */
+    private Map<String, ChallengeDataTO> withoutEmptyTemplates(Map<String, ChallengeDataTO> loaded) {
+        Map<String, ChallengeDataTO> present = new HashMap<>();
+        loaded.forEach((scaMethod, template) -> {
+            if (scaMethod == null || template == null) {
+                log.error("Skipped challenge data of SCA method {} in {}, it has no template", scaMethod, resource.getDescription());
+            } else {
+                present.put(scaMethod, template);
+            }
+        });
+        return Map.copyOf(present);
+    }
+
+    private long lastModified() {
+        try {
+            return resource.isFile() ? resource.lastModified() : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static ChallengeDataTO copy(ChallengeDataTO template) {
+        return new ChallengeDataTO(template.getImage() == null ? null : template.getImage().clone(),
+                                   template.getData() == null ? null : new ArrayList<>(template.getData()),
+                                   template.getImageLink(),
+                                   template.getOtpMaxLength(),
+                                   template.getOtpFormat(),
+                                   template.getAdditionalInformation());
+    }
+
+    private static String resolveChallengeDataPath(String customChallengeDataPath) {
+        if (StringUtils.isBlank(customChallengeDataPath)) {
+            return DEFAULT_CHALLENGE_DATA_PATH;
+        } else {
+            if (customChallengeDataPath.startsWith(CLASSPATH_PREFIX)
+                        || customChallengeDataPath.startsWith(FILE_PREFIX)) {
+                return customChallengeDataPath;
+            }
+            return FILE_PREFIX + customChallengeDataPath;
+        }
+    }
+}
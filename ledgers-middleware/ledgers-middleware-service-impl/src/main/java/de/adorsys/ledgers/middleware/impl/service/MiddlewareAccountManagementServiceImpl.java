@@ -50,6 +50,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import static de.adorsys.ledgers.middleware.api.exception.MiddlewareErrorCode.ACCOUNT_CREATION_VALIDATION_FAILURE;
@@ -118,10 +119,17 @@ public class MiddlewareAccountManagementServiceImpl implements MiddlewareAccount
 
     @Override
     public AccountDetailsTO getDepositAccountById(String accountId, LocalDateTime time, boolean withBalance) {
-        DepositAccountDetailsBO accountDetailsBO = depositAccountService.getAccountDetailsById(accountId, time, true);
+        DepositAccountDetailsBO accountDetailsBO = depositAccountService.getAccountDetailsById(accountId, time, withBalance);
         return accountDetailsMapper.toAccountDetailsTO(accountDetailsBO);
     }
 
+    @Override
+    public AccountStatusTO getAccountStatusById(String accountId) {
+        return depositAccountService.isAccountEnabled(accountId)
+                       ? AccountStatusTO.ENABLED
+                       : AccountStatusTO.BLOCKED;
+    }
+
     @Override
     public TransactionTO getTransactionById(String accountId, String transactionId) {
         TransactionDetailsBO transaction = depositAccountService.getTransactionById(accountId, transactionId);
@@ -143,6 +151,17 @@ public class MiddlewareAccountManagementServiceImpl implements MiddlewareAccount
         return paymentConverter.toTransactionTOList(transactions);
     }
 
+    @Override
+    public void exportTransactionsByDates(String accountId, LocalDate dateFrom, LocalDate dateTo, Consumer<TransactionTO> consumer) {
+        LocalDate today = LocalDate.now();
+        LocalDateTime dateTimeFrom = dateFrom == null
+                                             ? today.atStartOfDay()
+                                             : dateFrom.atStartOfDay();
+        LocalDateTime dateTimeTo = getTimeAtEndOfTheDay(dateTo == null ? today : dateTo);
+
+        depositAccountService.exportTransactionsByDates(accountId, dateTimeFrom, dateTimeTo, t -> consumer.accept(paymentConverter.toTransactionTO(t)));
+    }
+
     @Override
     public CustomPageImpl<TransactionTO> getTransactionsByDatesPaged(String accountId, LocalDate dateFrom, LocalDate dateTo, CustomPageableImpl pageable) {
         LocalDate today = LocalDate.now();
@@ -8,6 +8,7 @@ package de.adorsys.ledgers.middleware.impl.converter;
 import de.adorsys.ledgers.middleware.api.domain.sca.ChallengeDataTO;
 import de.adorsys.ledgers.middleware.api.domain.sca.GlobalScaResponseTO;
 import de.adorsys.ledgers.middleware.api.domain.um.*;
+import de.adorsys.ledgers.middleware.impl.sca.ChallengeDataRegistry;
 import de.adorsys.ledgers.middleware.impl.sca.EmailScaChallengeData;
 import de.adorsys.ledgers.middleware.impl.service.ScaChallengeDataResolverImpl;
 import de.adorsys.ledgers.sca.domain.SCAOperationBO;
@@ -27,8 +28,6 @@ import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -56,6 +55,9 @@ class ScaResponseConverterTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private ChallengeDataRegistry challengeDataRegistry;
+
     @Mock
     private BearerTokenMapper bearerTokenMapper;
 
@@ -124,12 +126,10 @@ class ScaResponseConverterTest {
         ReflectionTestUtils.setField(converter, "multilevelScaEnable", false);
 
         EmailScaChallengeData data = new EmailScaChallengeData();
-        Map<String, ChallengeDataTO> datasMap = new HashMap<>();
-
         ChallengeDataTO challengeDataTO = getChallengeDataTO();
 
-        datasMap.put(CHALLENGE_DATA_TYPE, challengeDataTO);
-        ReflectionTestUtils.setField(data, "challengeDatas", datasMap);
+        when(challengeDataRegistry.getChallengeData(CHALLENGE_DATA_TYPE)).thenReturn(challengeDataTO);
+        ReflectionTestUtils.setField(data, "challengeDataRegistry", challengeDataRegistry);
 
         when(scaChallengeDataResolver.resolveScaChallengeData(ScaMethodTypeTO.SMTP_OTP))
                 .thenReturn(data);
@@ -194,12 +194,10 @@ class ScaResponseConverterTest {
         ReflectionTestUtils.setField(converter, "multilevelScaEnable", false);
 
         EmailScaChallengeData data = new EmailScaChallengeData();
-        Map<String, ChallengeDataTO> datasMap = new HashMap<>();
-
         ChallengeDataTO challengeDataTO = getChallengeDataTO();
 
-        datasMap.put(CHALLENGE_DATA_TYPE, challengeDataTO);
-        ReflectionTestUtils.setField(data, "challengeDatas", datasMap);
+        when(challengeDataRegistry.getChallengeData(CHALLENGE_DATA_TYPE)).thenReturn(challengeDataTO);
+        ReflectionTestUtils.setField(data, "challengeDataRegistry", challengeDataRegistry);
 
         when(scaChallengeDataResolver.resolveScaChallengeData(ScaMethodTypeTO.SMTP_OTP))
                 .thenReturn(data);
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.middleware.impl.sca;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.adorsys.ledgers.middleware.api.domain.sca.ChallengeDataTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChallengeDataRegistryTest {
+    private static final String SMTP_OTP = "SMTP_OTP";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void getChallengeData_returns_copy() throws IOException {
+        // Given
+        ChallengeDataRegistry registry = registry(write("TAN is %s"), Duration.ZERO);
+
+        // When
+        ChallengeDataTO first = registry.getChallengeData(SMTP_OTP);
+        first.setAdditionalInformation("changed");
+        first.getData().add("changed");
+        ChallengeDataTO second = registry.getChallengeData(SMTP_OTP);
+
+        // Then
+        assertNotSame(first, second);
+        assertEquals("TAN is %s", second.getAdditionalInformation());
+        assertEquals(1, second.getData().size());
+        assertEquals(6, second.getOtpMaxLength());
+    }
+
+    @Test
+    void getChallengeData_unknown_method() throws IOException {
+        // Given
+        ChallengeDataRegistry registry = registry(write("TAN is %s"), Duration.ZERO);
+
+        // Then
+        assertNull(registry.getChallengeData("PUSH_OTP"));
+    }
+
+    @Test
+    void getChallengeData_reloads_modified_file() throws IOException {
+        // Given
+        Path file = write("TAN is %s");
+        ChallengeDataRegistry registry = registry(file, Duration.ofNanos(1));
+        ChallengeDataRegistry notReloading = registry(file, Duration.ZERO);
+
+        // When
+        write("Your TAN is %s");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 10_000));
+
+        // Then
+        assertEquals("Your TAN is %s", registry.getChallengeData(SMTP_OTP).getAdditionalInformation());
+        assertEquals("TAN is %s", notReloading.getChallengeData(SMTP_OTP).getAdditionalInformation());
+    }
+
+    @Test
+    void getChallengeData_skips_empty_templates() throws IOException {
+        // Given
+        Path file = dir.resolve("sca_challenge_data.json");
+        Files.writeString(file, "{\"SMTP_OTP\": null, \"PUSH_OTP\": {\"otpMaxLength\": 8}}");
+
+        // When
+        ChallengeDataRegistry registry = registry(file, Duration.ZERO);
+
+        // Then
+        assertNull(registry.getChallengeData(SMTP_OTP));
+        assertEquals(8, registry.getChallengeData("PUSH_OTP").getOtpMaxLength());
+    }
+
+    @Test
+    void getChallengeData_keeps_templates_of_empty_file() throws IOException {
+        // Given
+        Path file = write("TAN is %s");
+        ChallengeDataRegistry registry = registry(file, Duration.ofNanos(1));
+
+        // When
+        Files.writeString(file, "null");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 10_000));
+
+        // Then
+        assertEquals("TAN is %s", registry.getChallengeData(SMTP_OTP).getAdditionalInformation());
+    }
+
+    private ChallengeDataRegistry registry(Path file, Duration reloadInterval) {
+        return new ChallengeDataRegistry(new ObjectMapper(), new DefaultResourceLoader(), file.toString(), reloadInterval);
+    }
+
+    private Path write(String additionalInformation) throws IOException {
+        Path file = dir.resolve("sca_challenge_data.json");
+        Files.writeString(file, "{\"SMTP_OTP\": {\"data\": [\"data\"], \"otpMaxLength\": 6, \"additionalInformation\": \"" + additionalInformation + "\"}}");
+        return file;
+    }
+}
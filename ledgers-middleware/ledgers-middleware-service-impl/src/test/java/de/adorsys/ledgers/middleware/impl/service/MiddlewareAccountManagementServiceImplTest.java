@@ -45,6 +45,7 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -184,7 +185,7 @@ class MiddlewareAccountManagementServiceImplTest {
         when(accountDetailsMapper.toAccountDetailsTO(depositAccountDetailsBO)).thenReturn(getAccountDetailsTO());
 
         // When
-        AccountDetailsTO accountDetails = middlewareService.getDepositAccountById(ACCOUNT_ID, TIME, false);
+        AccountDetailsTO accountDetails = middlewareService.getDepositAccountById(ACCOUNT_ID, TIME, true);
 
         // Then
         assertNotNull(accountDetails);
@@ -195,7 +196,7 @@ class MiddlewareAccountManagementServiceImplTest {
     @Test
     void getAccountDetailsByAccountId_wrong_id() {
         // Given
-        when(depositAccountService.getAccountDetailsById(WRONG_ID, TIME, true)).thenThrow(DepositModuleException.class);
+        when(depositAccountService.getAccountDetailsById(WRONG_ID, TIME, false)).thenThrow(DepositModuleException.class);
 
         // Then
         assertThrows(DepositModuleException.class, () -> middlewareService.getDepositAccountById(WRONG_ID, TIME, false));
@@ -204,12 +205,37 @@ class MiddlewareAccountManagementServiceImplTest {
     @Test
     void getAccountDetailsByAccountId_Failure_depositAccount_Not_Found() {
         // Given
-        when(depositAccountService.getAccountDetailsById(ACCOUNT_ID, TIME, true)).thenThrow(DepositModuleException.class);
+        when(depositAccountService.getAccountDetailsById(ACCOUNT_ID, TIME, false)).thenThrow(DepositModuleException.class);
 
         // Then
         assertThrows(DepositModuleException.class, () -> middlewareService.getDepositAccountById(ACCOUNT_ID, TIME, false));
     }
 
+    @Test
+    void getAccountStatusById_enabled() {
+        // Given
+        when(depositAccountService.isAccountEnabled(ACCOUNT_ID)).thenReturn(true);
+
+        // When
+        AccountStatusTO status = middlewareService.getAccountStatusById(ACCOUNT_ID);
+
+        // Then
+        assertEquals(AccountStatusTO.ENABLED, status);
+        verify(depositAccountService, never()).getAccountDetailsById(any(), any(), anyBoolean());
+    }
+
+    @Test
+    void getAccountStatusById_blocked() {
+        // Given
+        when(depositAccountService.isAccountEnabled(ACCOUNT_ID)).thenReturn(false);
+
+        // When
+        AccountStatusTO status = middlewareService.getAccountStatusById(ACCOUNT_ID);
+
+        // Then
+        assertEquals(AccountStatusTO.BLOCKED, status);
+    }
+
     @Test
     void getTransactionById() {
         // Given
@@ -247,6 +273,25 @@ class MiddlewareAccountManagementServiceImplTest {
         assertThat(result.get(0)).isEqualToComparingFieldByFieldRecursively(readYml(TransactionTO.class, "TransactionTO.yml"));
     }
 
+    @Test
+    void exportTransactionsByDates() {
+        // Given
+        LocalDate today = LocalDate.now();
+        TransactionDetailsBO transaction = readYml(TransactionDetailsBO.class, "TransactionBO.yml");
+        doAnswer(i -> {
+            i.<Consumer<TransactionDetailsBO>>getArgument(3).accept(transaction);
+            return null;
+        }).when(depositAccountService).exportTransactionsByDates(eq("ACCOUNT_ID"), eq(today.atStartOfDay()), eq(DateTimeUtils.getTimeAtEndOfTheDay(today)), any());
+        when(paymentConverter.toTransactionTO(transaction)).thenReturn(readYml(TransactionTO.class, "TransactionTO.yml"));
+        List<TransactionTO> exported = new ArrayList<>();
+
+        // When
+        middlewareService.exportTransactionsByDates("ACCOUNT_ID", null, null, exported::add);
+
+        // Then
+        assertEquals(1, exported.size());
+    }
+
     @Test
     void getTransactionsByDates_dateFromAndDateToAreNull() {
         // Given
@@ -6,7 +6,8 @@
 package de.adorsys.ledgers.postings.db.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import de.adorsys.ledgers.util.hash.HashItem;
+import de.adorsys.ledgers.util.hash.CanonicalHashItem;
+import de.adorsys.ledgers.util.hash.HashFieldWriter;
 import jakarta.persistence.MappedSuperclass;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -18,7 +19,7 @@ import lombok.Setter;
 @EqualsAndHashCode
 @NoArgsConstructor
 @MappedSuperclass
-public abstract class HashRecord  implements HashItem<HashRecord> {
+public abstract class HashRecord  implements CanonicalHashItem<HashRecord> {
 
     /* The antecedent identifier. Use for hash chaining */
     protected String antecedentId;
@@ -47,4 +48,17 @@ public abstract class HashRecord  implements HashItem<HashRecord> {
     public HashRecord getItem() {
         return this;
     }
+
+    @Override
+    public void writeHashFields(HashFieldWriter writer) {
+        writer.write(antecedentId)
+                .write(antecedentHash)
+                .write(hashAlg);
+        writeRecordFields(writer);
+    }
+
+    /*
+     * Writes the fields of the concrete record that are known when its hash is computed.
+     */
+    protected abstract void writeRecordFields(HashFieldWriter writer);
 }
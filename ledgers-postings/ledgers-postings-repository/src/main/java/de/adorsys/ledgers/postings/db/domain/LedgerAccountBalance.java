@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.postings.db.domain;
+
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters.LocalDateTimeConverter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Running balance of a ledger account.
+ * <p>
+ * Holds the cumulated debit and credit amounts of all non discarded posting lines
+ * of the account. The snapshot is maintained together with each posting, so the
+ * current balance of an account can be read without replaying its posting lines.
+ */
+@Getter
+@Setter
+@EqualsAndHashCode
+@NoArgsConstructor
+@Entity
+public class LedgerAccountBalance {
+
+    /* The id of the associated ledger account */
+    @Id
+    private String accountId;
+
+    /**
+     * The debit amount cummulated so far.
+     */
+    @Column(nullable = false)
+    private BigDecimal totalDebit = BigDecimal.ZERO;
+
+    /**
+     * The credit amount cummulated so far.
+     */
+    @Column(nullable = false)
+    private BigDecimal totalCredit = BigDecimal.ZERO;
+
+    /* Id of the youngest posting line by posting time. */
+    private String youngestLineId;
+
+    /* Operation id of the youngest posting line. */
+    private String youngestOprId;
+
+    /* Hash of the youngest posting line. */
+    private String youngestHash;
+
+    /* Posting time of the youngest posting line. */
+    @Convert(converter = LocalDateTimeConverter.class)
+    private LocalDateTime youngestPstTime;
+
+    @Version
+    private long version;
+
+    public LedgerAccountBalance(String accountId) {
+        this.accountId = accountId;
+    }
+
+    public void addLine(PostingLine line) {
+        totalDebit = totalDebit.add(line.getDebitAmount());
+        totalCredit = totalCredit.add(line.getCreditAmount());
+        refreshYoungest(line);
+    }
+
+    public void refreshYoungest(PostingLine line) {
+        if (youngestPstTime == null || youngestPstTime.isBefore(line.getPstTime())) {
+            youngestLineId = line.getId();
+            youngestOprId = line.getOprId();
+            youngestHash = line.getHash();
+            youngestPstTime = line.getPstTime();
+        }
+    }
+
+    public void removeLine(PostingLine line) {
+        totalDebit = totalDebit.subtract(line.getDebitAmount());
+        totalCredit = totalCredit.subtract(line.getCreditAmount());
+    }
+
+    public boolean isYoungest(PostingLine line) {
+        return line.getId() != null && line.getId().equals(youngestLineId);
+    }
+
+    public void resetYoungest() {
+        youngestLineId = null;
+        youngestOprId = null;
+        youngestHash = null;
+        youngestPstTime = null;
+    }
+}
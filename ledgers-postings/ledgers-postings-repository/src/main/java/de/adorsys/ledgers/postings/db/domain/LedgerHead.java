@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.postings.db.domain;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Version;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Head of the posting hash chain of a ledger.
+ * <p>
+ * Each new posting is chained to the head of its ledger and becomes the new head.
+ * The head row is locked while posting, so concurrent postings can not pick the same
+ * antecedent and fork the chain.
+ */
+@Getter
+@Setter
+@EqualsAndHashCode
+@NoArgsConstructor
+@Entity
+public class LedgerHead {
+
+    /* The id of the associated ledger */
+    @Id
+    private String ledgerId;
+
+    /* Id of the latest chained posting. */
+    private String headPostingId;
+
+    /* Hash of the latest chained posting. */
+    private String headHash;
+
+    @Version
+    private long version;
+
+    public LedgerHead(String ledgerId) {
+        this.ledgerId = ledgerId;
+    }
+
+    public void moveTo(Posting posting) {
+        headPostingId = posting.getId();
+        headHash = posting.getHash();
+    }
+}
@@ -10,6 +10,7 @@ import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
 import de.adorsys.ledgers.postings.db.utils.RecordHashHelper;
+import de.adorsys.ledgers.util.hash.HashFieldWriter;
 import de.adorsys.ledgers.util.hash.HashGenerationException;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -19,6 +20,7 @@ import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters.LocalDa
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -40,6 +42,7 @@ import java.util.List;
         @UniqueConstraint(columnNames = {"opr_id", "discarding_id"}, name = "Posting_opr_id_discarding_id_unique")})
 public class Posting extends HashRecord {
     private static final RecordHashHelper RECORD_HASH_HELPER = new RecordHashHelper();
+    private static final Comparator<PostingLine> LINE_ORDER = Comparator.comparing(PostingLine::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
 
     /* The record id */
     @Id
@@ -177,6 +180,31 @@ public class Posting extends HashRecord {
         return this;
     }
 
+    /*
+     * The discarding fields are left out, as they are set when a later posting discards this one.
+     * Lines are written ordered by id, their loading order is not defined.
+     */
+    @Override
+    protected void writeRecordFields(HashFieldWriter writer) {
+        writer.write(id)
+                .write(recordUser)
+                .write(recordTime)
+                .write(oprId)
+                .write(oprTime)
+                .write(oprType)
+                .write(oprSrc)
+                .write(pstTime)
+                .write(pstType)
+                .write(pstStatus)
+                .write(ledger == null ? null : ledger.getId())
+                .write(valTime)
+                .write(discardedId)
+                .writeCount(lines.size());
+        List<PostingLine> ordered = new ArrayList<>(lines);
+        ordered.sort(LINE_ORDER);
+        ordered.forEach(l -> l.writeHashFields(writer));
+    }
+
     public void synchLines() {
         lines.forEach(l -> l.synchPosting(this));
     }
@@ -6,6 +6,7 @@
 package de.adorsys.ledgers.postings.db.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import de.adorsys.ledgers.util.hash.HashFieldWriter;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -126,6 +127,19 @@ public class PostingLine {
     @Convert(converter = LocalDateTimeConverter.class)
     private LocalDateTime discardedTime;
 
+    /*
+     * Fields duplicated from the posting are covered by the posting itself. The base line is left out, as it is
+     * moved to the closing statement when a later period is closed.
+     */
+    void writeHashFields(HashFieldWriter writer) {
+        writer.write(id)
+                .write(account == null ? null : account.getId())
+                .write(debitAmount)
+                .write(creditAmount)
+                .write(srcAccount)
+                .write(subOprSrcId);
+    }
+
     public void synchPosting(Posting posting) {
         this.recordTime = posting.getRecordTime();
         this.oprId = posting.getOprId();
@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.postings.db.domain;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Debit and credit sums of a set of posting lines, computed by the database.
+ */
+public interface PostingLineAggregate {
+
+    BigDecimal getTotalDebit();
+
+    BigDecimal getTotalCredit();
+
+    /* Posting time of the youngest posting line, null if no line matched. */
+    LocalDateTime getYoungestPstTime();
+
+    /* Id of the youngest posting line, null if no line matched. */
+    String getYoungestLineId();
+
+    /* Number of posting lines summed up. */
+    long getLineCount();
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.postings.db.repository;
+
+import de.adorsys.ledgers.postings.db.domain.LedgerAccountBalance;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface LedgerAccountBalanceRepository extends CrudRepository<LedgerAccountBalance, String> {
+
+    /**
+     * Load the running balance of the given account and lock it until the end of the transaction.
+     *
+     * @param accountId ledger account id
+     * @return running balance wrapped with Optional
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from LedgerAccountBalance b where b.accountId = :accountId")
+    Optional<LedgerAccountBalance> findForUpdate(@Param("accountId") String accountId);
+}
@@ -7,8 +7,12 @@ package de.adorsys.ledgers.postings.db.repository;
 
 import de.adorsys.ledgers.postings.db.domain.Ledger;
 import de.adorsys.ledgers.postings.db.domain.LedgerAccount;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -21,4 +25,17 @@ public interface LedgerAccountRepository extends NamedEntityRepository<LedgerAcc
     //TODO Shall be removed in v2.5
     @Query(value = "select distinct a from  LedgerAccount a where a.ledger=?2 and a.name in ?1")
     List<LedgerAccount> getAccountsByIbans(Set<String> ibans, Ledger ledger);
+
+    @Query(value = "select a.id from LedgerAccount a where a.id > ?1 order by a.id")
+    List<String> findIdsAfter(String id, Pageable pageable);
+
+    /**
+     * Load the ledger account and lock it until the end of the transaction.
+     *
+     * @param id ledger account id
+     * @return ledger account wrapped with Optional
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from LedgerAccount a where a.id = :id")
+    Optional<LedgerAccount> findForUpdate(@Param("id") String id);
 }
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.postings.db.repository;
+
+import de.adorsys.ledgers.postings.db.domain.LedgerHead;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface LedgerHeadRepository extends CrudRepository<LedgerHead, String> {
+
+    /**
+     * Load the hash chain head of the given ledger and lock it until the end of the transaction.
+     *
+     * @param ledgerId ledger id
+     * @return ledger head wrapped with Optional
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select h from LedgerHead h where h.ledgerId = :ledgerId")
+    Optional<LedgerHead> findForUpdate(@Param("ledgerId") String ledgerId);
+
+    /**
+     * Load the hash chain head of the given ledger and lock it in shared mode until the end of the transaction.
+     *
+     * @param ledgerId ledger id
+     * @return ledger head wrapped with Optional
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select h from LedgerHead h where h.ledgerId = :ledgerId")
+    Optional<LedgerHead> findForShare(@Param("ledgerId") String ledgerId);
+}
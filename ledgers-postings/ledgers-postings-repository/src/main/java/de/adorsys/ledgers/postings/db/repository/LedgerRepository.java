@@ -7,7 +7,11 @@ package de.adorsys.ledgers.postings.db.repository;
 
 import de.adorsys.ledgers.postings.db.domain.ChartOfAccount;
 import de.adorsys.ledgers.postings.db.domain.Ledger;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -28,4 +32,14 @@ public interface LedgerRepository extends NamedEntityRepository<Ledger>, CrudRep
 	 * @return list of ledgers
 	 */
 	List<Ledger> findByCoa(ChartOfAccount coa);
+
+	/**
+	 * Load the ledger and lock it until the end of the transaction.
+	 *
+	 * @param id ledger id
+	 * @return ledger wrapped with Optional
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select l from Ledger l where l.id = :id")
+	Optional<Ledger> findForUpdate(@Param("id") String id);
 }
@@ -7,22 +7,35 @@ package de.adorsys.ledgers.postings.db.repository;
 
 import de.adorsys.ledgers.postings.db.domain.LedgerAccount;
 import de.adorsys.ledgers.postings.db.domain.PostingLine;
+import de.adorsys.ledgers.postings.db.domain.PostingLineAggregate;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface PostingLineRepository extends PagingAndSortingRepository<PostingLine, String> {
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+public interface PostingLineRepository extends PagingAndSortingRepository<PostingLine, String>, CrudRepository<PostingLine, String> {
 
     List<PostingLine> findByBaseLineAndPstTimeLessThanEqualAndDiscardedTimeIsNullOrderByRecordTimeDesc(String baseLine, LocalDateTime refTime);
 
     List<PostingLine> findByAccountAndPstTimeLessThanEqualAndDiscardedTimeIsNullOrderByRecordTimeDesc(LedgerAccount account, LocalDateTime refTime);
 
+    Optional<PostingLine> findFirstByAccountAndDiscardedTimeIsNullOrderByPstTimeDesc(LedgerAccount account);
+
+    Optional<PostingLine> findFirstByAccountAndPstTimeLessThanEqualAndDiscardedTimeIsNullOrderByPstTimeDesc(LedgerAccount account, LocalDateTime refTime);
+
     @Query("select pl from PostingLine pl join fetch pl.details " +
                    "where pl.account = :account and pl.pstTime > :fromDt and pl.pstTime <= :toDt and pl.discardedTime is null " +
                    "order by pl.pstTime desc")
@@ -33,5 +46,73 @@ public interface PostingLineRepository extends PagingAndSortingRepository<Postin
                    "order by pl.pstTime desc")
     Page<PostingLine> findPostingsByAccountAndDates(@Param("account") LedgerAccount ledgerAccount, @Param("fromDt") LocalDateTime timeFrom, @Param("toDt") LocalDateTime timeTo, Pageable pageable);
 
+    /**
+     * Streams the posting lines of an account within the given period, youngest first.
+     * The stream holds an open cursor and must be consumed and closed within a transaction.
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("select pl from PostingLine pl join fetch pl.details " +
+                   "where pl.account = :account and pl.pstTime > :fromDt and pl.pstTime <= :toDt and pl.discardedTime is null " +
+                   "order by pl.pstTime desc")
+    Stream<PostingLine> streamByAccountAndDates(@Param("account") LedgerAccount ledgerAccount, @Param("fromDt") LocalDateTime timeFrom, @Param("toDt") LocalDateTime timeTo);
+
     Optional<PostingLine> findFirstByIdAndAccount(String transactionId, LedgerAccount ledgerAccount);
+
+    /**
+     * Sum up all non discarded posting lines of the account.
+     *
+     * @param account ledger account
+     * @return debit and credit sums with the youngest posting line
+     */
+    @Query("select coalesce(sum(pl.debitAmount), 0) as totalDebit, coalesce(sum(pl.creditAmount), 0) as totalCredit, " +
+                   "max(pl.pstTime) as youngestPstTime, count(pl) as lineCount, " +
+                   "(select max(y.id) from PostingLine y where y.account = :account and y.discardedTime is null and y.pstTime = " +
+                   "(select max(m.pstTime) from PostingLine m where m.account = :account and m.discardedTime is null)) as youngestLineId " +
+                   "from PostingLine pl where pl.account = :account and pl.discardedTime is null")
+    PostingLineAggregate aggregate(@Param("account") LedgerAccount account);
+
+    /**
+     * Sum up the non discarded posting lines of the account posted up to the reference time.
+     *
+     * @param account ledger account
+     * @param refTime reference time
+     * @return debit and credit sums with the youngest posting line
+     */
+    @Query("select coalesce(sum(pl.debitAmount), 0) as totalDebit, coalesce(sum(pl.creditAmount), 0) as totalCredit, " +
+                   "max(pl.pstTime) as youngestPstTime, count(pl) as lineCount, " +
+                   "(select max(y.id) from PostingLine y where y.account = :account and y.discardedTime is null and y.pstTime = " +
+                   "(select max(m.pstTime) from PostingLine m where m.account = :account and m.discardedTime is null and m.pstTime <= :refTime)) as youngestLineId " +
+                   "from PostingLine pl where pl.account = :account and pl.discardedTime is null and pl.pstTime <= :refTime")
+    PostingLineAggregate aggregateUntil(@Param("account") LedgerAccount account, @Param("refTime") LocalDateTime refTime);
+
+    /**
+     * Sum up the non discarded posting lines of the account posted after the from time and up to the to time.
+     *
+     * @param account ledger account
+     * @param fromDt  exclusive lower bound of the posting time
+     * @param toDt    inclusive upper bound of the posting time
+     * @return debit and credit sums with the youngest posting line
+     */
+    @Query("select coalesce(sum(pl.debitAmount), 0) as totalDebit, coalesce(sum(pl.creditAmount), 0) as totalCredit, " +
+                   "max(pl.pstTime) as youngestPstTime, count(pl) as lineCount, " +
+                   "(select max(y.id) from PostingLine y where y.account = :account and y.discardedTime is null and y.pstTime = " +
+                   "(select max(m.pstTime) from PostingLine m where m.account = :account and m.discardedTime is null and m.pstTime > :fromDt and m.pstTime <= :toDt)) as youngestLineId " +
+                   "from PostingLine pl where pl.account = :account and pl.discardedTime is null and pl.pstTime > :fromDt and pl.pstTime <= :toDt")
+    PostingLineAggregate aggregateBetween(@Param("account") LedgerAccount account, @Param("fromDt") LocalDateTime fromDt, @Param("toDt") LocalDateTime toDt);
+
+    boolean existsByAccountAndPstTimeGreaterThanAndPstTimeLessThanEqual(LedgerAccount account, LocalDateTime fromDt, LocalDateTime toDt);
+
+    boolean existsByAccountAndPstTimeLessThanEqual(LedgerAccount account, LocalDateTime refTime);
+
+    /**
+     * Attach all posting lines of the account posted after the closing time to the given closing statement.
+     *
+     * @param account     ledger account
+     * @param closingTime posting time of the closing statement
+     * @param baseLine    id of the closing statement
+     * @return number of updated posting lines
+     */
+    @Modifying
+    @Query("update PostingLine pl set pl.baseLine = :baseLine where pl.account = :account and pl.pstTime > :closingTime")
+    int updateBaseLine(@Param("account") LedgerAccount account, @Param("closingTime") LocalDateTime closingTime, @Param("baseLine") String baseLine);
 }
@@ -7,11 +7,20 @@ package de.adorsys.ledgers.postings.db.repository;
 
 import de.adorsys.ledgers.postings.db.domain.Ledger;
 import de.adorsys.ledgers.postings.db.domain.Posting;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface PostingRepository extends PagingAndSortingRepository<Posting, String>, CrudRepository<Posting, String> {
     /**
@@ -22,7 +31,17 @@ public interface PostingRepository extends PagingAndSortingRepository<Posting, S
      */
     Optional<Posting> findByOprIdAndDiscardingIdIsNull(String oprId);
 
+    List<Posting> findByOprIdInAndDiscardingIdIsNull(Collection<String> oprIds);
+
     List<Posting> findByOprId(String oprId);
 
     Optional<Posting> findFirstByLedgerOrderByRecordTimeDesc(Ledger ledger);
+
+    /**
+     * Streams the postings of a ledger with their lines, oldest first.
+     * The stream holds an open cursor and must be consumed and closed within a transaction.
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("select p from Posting p left join fetch p.lines where p.ledger = :ledger order by p.recordTime, p.id")
+    Stream<Posting> streamByLedger(@Param("ledger") Ledger ledger);
 }
@@ -7,13 +7,14 @@ package de.adorsys.ledgers.postings.db.utils;
 
 import de.adorsys.ledgers.postings.db.domain.HashRecord;
 import de.adorsys.ledgers.util.hash.HashGenerationException;
+import de.adorsys.ledgers.util.hash.HashGenerator;
 import de.adorsys.ledgers.util.hash.HashGeneratorImpl;
 
 public class RecordHashHelper {
 
     private static final String POSTING_CONTAINS_A_RECORD_HASH = "Posting contains a record hash. Set record hash to null before calling this method";
     private static final String MISSING_RECORD_ANTECEDANT = "Missing record antecedant hash. Must be set to hash of %s prior saving.";
-    private static final String DEFAULT_HASH_ALG = "SHA-256";
+    private static final HashGenerator HASH_GENERATOR = new HashGeneratorImpl();
 
     public String computeRecHash(HashRecord hashRecord) throws HashGenerationException {
         if (hashRecord.getAntecedentId() != null && hashRecord.getAntecedentHash() == null) {
@@ -23,12 +24,11 @@ public class RecordHashHelper {
         if (hashRecord.getHash() != null) {
             throw new IllegalStateException(POSTING_CONTAINS_A_RECORD_HASH);
         }
-        // Check hash algo
+        // Check hash algo. Records hashed before keep their algorithm and stay verifiable.
         if (hashRecord.getHashAlg() == null) {
-            hashRecord.setHashAlg(DEFAULT_HASH_ALG);
+            hashRecord.setHashAlg(HashGenerator.CANONICAL_HASH_ALG);
         }
 
-        // Get string value including hash
-        return new HashGeneratorImpl().hash(hashRecord);
+        return HASH_GENERATOR.hash(hashRecord);
     }
 }
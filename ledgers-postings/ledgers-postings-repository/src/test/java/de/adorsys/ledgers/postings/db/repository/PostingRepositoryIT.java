@@ -17,6 +17,7 @@ import de.adorsys.ledgers.postings.db.tests.PostingRepositoryApplication;
 import de.adorsys.ledgers.postings.db.utils.RecordHashHelper;
 import de.adorsys.ledgers.util.Ids;
 import de.adorsys.ledgers.util.hash.HashGenerationException;
+import de.adorsys.ledgers.util.hash.HashGenerator;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -124,6 +125,7 @@ class PostingRepositoryIT {
         String computedRecHash = recordHashHelper.computeRecHash(found);
 
         // Then
+        assertEquals(HashGenerator.CANONICAL_HASH_ALG, found.getHashAlg());
         assertEquals(recHash, computedRecHash);
     }
 }
@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.postings.api.domain;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Result of the verification of the posting hash chain of one ledger.
+ */
+@Data
+public class LedgerIntegrityReportBO {
+    private String ledgerId;
+    private String ledgerName;
+    private boolean intact;
+    /* First broken posting in record time order, null if the chain is intact. */
+    private String brokenPostingId;
+    private LedgerIntegrityViolationBO violation;
+    private long verifiedPostings;
+    private double postingsPerSecond;
+    private LocalDateTime started;
+    private LocalDateTime finished;
+}
@@ -0,0 +1,15 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.postings.api.domain;
+
+public enum LedgerIntegrityViolationBO {
+    /* The recomputed hash of the posting differs from the stored one. */
+    HASH_MISMATCH,
+    /* The antecedent of the posting is missing, has another hash or is the antecedent of another posting as well. */
+    BROKEN_LINK,
+    /* The ledger head does not point to the last posting of the chain. */
+    HEAD_MISMATCH
+}
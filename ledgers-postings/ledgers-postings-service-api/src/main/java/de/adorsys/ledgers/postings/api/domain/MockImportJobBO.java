@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.postings.api.domain;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Progress of an asynchronous import of mocked postings.
+ */
+@Data
+public class MockImportJobBO {
+    private String id;
+    private MockImportStatusBO status;
+    /* Number of postings handed over for import. */
+    private int total;
+    private int imported;
+    private int failed;
+    /* Errors of the failed chunks. */
+    private List<String> errors;
+    private LocalDateTime started;
+    private LocalDateTime finished;
+}
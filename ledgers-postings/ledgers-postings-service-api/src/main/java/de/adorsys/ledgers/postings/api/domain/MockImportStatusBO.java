@@ -0,0 +1,12 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.postings.api.domain;
+
+public enum MockImportStatusBO {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -9,6 +9,7 @@ import de.adorsys.ledgers.postings.api.domain.AccountStmtBO;
 import de.adorsys.ledgers.postings.api.domain.LedgerAccountBO;
 
 import java.time.LocalDateTime;
+import java.util.Optional;
 
 public interface AccountStmtService {
 
@@ -39,4 +40,15 @@ public interface AccountStmtService {
      */
     AccountStmtBO closeStmt(AccountStmtBO stmt);
 
+    /**
+     * Close the statement of the given account at the given closing time. Nothing is closed if the account
+     * already has a closed statement at or after the closing time, or if no posting line was booked since
+     * its last closing.
+     *
+     * @param ledgerAccount
+     * @param closingTime
+     * @return the closed statement or an empty Optional
+     */
+    Optional<AccountStmtBO> closePeriod(LedgerAccountBO ledgerAccount, LocalDateTime closingTime);
+
 }
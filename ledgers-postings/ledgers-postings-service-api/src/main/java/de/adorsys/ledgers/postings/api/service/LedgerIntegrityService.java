@@ -0,0 +1,21 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.postings.api.service;
+
+import de.adorsys.ledgers.postings.api.domain.LedgerIntegrityReportBO;
+
+import java.util.List;
+
+public interface LedgerIntegrityService {
+
+    /**
+     * Recomputes the hashes of all postings and checks that they form one chain per ledger ending at the ledger head.
+     * Verification of a ledger stops at its first broken posting.
+     *
+     * @return one report per ledger
+     */
+    List<LedgerIntegrityReportBO> verifyLedgers();
+}
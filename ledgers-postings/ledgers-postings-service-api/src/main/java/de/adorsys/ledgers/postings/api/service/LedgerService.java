@@ -64,4 +64,9 @@ public interface LedgerService {
     boolean checkIfLedgerAccountExist(LedgerBO ledger, String name);
 
     Map<String, LedgerAccountBO> finLedgerAccountsByIbans(Set<String> ibans, LedgerBO ledger);
+
+    /**
+     * Drop all cached ledgers and ledger accounts, e.g. after they were deleted outside of this service.
+     */
+    void evictMetadataCache();
 }
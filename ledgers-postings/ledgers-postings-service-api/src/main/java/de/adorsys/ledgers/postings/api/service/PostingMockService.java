@@ -5,10 +5,26 @@
 
 package de.adorsys.ledgers.postings.api.service;
 
+import de.adorsys.ledgers.postings.api.domain.MockImportJobBO;
 import de.adorsys.ledgers.postings.api.domain.PostingBO;
 
 import java.util.List;
 
 public interface PostingMockService {
-    void addPostingsAsBatch(List<PostingBO> postings);
+
+    /**
+     * Validates the given postings and stores them asynchronously in chunks.
+     *
+     * @param postings mocked postings
+     * @return id of the import job
+     */
+    String addPostingsAsBatch(List<PostingBO> postings);
+
+    /**
+     * Reads the progress of an import started by {@link #addPostingsAsBatch(List)}.
+     *
+     * @param jobId id of the import job
+     * @return import job
+     */
+    MockImportJobBO getImportJob(String jobId);
 }
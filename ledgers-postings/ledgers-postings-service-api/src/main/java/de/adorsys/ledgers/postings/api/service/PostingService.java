@@ -13,6 +13,7 @@ import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface PostingService {
 
@@ -28,6 +29,17 @@ public interface PostingService {
      */
     PostingBO newPosting(PostingBO posting);
 
+    /**
+     * Creates new Postings in a single transaction.
+     * <p>
+     * Same rules as for {@link #newPosting(PostingBO)} apply to each posting. Postings are chained
+     * to their ledger in the given order, ledgers and ledger accounts are only loaded once per batch.
+     *
+     * @param postings postings to store
+     * @return stored postings in the given order
+     */
+    List<PostingBO> newPostings(List<PostingBO> postings);
+
     /**
      * Listing all postings associated with this operation id.
      *
@@ -38,6 +50,17 @@ public interface PostingService {
 
     List<PostingLineBO> findPostingsByDates(LedgerAccountBO ledgerAccount, LocalDateTime dateFrom, LocalDateTime dateTo);
 
+    /**
+     * Passes the posting lines of an account within the given period to the consumer one by one,
+     * without loading the whole period into memory.
+     *
+     * @param ledgerAccount the ledger account
+     * @param dateFrom      start of the period, exclusive
+     * @param dateTo        end of the period, inclusive
+     * @param consumer      receives the posting lines, youngest first
+     */
+    void exportPostingsByDates(LedgerAccountBO ledgerAccount, LocalDateTime dateFrom, LocalDateTime dateTo, Consumer<PostingLineBO> consumer);
+
     Page<PostingLineBO> findPostingsByDatesPaged(LedgerAccountBO ledgerAccount, LocalDateTime dateFrom, LocalDateTime dateTo, Pageable pageable);
 
     PostingLineBO findPostingLineById(LedgerAccountBO ledgerAccount, String transactionId);
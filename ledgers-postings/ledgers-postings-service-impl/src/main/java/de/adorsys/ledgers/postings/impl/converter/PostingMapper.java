@@ -28,4 +28,6 @@ public interface PostingMapper {
     OperationDetails toOperationDetails(String operationDetails);
 
     List<Posting> toPostingList(List<PostingBO> postingsBO);
+
+    List<PostingBO> toPostingBOList(List<Posting> postings);
 }
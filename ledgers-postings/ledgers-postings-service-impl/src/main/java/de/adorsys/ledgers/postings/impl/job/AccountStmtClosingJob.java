@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.postings.impl.job;
+
+import de.adorsys.ledgers.postings.api.domain.LedgerAccountBO;
+import de.adorsys.ledgers.postings.api.service.AccountStmtService;
+import de.adorsys.ledgers.postings.db.repository.LedgerAccountRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Periodically closes the statements of all ledger accounts, so that balance computation only has to
+ * replay posting lines booked since the last closing.
+ * <p>
+ * Accounts are processed in batches ordered by id, each account in its own transaction. Accounts already
+ * closed at the closing time are skipped, so an interrupted run is simply resumed by the next one.
+ */
+@Slf4j
+@Component
+public class AccountStmtClosingJob {
+    private final AccountStmtService accountStmtService;
+    private final LedgerAccountRepository ledgerAccountRepository;
+
+    @Value("${ledgers.stmtClosing.period:DAY}")
+    private ClosingPeriod period;
+    @Value("${ledgers.stmtClosing.batchSize:100}")
+    private int batchSize;
+    @Value("${ledgers.stmtClosing.threads:4}")
+    private int threads;
+
+    public AccountStmtClosingJob(AccountStmtService accountStmtService, LedgerAccountRepository ledgerAccountRepository) {
+        this.accountStmtService = accountStmtService;
+        this.ledgerAccountRepository = ledgerAccountRepository;
+    }
+
+    @Scheduled(cron = "${ledgers.stmtClosing.cron:-}")
+    public void closeStatements() {
+        closeStatements(period.closingTime(LocalDate.now()));
+    }
+
+    public void closeStatements(LocalDateTime closingTime) {
+        log.info("Start closing account statements at {}", closingTime);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            String lastId = "";
+            List<String> accountIds;
+            do {
+                accountIds = ledgerAccountRepository.findIdsAfter(lastId, PageRequest.of(0, batchSize));
+                CompletableFuture.allOf(accountIds.stream()
+                                                .map(id -> CompletableFuture.runAsync(() -> closeStatement(id, closingTime), executor))
+                                                .toArray(CompletableFuture[]::new))
+                        .join();
+                if (!accountIds.isEmpty()) {
+                    lastId = accountIds.get(accountIds.size() - 1);
+                }
+            } while (accountIds.size() == batchSize);
+        } finally {
+            executor.shutdown();
+        }
+        log.info("End closing account statements at {}", closingTime);
+    }
+
+    private void closeStatement(String accountId, LocalDateTime closingTime) {
+        LedgerAccountBO account = new LedgerAccountBO();
+        account.setId(accountId);
+        try {
+            accountStmtService.closePeriod(account, closingTime)
+                    .ifPresent(stmt -> log.debug("Closed statement {} of ledger account {}", stmt.getId(), accountId));
+        } catch (RuntimeException e) {
+            log.error("Could not close statement of ledger account {}: {}", accountId, e.getMessage());
+        }
+    }
+
+    public enum ClosingPeriod {
+        DAY, MONTH;
+
+        LocalDateTime closingTime(LocalDate today) {
+            return this == MONTH
+                           ? today.withDayOfMonth(1).atStartOfDay()
+                           : today.atStartOfDay();
+        }
+    }
+}
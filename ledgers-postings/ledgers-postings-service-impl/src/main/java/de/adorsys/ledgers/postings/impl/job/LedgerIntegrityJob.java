@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.postings.impl.job;
+
+import de.adorsys.ledgers.postings.api.domain.LedgerIntegrityReportBO;
+import de.adorsys.ledgers.postings.api.service.LedgerIntegrityService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically verifies the posting hash chains of all ledgers. Disabled unless a cron is configured,
+ * as a run reads all postings.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LedgerIntegrityJob {
+    private final LedgerIntegrityService ledgerIntegrityService;
+
+    @Scheduled(cron = "${ledgers.integrity.cron:-}")
+    public void verifyLedgers() {
+        for (LedgerIntegrityReportBO report : ledgerIntegrityService.verifyLedgers()) {
+            if (!report.isIntact()) {
+                log.error("Hash chain of ledger {} is broken at posting {}: {}", report.getLedgerName(), report.getBrokenPostingId(), report.getViolation());
+            }
+        }
+    }
+}
@@ -12,64 +12,210 @@ import de.adorsys.ledgers.postings.db.domain.*;
 import de.adorsys.ledgers.postings.db.repository.*;
 import de.adorsys.ledgers.postings.impl.converter.AccountStmtMapper;
 import de.adorsys.ledgers.util.Ids;
+import de.adorsys.ledgers.util.exception.PostingModuleException;
+import io.micrometer.core.instrument.Metrics;
 import org.mapstruct.factory.Mappers;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.Optional;
+
+import static de.adorsys.ledgers.util.exception.PostingErrorCode.BASE_LINE_TIME_ERROR;
 
 @Service
 public class AccountStmtServiceImpl extends AbstractServiceImpl implements AccountStmtService {
+    private static final String CLOSING_TIME_ERROR_MSG = "closing time %s is not after the last closing %s";
+    private static final String METRIC_PREFIX = "ledgers.stmt.";
+    private static final String SOURCE_TAG = "source";
+
     private final AccountStmtRepository accountStmtRepository;
     private final PostingLineRepository postingLineRepository;
+    private final PostingTraceRepository postingTraceRepository;
+    private final LedgerAccountBalanceService ledgerAccountBalanceService;
+    private final LedgerHeadService ledgerHeadService;
     private final AccountStmtMapper accountStmtMapper = Mappers.getMapper(AccountStmtMapper.class);
 
-    public AccountStmtServiceImpl(LedgerAccountRepository ledgerAccountRepository, ChartOfAccountRepository chartOfAccountRepo, LedgerRepository ledgerRepository, AccountStmtRepository accountStmtRepository, PostingLineRepository postingLineRepository) {
+    public AccountStmtServiceImpl(LedgerAccountRepository ledgerAccountRepository, ChartOfAccountRepository chartOfAccountRepo, LedgerRepository ledgerRepository, AccountStmtRepository accountStmtRepository, PostingLineRepository postingLineRepository, PostingTraceRepository postingTraceRepository, LedgerAccountBalanceService ledgerAccountBalanceService, LedgerHeadService ledgerHeadService) {
         super(ledgerAccountRepository, chartOfAccountRepo, ledgerRepository);
         this.accountStmtRepository = accountStmtRepository;
         this.postingLineRepository = postingLineRepository;
+        this.postingTraceRepository = postingTraceRepository;
+        this.ledgerAccountBalanceService = ledgerAccountBalanceService;
+        this.ledgerHeadService = ledgerHeadService;
     }
 
     @Override
     @Transactional(readOnly = true)
     public AccountStmtBO readStmt(LedgerAccountBO ledgerAccount, LocalDateTime refTime) {
-        AccountStmt stmt = stmt(ledgerAccount, refTime);
-        return accountStmtMapper.toAccountStmtBO(stmt);
+        return Metrics.timer(METRIC_PREFIX + "read").record(() -> {
+            AccountStmt stmt = stmt(loadLedgerAccountBO(ledgerAccount), refTime);
+            return accountStmtMapper.toAccountStmtBO(stmt);
+        });
     }
 
     @Override
     public AccountStmtBO createStmt(LedgerAccountBO ledgerAccount, LocalDateTime refTime) {
-        AccountStmt stmt = stmt(ledgerAccount, refTime);
+        AccountStmt stmt = stmt(loadLedgerAccountBO(ledgerAccount), refTime);
         stmt = accountStmtRepository.save(stmt);
         return accountStmtMapper.toAccountStmtBO(stmt);
     }
 
     @Override
+    @Transactional
     public AccountStmtBO closeStmt(AccountStmtBO stmt) {
-        //Auto-generated method stub
-        return null;
+        LedgerAccount account = loadLedgerAccountBO(stmt.getAccount());
+        ledgerHeadService.lock(account.getLedger());
+        accountStmtRepository.findFirstByAccountAndStmtStatusAndPstTimeGreaterThanEqual(account, StmtStatus.CLOSED, stmt.getPstTime())
+                .ifPresent(closed -> {
+                    throw PostingModuleException.builder()
+                                  .errorCode(BASE_LINE_TIME_ERROR)
+                                  .devMsg(String.format(CLOSING_TIME_ERROR_MSG, stmt.getPstTime(), closed.getPstTime()))
+                                  .build();
+                });
+        return accountStmtMapper.toAccountStmtBO(close(account, stmt.getPstTime()));
     }
 
-    private AccountStmt stmt(LedgerAccountBO ledgerAccount, LocalDateTime refTime) {
+    @Override
+    @Transactional
+    public Optional<AccountStmtBO> closePeriod(LedgerAccountBO ledgerAccount, LocalDateTime closingTime) {
         LedgerAccount account = loadLedgerAccountBO(ledgerAccount);
-        AccountStmt accStmt = accountStmtRepository
-                                      .findFirstByAccountAndStmtStatusAndPstTimeLessThanOrderByPstTimeDescStmtSeqNbrDesc(account, StmtStatus.CLOSED, refTime)
-                                      .orElseGet(() -> newStmtObj(refTime, account));
+        ledgerHeadService.lock(account.getLedger());
+        if (accountStmtRepository.findFirstByAccountAndStmtStatusAndPstTimeGreaterThanEqual(account, StmtStatus.CLOSED, closingTime).isPresent()) {
+            return Optional.empty();
+        }
+        boolean booked = findBaseLine(account, closingTime)
+                                 .map(last -> postingLineRepository.existsByAccountAndPstTimeGreaterThanAndPstTimeLessThanEqual(account, last.getPstTime(), closingTime))
+                                 .orElseGet(() -> postingLineRepository.existsByAccountAndPstTimeLessThanEqual(account, closingTime));
+        if (!booked) {
+            return Optional.empty();
+        }
+        return Optional.of(accountStmtMapper.toAccountStmtBO(close(account, closingTime)));
+    }
 
+    /*
+     * Stores the statement at closing time as closed and makes it the base line of all
+     * posting lines of the account booked after the closing time. Callers hold the lock on
+     * the ledger head, so no posting of the account is stored concurrently.
+     */
+    private AccountStmt close(LedgerAccount account, LocalDateTime closingTime) {
+        AccountStmt stmt = stmt(account, closingTime);
+        stmt.setStmtStatus(StmtStatus.CLOSED);
+        saveTraces(stmt);
+        AccountStmt closed = accountStmtRepository.save(stmt);
+        postingLineRepository.updateBaseLine(account, closingTime, closed.getId());
+        return closed;
+    }
 
-        // Load all posting associated with this base line.
-        List<PostingLine> postingLines = accStmt.getPosting() == null
-                                                 ? postingLineRepository.findByAccountAndPstTimeLessThanEqualAndDiscardedTimeIsNullOrderByRecordTimeDesc(account, refTime)
-                                                 : postingLineRepository.findByBaseLineAndPstTimeLessThanEqualAndDiscardedTimeIsNullOrderByRecordTimeDesc(accStmt.getId(), refTime);
+    private void saveTraces(AccountStmt stmt) {
+        PostingTrace youngest = stmt.getYoungestPst();
+        PostingTrace latest = stmt.getLatestPst();
+        if (youngest != null) {
+            stmt.setYoungestPst(postingTraceRepository.save(youngest));
+        }
+        if (latest == null) {
+            return;
+        }
+        // A statement traces each source operation only once.
+        boolean sameOperation = youngest != null && latest.getSrcOprId().equals(youngest.getSrcOprId());
+        stmt.setLatestPst(sameOperation
+                                  ? stmt.getYoungestPst()
+                                  : postingTraceRepository.save(latest));
+    }
+
+    private AccountStmt stmt(LedgerAccount account, LocalDateTime refTime) {
+        Optional<LedgerAccountBalance> balance = ledgerAccountBalanceService.findBalance(account.getId());
+        if (balance.isPresent() && isCurrent(balance.get(), refTime)) {
+            return currentStmt(account, balance.get(), refTime);
+        }
+        Optional<AccountStmt> baseLine = findBaseLine(account, refTime);
+        if (baseLine.isEmpty() && balance.isPresent()) {
+            return historicalStmt(account, balance.get(), refTime);
+        }
+        return replayStmt(account, baseLine.orElse(null), refTime);
+    }
 
-        return computeBalance(accStmt, postingLines);
+    private Optional<AccountStmt> findBaseLine(LedgerAccount account, LocalDateTime refTime) {
+        return accountStmtRepository
+                       .findFirstByAccountAndStmtStatusAndPstTimeLessThanOrderByPstTimeDescStmtSeqNbrDesc(account, StmtStatus.CLOSED, refTime);
+    }
+
+    private boolean isCurrent(LedgerAccountBalance balance, LocalDateTime refTime) {
+        return balance.getYoungestPstTime() == null || !refTime.isBefore(balance.getYoungestPstTime());
+    }
+
+    /*
+     * The running balance covers all non discarded posting lines of the account.
+     */
+    private AccountStmt currentStmt(LedgerAccount account, LedgerAccountBalance balance, LocalDateTime refTime) {
+        AccountStmt stmt = newStmtObj(refTime, account);
+        recordScannedLines("balance", 0);
+        stmt.setTotalDebit(balance.getTotalDebit());
+        stmt.setTotalCredit(balance.getTotalCredit());
+        if (balance.getYoungestPstTime() != null) {
+            setYoungestPst(stmt, createPostingTrace(stmt, balance));
+        }
+        return stmt;
+    }
+
+    /*
+     * Without a closed statement before the reference time, lines posted after the reference time
+     * are taken back from the running balance.
+     */
+    private AccountStmt historicalStmt(LedgerAccount account, LedgerAccountBalance balance, LocalDateTime refTime) {
+        AccountStmt stmt = newStmtObj(refTime, account);
+        PostingLineAggregate delta = postingLineRepository.aggregateBetween(account, refTime, balance.getYoungestPstTime());
+        recordScannedLines("history", delta.getLineCount());
+        stmt.setTotalDebit(balance.getTotalDebit().subtract(delta.getTotalDebit()));
+        stmt.setTotalCredit(balance.getTotalCredit().subtract(delta.getTotalCredit()));
+        postingLineRepository.findFirstByAccountAndPstTimeLessThanEqualAndDiscardedTimeIsNullOrderByPstTimeDesc(account, refTime)
+                .ifPresent(line -> setYoungestPst(stmt, createPostingTrace(stmt, line)));
+        return stmt;
+    }
+
+    /*
+     * Starts from the last closed statement and only sums up posting lines booked on top of it.
+     */
+    private AccountStmt replayStmt(LedgerAccount account, AccountStmt baseLine, LocalDateTime refTime) {
+        AccountStmt accStmt = newStmtObj(refTime, account);
+        PostingLineAggregate aggregate;
+        if (baseLine == null) {
+            aggregate = postingLineRepository.aggregateUntil(account, refTime);
+        } else {
+            accStmt.setTotalDebit(baseLine.getTotalDebit());
+            accStmt.setTotalCredit(baseLine.getTotalCredit());
+            if (baseLine.getYoungestPst() != null) {
+                setYoungestPst(accStmt, copyPostingTrace(accStmt, baseLine.getYoungestPst()));
+            }
+            aggregate = postingLineRepository.aggregateBetween(account, baseLine.getPstTime(), refTime);
+        }
+        recordScannedLines(baseLine == null ? "all" : "closing", aggregate.getLineCount());
+        accStmt.setTotalDebit(accStmt.getTotalDebit().add(aggregate.getTotalDebit()));
+        accStmt.setTotalCredit(accStmt.getTotalCredit().add(aggregate.getTotalCredit()));
+        if (aggregate.getYoungestLineId() != null) {
+            postingLineRepository.findById(aggregate.getYoungestLineId())
+                    .ifPresent(line -> setYoungestPst(accStmt, createPostingTrace(accStmt, line)));
+        }
+        return accStmt;
+    }
+
+    /*
+     * Lines summed up per statement, tagged by the statement source: the running balance (balance), the running
+     * balance with later lines taken back (history), a closed statement (closing) or all lines of the account (all).
+     */
+    private void recordScannedLines(String source, long lineCount) {
+        Metrics.summary(METRIC_PREFIX + "lines.scanned", SOURCE_TAG, source).record(lineCount);
+    }
+
+    private void setYoungestPst(AccountStmt stmt, PostingTrace youngest) {
+        stmt.setYoungestPst(youngest);
+        stmt.setLatestPst(youngest);
     }
 
     private AccountStmt newStmtObj(LocalDateTime refTime, LedgerAccount account) {
         AccountStmt accStmt = new AccountStmt();
-        accStmt.setId(Ids.id());
+        accStmt.setId(AccountStmt.makeId(account, refTime, 0));
         accStmt.setAccount(account);
         accStmt.setPstTime(refTime);
         accStmt.setStmtSeqNbr(0);
@@ -79,37 +225,45 @@ public class AccountStmtServiceImpl extends AbstractServiceImpl implements Accou
         return accStmt;
     }
 
-    private AccountStmt computeBalance(AccountStmt stmt, List<PostingLine> lines) {
-        if (!lines.isEmpty()) {
-            for (PostingLine line : lines) {
-                refreshStatement(stmt, line);
-            }
-        }
-        return stmt;
-    }
-
-    private void refreshStatement(AccountStmt stmt, PostingLine line) {
-        PostingTrace p = createPostingTrace(stmt, line);// Match statement and corresponding posting.
-
-        if (stmt.getYoungestPst() == null
-                    || stmt.getYoungestPst().getSrcPstTime().isBefore(p.getSrcPstTime())) {
-            stmt.setYoungestPst(p);
-        }
-        stmt.setLatestPst(p);
-        stmt.setTotalDebit(stmt.getTotalDebit().add(line.getDebitAmount()));
-        stmt.setTotalCredit(stmt.getTotalCredit().add(line.getCreditAmount()));
-    }
-
     private PostingTrace createPostingTrace(AccountStmt stmt, PostingLine line) {
         PostingTrace p = new PostingTrace();
         p.setAccount(stmt.getAccount());
         p.setCreditAmount(line.getCreditAmount());
         p.setDebitAmount(line.getDebitAmount());
         p.setId(Ids.id());
+        p.setSrcPstId(line.getId());
         p.setSrcOprId(line.getOprId());
         p.setSrcPstHash(line.getHash());
         p.setSrcPstTime(line.getPstTime());
         p.setTgtPstId(stmt.getId());
         return p;
     }
+
+    private PostingTrace createPostingTrace(AccountStmt stmt, LedgerAccountBalance balance) {
+        PostingTrace p = new PostingTrace();
+        p.setAccount(stmt.getAccount());
+        p.setCreditAmount(BigDecimal.ZERO);
+        p.setDebitAmount(BigDecimal.ZERO);
+        p.setId(Ids.id());
+        p.setSrcPstId(balance.getYoungestLineId());
+        p.setSrcOprId(balance.getYoungestOprId());
+        p.setSrcPstHash(balance.getYoungestHash());
+        p.setSrcPstTime(balance.getYoungestPstTime());
+        p.setTgtPstId(stmt.getId());
+        return p;
+    }
+
+    private PostingTrace copyPostingTrace(AccountStmt stmt, PostingTrace trace) {
+        PostingTrace p = new PostingTrace();
+        p.setAccount(stmt.getAccount());
+        p.setCreditAmount(trace.getCreditAmount());
+        p.setDebitAmount(trace.getDebitAmount());
+        p.setId(Ids.id());
+        p.setSrcPstId(trace.getSrcPstId());
+        p.setSrcOprId(trace.getSrcOprId());
+        p.setSrcPstHash(trace.getSrcPstHash());
+        p.setSrcPstTime(trace.getSrcPstTime());
+        p.setTgtPstId(stmt.getId());
+        return p;
+    }
 }
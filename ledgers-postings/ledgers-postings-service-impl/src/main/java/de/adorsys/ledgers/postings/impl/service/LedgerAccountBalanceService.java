@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.postings.impl.service;
+
+import de.adorsys.ledgers.postings.db.domain.LedgerAccount;
+import de.adorsys.ledgers.postings.db.domain.LedgerAccountBalance;
+import de.adorsys.ledgers.postings.db.domain.PostingLine;
+import de.adorsys.ledgers.postings.db.domain.PostingLineAggregate;
+import de.adorsys.ledgers.postings.db.repository.LedgerAccountBalanceRepository;
+import de.adorsys.ledgers.postings.db.repository.LedgerAccountRepository;
+import de.adorsys.ledgers.postings.db.repository.PostingLineRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Maintains the running balances of ledger accounts.
+ * <p>
+ * Balances are locked in the order of their account ids, so that concurrent postings
+ * touching the same accounts can not deadlock each other.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LedgerAccountBalanceService {
+    private final LedgerAccountBalanceRepository balanceRepository;
+    private final LedgerAccountRepository ledgerAccountRepository;
+    private final PostingLineRepository postingLineRepository;
+    private final EntityManager entityManager;
+
+    public void createBalance(String accountId) {
+        balanceRepository.save(new LedgerAccountBalance(accountId));
+    }
+
+    public Optional<LedgerAccountBalance> findBalance(String accountId) {
+        return balanceRepository.findById(accountId);
+    }
+
+    /**
+     * Applies added and discarded posting lines to the balances of their accounts.
+     * A missing balance is rebuilt from the stored posting lines, which already include the given lines.
+     *
+     * @param added     newly stored posting lines
+     * @param discarded posting lines discarded by the new posting
+     */
+    @Transactional
+    public void updateBalances(Collection<PostingLine> added, Collection<PostingLine> discarded) {
+        Map<String, List<PostingLine>> addedByAccount = groupByAccount(added);
+        Map<String, List<PostingLine>> discardedByAccount = groupByAccount(discarded);
+
+        Map<String, LedgerAccount> accounts = new TreeMap<>();
+        Stream.concat(added.stream(), discarded.stream())
+                .map(PostingLine::getAccount)
+                .forEach(a -> accounts.putIfAbsent(a.getId(), a));
+
+        accounts.forEach((id, account) -> updateBalance(account,
+                                                        addedByAccount.getOrDefault(id, Collections.emptyList()),
+                                                        discardedByAccount.getOrDefault(id, Collections.emptyList())));
+    }
+
+    private void updateBalance(LedgerAccount account, List<PostingLine> added, List<PostingLine> discarded) {
+        Optional<LedgerAccountBalance> stored = balanceRepository.findForUpdate(account.getId());
+        if (stored.isEmpty()) {
+            // Transactions rebuilding the same balance are serialized by the lock on the ledger account
+            ledgerAccountRepository.findForUpdate(account.getId());
+            stored = balanceRepository.findForUpdate(account.getId());
+        }
+        if (stored.isEmpty()) {
+            createMissingBalance(account);
+            return;
+        }
+        LedgerAccountBalance balance = stored.get();
+        boolean youngestDiscarded = discarded.stream().anyMatch(balance::isYoungest);
+        discarded.forEach(balance::removeLine);
+        added.forEach(balance::addLine);
+        if (youngestDiscarded) {
+            balance.resetYoungest();
+            postingLineRepository.findFirstByAccountAndDiscardedTimeIsNullOrderByPstTimeDesc(account)
+                    .ifPresent(balance::refreshYoungest);
+        }
+        balanceRepository.save(balance);
+    }
+
+    /*
+     * Balances of accounts touched by a cleanup are rebuilt in the current transaction, so no second connection is
+     * needed. The rebuilt balance sums up the posting lines the transaction sees, the committed ones and its own, so
+     * its lines are not applied again. Transactions waiting for the lock apply their lines to the rebuilt balance.
+     */
+    private void createMissingBalance(LedgerAccount account) {
+        log.info("No running balance for ledger account {}, rebuilding from posting lines", account.getId());
+        entityManager.persist(rebuildBalance(account));
+    }
+
+    private LedgerAccountBalance rebuildBalance(LedgerAccount account) {
+        LedgerAccountBalance balance = new LedgerAccountBalance(account.getId());
+        PostingLineAggregate aggregate = postingLineRepository.aggregate(account);
+        balance.setTotalDebit(aggregate.getTotalDebit());
+        balance.setTotalCredit(aggregate.getTotalCredit());
+        if (aggregate.getYoungestLineId() != null) {
+            postingLineRepository.findById(aggregate.getYoungestLineId())
+                    .ifPresent(balance::refreshYoungest);
+        }
+        return balance;
+    }
+
+    private Map<String, List<PostingLine>> groupByAccount(Collection<PostingLine> lines) {
+        return lines.stream()
+                       .collect(Collectors.groupingBy(l -> l.getAccount().getId()));
+    }
+}
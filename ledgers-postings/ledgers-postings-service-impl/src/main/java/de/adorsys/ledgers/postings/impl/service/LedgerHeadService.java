@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.postings.impl.service;
+
+import de.adorsys.ledgers.postings.db.domain.Ledger;
+import de.adorsys.ledgers.postings.db.domain.LedgerHead;
+import de.adorsys.ledgers.postings.db.repository.LedgerHeadRepository;
+import de.adorsys.ledgers.postings.db.repository.LedgerRepository;
+import de.adorsys.ledgers.postings.db.repository.PostingRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Locks the hash chain heads of ledgers.
+ * <p>
+ * Postings and closings of a ledger are serialized through the lock on its head.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LedgerHeadService {
+    private final LedgerHeadRepository ledgerHeadRepository;
+    private final LedgerRepository ledgerRepository;
+    private final PostingRepository postingRepository;
+    private final EntityManager entityManager;
+
+    /**
+     * Load the head of the given ledger and lock it until the end of the current transaction.
+     * A missing head is created first.
+     *
+     * @param ledger the ledger
+     * @return the locked ledger head
+     */
+    public LedgerHead lock(Ledger ledger) {
+        return ledgerHeadRepository.findForUpdate(ledger.getId())
+                       .orElseGet(() -> {
+                           createMissingHead(ledger);
+                           return ledgerHeadRepository.findForUpdate(ledger.getId())
+                                          .orElseThrow(() -> missingHead(ledger));
+                       });
+    }
+
+    /**
+     * Lock the head of the given ledger in shared mode until the end of the current transaction. Writers not
+     * chaining their postings share the lock, postings and closings of the ledger wait for them.
+     *
+     * @param ledger the ledger
+     */
+    public void lockShared(Ledger ledger) {
+        if (ledgerHeadRepository.findForShare(ledger.getId()).isEmpty()) {
+            createMissingHead(ledger);
+            ledgerHeadRepository.findForShare(ledger.getId())
+                    .orElseThrow(() -> missingHead(ledger));
+        }
+    }
+
+    /*
+     * Ledgers without a head get it from the latest posting in the current transaction, so no second connection is
+     * needed. Transactions creating the same head are serialized by the lock on the ledger, the ones waiting find the
+     * head stored first.
+     */
+    private void createMissingHead(Ledger ledger) {
+        ledgerRepository.findForUpdate(ledger.getId());
+        if (ledgerHeadRepository.existsById(ledger.getId())) {
+            log.debug("Hash chain head of ledger {} created concurrently", ledger.getId());
+            return;
+        }
+        log.info("No hash chain head for ledger {}, creating it from the latest posting", ledger.getId());
+        LedgerHead head = new LedgerHead(ledger.getId());
+        postingRepository.findFirstByLedgerOrderByRecordTimeDesc(ledger)
+                .ifPresent(head::moveTo);
+        entityManager.persist(head);
+        entityManager.flush();
+    }
+
+    private IllegalStateException missingHead(Ledger ledger) {
+        return new IllegalStateException("Could not create hash chain head of ledger " + ledger.getId());
+    }
+}
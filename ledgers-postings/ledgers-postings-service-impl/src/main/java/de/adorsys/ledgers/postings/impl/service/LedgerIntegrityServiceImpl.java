@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.postings.impl.service;
+
+import de.adorsys.ledgers.postings.api.domain.LedgerIntegrityReportBO;
+import de.adorsys.ledgers.postings.api.domain.LedgerIntegrityViolationBO;
+import de.adorsys.ledgers.postings.api.service.LedgerIntegrityService;
+import de.adorsys.ledgers.postings.db.domain.Ledger;
+import de.adorsys.ledgers.postings.db.domain.LedgerHead;
+import de.adorsys.ledgers.postings.db.domain.Posting;
+import de.adorsys.ledgers.postings.db.domain.PostingLine;
+import de.adorsys.ledgers.postings.db.repository.LedgerHeadRepository;
+import de.adorsys.ledgers.postings.db.repository.LedgerRepository;
+import de.adorsys.ledgers.postings.db.repository.PostingRepository;
+import de.adorsys.ledgers.postings.db.utils.RecordHashHelper;
+import de.adorsys.ledgers.util.hash.HashGenerationException;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Stream;
+
+import static de.adorsys.ledgers.postings.impl.service.PostingsMockServiceImpl.MOCKED_ANTECEDENT_ID;
+
+/**
+ * Verifies the posting hash chains of all ledgers.
+ * <p>
+ * The postings of a ledger are streamed in record time order and detached once read, so only the segments in
+ * verification are held in memory. Hashes are recomputed segment by segment on a fork/join pool while the reading
+ * thread checks the links. Postings of one batch share their record time, so within a record time a posting may
+ * be read before its antecedent.
+ */
+@Slf4j
+@Service
+public class LedgerIntegrityServiceImpl implements LedgerIntegrityService, DisposableBean {
+    private static final String METRIC_PREFIX = "ledgers.integrity.";
+    private static final String LEDGER_TAG = "ledger";
+
+    private final LedgerRepository ledgerRepository;
+    private final PostingRepository postingRepository;
+    private final LedgerHeadRepository ledgerHeadRepository;
+    private final EntityManager entityManager;
+    private final RecordHashHelper recordHashHelper = new RecordHashHelper();
+    private final ForkJoinPool pool;
+
+    @Value("${ledgers.integrity.segmentSize:500}")
+    private int segmentSize;
+
+    public LedgerIntegrityServiceImpl(LedgerRepository ledgerRepository, PostingRepository postingRepository,
+                                      LedgerHeadRepository ledgerHeadRepository, EntityManager entityManager,
+                                      @Value("${ledgers.integrity.threads:4}") int threads) {
+        this.ledgerRepository = ledgerRepository;
+        this.postingRepository = postingRepository;
+        this.ledgerHeadRepository = ledgerHeadRepository;
+        this.entityManager = entityManager;
+        this.pool = new ForkJoinPool(threads);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<LedgerIntegrityReportBO> verifyLedgers() {
+        List<LedgerIntegrityReportBO> reports = new ArrayList<>();
+        for (Ledger ledger : ledgerRepository.findAll()) {
+            reports.add(verifyLedger(ledger));
+            // Drop the ledger accounts loaded with the lines
+            entityManager.clear();
+        }
+        return reports;
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+
+    private LedgerIntegrityReportBO verifyLedger(Ledger ledger) {
+        LedgerIntegrityReportBO report = new LedgerIntegrityReportBO();
+        report.setLedgerId(ledger.getId());
+        report.setLedgerName(ledger.getName());
+        report.setStarted(LocalDateTime.now());
+        long start = System.nanoTime();
+
+        ChainVerification verification = new ChainVerification();
+        Deque<Segment> inFlight = new ArrayDeque<>();
+        List<Posting> segment = new ArrayList<>(segmentSize);
+        try (Stream<Posting> postings = postingRepository.streamByLedger(ledger)) {
+            Iterator<Posting> iterator = postings.iterator();
+            while (iterator.hasNext() && !verification.isBroken()) {
+                Posting posting = iterator.next();
+                entityManager.detach(posting);
+                verification.link(posting);
+                segment.add(posting);
+                if (segment.size() == segmentSize) {
+                    inFlight.add(submit(segment, verification.position - segment.size()));
+                    segment = new ArrayList<>(segmentSize);
+                }
+                // Bounds the postings held in memory
+                while (inFlight.size() > pool.getParallelism()) {
+                    inFlight.poll().complete(verification);
+                }
+            }
+        }
+        if (!segment.isEmpty()) {
+            inFlight.add(submit(segment, verification.position - segment.size()));
+        }
+        inFlight.forEach(s -> s.complete(verification));
+        verification.end(ledgerHeadRepository.findById(ledger.getId()).orElse(null));
+
+        Duration duration = Duration.ofNanos(System.nanoTime() - start);
+        report.setFinished(LocalDateTime.now());
+        report.setVerifiedPostings(verification.position);
+        report.setPostingsPerSecond(duration.isZero() ? 0 : verification.position * 1_000_000_000d / duration.toNanos());
+        report.setIntact(!verification.isBroken());
+        report.setBrokenPostingId(verification.brokenPostingId);
+        report.setViolation(verification.violation);
+        Metrics.timer(METRIC_PREFIX + "verification", LEDGER_TAG, ledger.getName()).record(duration);
+        Metrics.counter(METRIC_PREFIX + "postings", LEDGER_TAG, ledger.getName()).increment(verification.position);
+        log.info("Verified {} postings of ledger {} in {} ms, intact: {}", verification.position, ledger.getName(), duration.toMillis(), report.isIntact());
+        return report;
+    }
+
+    private Segment submit(List<Posting> postings, long offset) {
+        return new Segment(postings, offset, pool.submit(() -> firstHashMismatch(postings)));
+    }
+
+    private int firstHashMismatch(List<Posting> postings) {
+        for (int i = 0; i < postings.size(); i++) {
+            if (!hashMatches(postings.get(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean hashMatches(Posting posting) {
+        String hash = posting.getHash();
+        // Restore the state the hash was computed on. Lines are synchronized with the posting after hashing,
+        // the discarding fields are set when a later posting discards this one.
+        posting.setHash(null);
+        posting.setDiscardedTime(null);
+        posting.setDiscardingId(null);
+        posting.getLines().forEach(this::resetSynchronizedFields);
+        try {
+            return Objects.equals(hash, recordHashHelper.computeRecHash(posting));
+        } catch (HashGenerationException | IllegalStateException e) {
+            log.debug("Could not compute hash of posting {}: {}", posting.getId(), e.getMessage());
+            return false;
+        } finally {
+            posting.setHash(hash);
+        }
+    }
+
+    private void resetSynchronizedFields(PostingLine line) {
+        line.setRecordTime(null);
+        line.setOprId(null);
+        line.setOprSrc(null);
+        line.setPstTime(null);
+        line.setPstType(null);
+        line.setPstStatus(null);
+        line.setHash(null);
+        line.setDiscardedTime(null);
+    }
+
+    private static final class Segment {
+        private final List<Posting> postings;
+        private final long offset;
+        private final ForkJoinTask<Integer> mismatch;
+
+        private Segment(List<Posting> postings, long offset, ForkJoinTask<Integer> mismatch) {
+            this.postings = postings;
+            this.offset = offset;
+            this.mismatch = mismatch;
+        }
+
+        private void complete(ChainVerification verification) {
+            int index = mismatch.join();
+            if (index >= 0) {
+                verification.broken(offset + index, postings.get(index).getId(), LedgerIntegrityViolationBO.HASH_MISMATCH);
+            }
+        }
+    }
+
+    private static final class Link {
+        private final long position;
+        private final String postingId;
+        private final String hash;
+
+        private Link(long position, String postingId, String hash) {
+            this.position = position;
+            this.postingId = postingId;
+            this.hash = hash;
+        }
+    }
+
+    /*
+     * Checks the links in reading order. Postings without a successor yet are kept by id, postings read before
+     * their antecedent by antecedent id. Once all postings of a record time are read, no antecedent can follow
+     * and only the last posting of the chain may be without a successor.
+     */
+    private static final class ChainVerification {
+        private final Map<String, Link> withoutSuccessor = new HashMap<>();
+        private final Map<String, Link> withoutAntecedent = new HashMap<>();
+        private LocalDateTime recordTime;
+        private boolean started;
+        private long position;
+        private long brokenPosition = Long.MAX_VALUE;
+        private String brokenPostingId;
+        private LedgerIntegrityViolationBO violation;
+
+        private void link(Posting posting) {
+            long current = position++;
+            // Mocked postings are not chained
+            if (MOCKED_ANTECEDENT_ID.equals(posting.getAntecedentId())) {
+                return;
+            }
+            if (recordTime == null || posting.getRecordTime() == null || posting.getRecordTime().isAfter(recordTime)) {
+                settle();
+                recordTime = posting.getRecordTime();
+            }
+            if (posting.getAntecedentId() == null) {
+                if (started) {
+                    broken(current, posting.getId(), LedgerIntegrityViolationBO.BROKEN_LINK);
+                }
+                started = true;
+            } else {
+                Link antecedent = withoutSuccessor.remove(posting.getAntecedentId());
+                if (antecedent != null) {
+                    checkLink(antecedent.hash, new Link(current, posting.getId(), posting.getAntecedentHash()));
+                } else if (withoutAntecedent.putIfAbsent(posting.getAntecedentId(), new Link(current, posting.getId(), posting.getAntecedentHash())) != null) {
+                    broken(current, posting.getId(), LedgerIntegrityViolationBO.BROKEN_LINK);
+                }
+            }
+            Link successor = withoutAntecedent.remove(posting.getId());
+            if (successor != null) {
+                checkLink(posting.getHash(), successor);
+            } else {
+                withoutSuccessor.put(posting.getId(), new Link(current, posting.getId(), posting.getHash()));
+            }
+        }
+
+        private void checkLink(String antecedentHash, Link successor) {
+            if (!Objects.equals(antecedentHash, successor.hash)) {
+                broken(successor.position, successor.postingId, LedgerIntegrityViolationBO.BROKEN_LINK);
+            }
+        }
+
+        private void settle() {
+            withoutAntecedent.values()
+                    .forEach(l -> broken(l.position, l.postingId, LedgerIntegrityViolationBO.BROKEN_LINK));
+            if (withoutSuccessor.size() > 1) {
+                Link newest = Collections.max(withoutSuccessor.values(), Comparator.comparingLong(l -> l.position));
+                withoutSuccessor.values().stream()
+                        .filter(l -> l != newest)
+                        .forEach(l -> broken(l.position, l.postingId, LedgerIntegrityViolationBO.BROKEN_LINK));
+            }
+        }
+
+        private void end(LedgerHead head) {
+            settle();
+            if (isBroken()) {
+                return;
+            }
+            Optional<Link> last = withoutSuccessor.values().stream().findFirst();
+            String headPostingId = head == null ? null : head.getHeadPostingId();
+            String headHash = head == null ? null : head.getHeadHash();
+            if (last.isEmpty() && headPostingId != null) {
+                broken(position, headPostingId, LedgerIntegrityViolationBO.HEAD_MISMATCH);
+            }
+            last.filter(l -> !Objects.equals(l.postingId, headPostingId) || !Objects.equals(l.hash, headHash))
+                    .ifPresent(l -> broken(l.position, l.postingId, LedgerIntegrityViolationBO.HEAD_MISMATCH));
+        }
+
+        private void broken(long at, String postingId, LedgerIntegrityViolationBO cause) {
+            if (at < brokenPosition) {
+                brokenPosition = at;
+                brokenPostingId = postingId;
+                violation = cause;
+            }
+        }
+
+        private boolean isBroken() {
+            return violation != null;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.postings.impl.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import de.adorsys.ledgers.postings.api.domain.LedgerAccountBO;
+import de.adorsys.ledgers.postings.api.domain.LedgerBO;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of ledgers and ledger accounts, which practically never change once created.
+ * <p>
+ * Lookups finding nothing are not cached. The cached instances are shared between callers and must not be modified.
+ * Accounts looked up by name expire sooner, as names are reused for accounts recreated after a cleanup, which only
+ * evicts the cache of the node it runs on.
+ */
+@Component
+public class LedgerMetadataCache {
+    private final Cache<String, LedgerBO> ledgersById;
+    private final Cache<String, LedgerBO> ledgersByName;
+    private final Cache<String, LedgerAccountBO> accountsById;
+    private final Cache<List<String>, LedgerAccountBO> accountsByName;
+
+    public LedgerMetadataCache(@Value("${ledgers.postings.metadataCache.maxSize:10000}") long maxSize,
+                               @Value("${ledgers.postings.metadataCache.expireAfterWrite:PT1H}") Duration expireAfterWrite,
+                               @Value("${ledgers.postings.metadataCache.expireByNameAfterWrite:PT1M}") Duration expireByNameAfterWrite) {
+        this.ledgersById = cache("ledgersById", maxSize, expireAfterWrite);
+        this.ledgersByName = cache("ledgersByName", maxSize, expireAfterWrite);
+        this.accountsById = cache("ledgerAccountsById", maxSize, expireAfterWrite);
+        this.accountsByName = cache("ledgerAccountsByName", maxSize, expireByNameAfterWrite);
+    }
+
+    public Optional<LedgerBO> ledgerById(String id, Function<String, Optional<LedgerBO>> loader) {
+        if (id == null) {
+            return loader.apply(null);
+        }
+        return Optional.ofNullable(ledgersById.get(id, k -> loader.apply(k).orElse(null)));
+    }
+
+    public Optional<LedgerBO> ledgerByName(String name, Function<String, Optional<LedgerBO>> loader) {
+        if (name == null) {
+            return loader.apply(null);
+        }
+        return Optional.ofNullable(ledgersByName.get(name, k -> loader.apply(k).orElse(null)));
+    }
+
+    public LedgerAccountBO ledgerAccountById(String id, Function<String, LedgerAccountBO> loader) {
+        return id == null
+                       ? loader.apply(null)
+                       : accountsById.get(id, loader);
+    }
+
+    public LedgerAccountBO ledgerAccountByName(String ledgerId, String name, Supplier<LedgerAccountBO> loader) {
+        return ledgerId == null || name == null
+                       ? loader.get()
+                       : accountsByName.get(List.of(ledgerId, name), k -> loader.get());
+    }
+
+    public void invalidateLedger(LedgerBO ledger) {
+        Optional.ofNullable(ledger.getId()).ifPresent(ledgersById::invalidate);
+        Optional.ofNullable(ledger.getName()).ifPresent(ledgersByName::invalidate);
+    }
+
+    public void invalidateLedgerAccount(LedgerAccountBO account) {
+        Optional.ofNullable(account.getId()).ifPresent(accountsById::invalidate);
+        Optional.ofNullable(account.getLedger())
+                .map(LedgerBO::getId)
+                .filter(l -> account.getName() != null)
+                .ifPresent(l -> accountsByName.invalidate(List.of(l, account.getName())));
+    }
+
+    public void invalidateAll() {
+        ledgersById.invalidateAll();
+        ledgersByName.invalidateAll();
+        accountsById.invalidateAll();
+        accountsByName.invalidateAll();
+    }
+
+    private static <K, V> Cache<K, V> cache(String name, long maxSize, Duration expireAfterWrite) {
+        Cache<K, V> cache = Caffeine.newBuilder()
+                                    .maximumSize(maxSize)
+                                    .expireAfterWrite(expireAfterWrite)
+                                    .recordStats()
+                                    .build();
+        return CaffeineCacheMetrics.monitor(Metrics.globalRegistry, cache, name);
+    }
+}
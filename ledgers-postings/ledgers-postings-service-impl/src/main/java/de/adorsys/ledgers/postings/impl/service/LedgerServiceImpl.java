@@ -12,6 +12,7 @@ import de.adorsys.ledgers.postings.api.service.LedgerService;
 import de.adorsys.ledgers.postings.db.domain.*;
 import de.adorsys.ledgers.postings.db.repository.ChartOfAccountRepository;
 import de.adorsys.ledgers.postings.db.repository.LedgerAccountRepository;
+import de.adorsys.ledgers.postings.db.repository.LedgerHeadRepository;
 import de.adorsys.ledgers.postings.db.repository.LedgerRepository;
 import de.adorsys.ledgers.postings.impl.converter.LedgerMapper;
 import de.adorsys.ledgers.util.Ids;
@@ -33,9 +34,16 @@ import static de.adorsys.ledgers.util.exception.PostingErrorCode.NO_CATEGORY;
 @Service
 public class LedgerServiceImpl extends AbstractServiceImpl implements LedgerService {
     private final LedgerMapper ledgerMapper = Mappers.getMapper(LedgerMapper.class);
+    private final LedgerAccountBalanceService ledgerAccountBalanceService;
+    private final LedgerHeadRepository ledgerHeadRepository;
+    private final LedgerMetadataCache metadataCache;
 
-    public LedgerServiceImpl(LedgerAccountRepository ledgerAccountRepository, ChartOfAccountRepository chartOfAccountRepo, LedgerRepository ledgerRepository) {
+    public LedgerServiceImpl(LedgerAccountRepository ledgerAccountRepository, ChartOfAccountRepository chartOfAccountRepo, LedgerRepository ledgerRepository,
+                             LedgerAccountBalanceService ledgerAccountBalanceService, LedgerHeadRepository ledgerHeadRepository, LedgerMetadataCache metadataCache) {
         super(ledgerAccountRepository, chartOfAccountRepo, ledgerRepository);
+        this.ledgerAccountBalanceService = ledgerAccountBalanceService;
+        this.ledgerHeadRepository = ledgerHeadRepository;
+        this.metadataCache = metadataCache;
     }
 
     @Override
@@ -49,20 +57,23 @@ public class LedgerServiceImpl extends AbstractServiceImpl implements LedgerServ
                 ledger.getName(),
                 loadCoa(ledger.getCoa()));
         Ledger savedLedger = ledgerRepository.save(newLedger);
+        ledgerHeadRepository.save(new LedgerHead(savedLedger.getId()));
 
-        return ledgerMapper.toLedgerBO(savedLedger);
+        LedgerBO saved = ledgerMapper.toLedgerBO(savedLedger);
+        metadataCache.invalidateLedger(saved);
+        return saved;
     }
 
     @Override
     public Optional<LedgerBO> findLedgerById(String id) {
-        return ledgerRepository.findById(id)
-                       .map(ledgerMapper::toLedgerBO);
+        return metadataCache.ledgerById(id, i -> ledgerRepository.findById(i)
+                                                         .map(ledgerMapper::toLedgerBO));
     }
 
     @Override
     public Optional<LedgerBO> findLedgerByName(String name) {
-        return ledgerRepository.findOptionalByName(name)
-                       .map(ledgerMapper::toLedgerBO);
+        return metadataCache.ledgerByName(name, n -> ledgerRepository.findOptionalByName(n)
+                                                             .map(ledgerMapper::toLedgerBO));
     }
 
     @Override
@@ -96,29 +107,40 @@ public class LedgerServiceImpl extends AbstractServiceImpl implements LedgerServ
         String name = ledgerAccount.getName();
         ChartOfAccount coa = ledger.getCoa();
         LedgerAccount newLedgerAccount = new LedgerAccount(id, created, userName, shortDesc, longDesc, name, ledger, parentAccount, coa, balanceSide, category);
-        return ledgerAccountMapper.toLedgerAccountBO(ledgerAccountRepository.save(newLedgerAccount));
+        LedgerAccount saved = ledgerAccountRepository.save(newLedgerAccount);
+        ledgerAccountBalanceService.createBalance(saved.getId());
+        LedgerAccountBO savedAccount = ledgerAccountMapper.toLedgerAccountBO(saved);
+        metadataCache.invalidateLedgerAccount(savedAccount);
+        return savedAccount;
     }
 
     @Override
     public LedgerAccountBO findLedgerAccountById(String id) {
-        return ledgerAccountRepository.findById(id)
-                       .map(ledgerAccountMapper::toLedgerAccountBO)
-                       .orElseThrow(() -> PostingModuleException.builder()
-                                                  .errorCode(PostingErrorCode.LEDGER_ACCOUNT_NOT_FOUND)
-                                                  .devMsg(String.format(LA_NF_BY_NAME_MSG, id))
-                                                  .build());
+        return metadataCache.ledgerAccountById(id, i -> ledgerAccountRepository.findById(i)
+                                                                 .map(ledgerAccountMapper::toLedgerAccountBO)
+                                                                 .orElseThrow(() -> PostingModuleException.builder()
+                                                                                            .errorCode(PostingErrorCode.LEDGER_ACCOUNT_NOT_FOUND)
+                                                                                            .devMsg(String.format(LA_NF_BY_NAME_MSG, i))
+                                                                                            .build()));
     }
 
     @Override
     public LedgerAccountBO findLedgerAccount(LedgerBO ledgerBO, String name) {
         Ledger ledger = ledgerMapper.toLedger(ledgerBO);
-        return ledgerAccountRepository
-                       .findOptionalByLedgerAndName(loadLedger(ledger), name)
-                       .map(ledgerAccountMapper::toLedgerAccountBO)
-                       .orElseThrow(() -> PostingModuleException.builder()
-                                                  .errorCode(PostingErrorCode.LEDGER_ACCOUNT_NOT_FOUND)
-                                                  .devMsg(String.format(LA_NF_BY_NAME_MSG, name))
-                                                  .build());
+        // A ledger given by name is loaded once for the cache key, a ledger given by id only on a cache miss
+        Ledger loaded = ledger == null || ledger.getId() == null
+                                ? loadLedger(ledger)
+                                : null;
+        String ledgerId = loaded == null
+                                  ? ledger.getId()
+                                  : loaded.getId();
+        return metadataCache.ledgerAccountByName(ledgerId, name, () -> ledgerAccountRepository
+                                                                               .findOptionalByLedgerAndName(loaded == null ? loadLedger(ledger) : loaded, name)
+                                                                               .map(ledgerAccountMapper::toLedgerAccountBO)
+                                                                               .orElseThrow(() -> PostingModuleException.builder()
+                                                                                                          .errorCode(PostingErrorCode.LEDGER_ACCOUNT_NOT_FOUND)
+                                                                                                          .devMsg(String.format(LA_NF_BY_NAME_MSG, name))
+                                                                                                          .build()));
     }
 
     @Override
@@ -140,6 +162,11 @@ public class LedgerServiceImpl extends AbstractServiceImpl implements LedgerServ
                        .collect(Collectors.toMap(NamedBO::getName, Function.identity()));
     }
 
+    @Override
+    public void evictMetadataCache() {
+        metadataCache.invalidateAll();
+    }
+
     private LedgerAccount getParentAccount(LedgerAccountBO ledgerAccount) {
         return ledgerAccount.getParent() != null
                        ? loadLedgerAccountBO(ledgerAccount.getParent())
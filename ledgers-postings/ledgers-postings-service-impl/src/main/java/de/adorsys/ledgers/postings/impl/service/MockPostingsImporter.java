@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.postings.impl.service;
+
+import de.adorsys.ledgers.postings.api.domain.MockImportJobBO;
+import de.adorsys.ledgers.postings.api.domain.MockImportStatusBO;
+import de.adorsys.ledgers.postings.db.domain.Posting;
+import de.adorsys.ledgers.util.Ids;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Imports mocked postings in chunks on a dedicated, bounded thread pool.
+ * <p>
+ * Each chunk is stored in its own transaction, so a failing chunk does not roll back the
+ * ones already imported. Chunks locking the same running balances wait for each other, see
+ * {@link LedgerAccountBalanceService}. When all threads are busy and the queue is full, the submitting
+ * thread writes the next chunk itself, which slows down the caller instead of piling up
+ * chunks in memory. The progress of the latest imports is kept in memory.
+ */
+@Slf4j
+@Service
+public class MockPostingsImporter {
+    private static final int MAX_JOBS = 100;
+    private static final int MAX_ERRORS = 100;
+
+    private final MockPostingsWriter writer;
+    private final int chunkSize;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, ImportJob> jobs = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ImportJob> eldest) {
+            return size() > MAX_JOBS;
+        }
+    });
+
+    public MockPostingsImporter(MockPostingsWriter writer,
+                                @Value("${ledgers.mockImport.chunkSize:1000}") int chunkSize,
+                                @Value("${ledgers.mockImport.threads:4}") int threads,
+                                @Value("${ledgers.mockImport.queueCapacity:8}") int queueCapacity) {
+        this.writer = writer;
+        this.chunkSize = chunkSize;
+        this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                                               new ArrayBlockingQueue<>(queueCapacity),
+                                               new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public String startImport(List<Posting> postings) {
+        ImportJob job = new ImportJob(Ids.id(), postings.size());
+        jobs.put(job.id, job);
+        log.info("Import job {} started for {} postings", job.id, postings.size());
+        if (postings.isEmpty()) {
+            job.finish();
+        }
+        for (int from = 0; from < postings.size(); from += chunkSize) {
+            List<Posting> chunk = postings.subList(from, Math.min(from + chunkSize, postings.size()));
+            executor.execute(() -> writeChunk(job, chunk));
+        }
+        return job.id;
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    public Optional<MockImportJobBO> findJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId))
+                       .map(ImportJob::toJobBO);
+    }
+
+    private void writeChunk(ImportJob job, List<Posting> chunk) {
+        try {
+            writer.write(chunk);
+            job.imported.addAndGet(chunk.size());
+        } catch (RuntimeException e) {
+            log.error("Import job {} failed to store {} postings: {}", job.id, chunk.size(), e.getMessage());
+            job.failed.addAndGet(chunk.size());
+            job.addError(e.getMessage());
+        }
+        if (job.imported.get() + job.failed.get() == job.total) {
+            job.finish();
+            log.info("Import job {} finished, imported: {}, failed: {}", job.id, job.imported.get(), job.failed.get());
+        }
+    }
+
+    private static class ImportJob {
+        private final String id;
+        private final int total;
+        private final LocalDateTime started = LocalDateTime.now();
+        private final AtomicInteger imported = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final List<String> errors = new ArrayList<>();
+        private volatile LocalDateTime finished;
+
+        ImportJob(String id, int total) {
+            this.id = id;
+            this.total = total;
+        }
+
+        synchronized void addError(String error) {
+            if (errors.size() < MAX_ERRORS) {
+                errors.add(error);
+            }
+        }
+
+        void finish() {
+            finished = LocalDateTime.now();
+        }
+
+        synchronized MockImportJobBO toJobBO() {
+            MockImportJobBO job = new MockImportJobBO();
+            job.setId(id);
+            job.setTotal(total);
+            job.setImported(imported.get());
+            job.setFailed(failed.get());
+            job.setErrors(new ArrayList<>(errors));
+            job.setStarted(started);
+            job.setFinished(finished);
+            if (finished == null) {
+                job.setStatus(MockImportStatusBO.RUNNING);
+            } else {
+                job.setStatus(failed.get() == 0 ? MockImportStatusBO.COMPLETED : MockImportStatusBO.FAILED);
+            }
+            return job;
+        }
+    }
+}
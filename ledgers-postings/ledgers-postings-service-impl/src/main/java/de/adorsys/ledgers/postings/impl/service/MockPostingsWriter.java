@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.postings.impl.service;
+
+import de.adorsys.ledgers.postings.db.domain.AccountStmt;
+import de.adorsys.ledgers.postings.db.domain.Ledger;
+import de.adorsys.ledgers.postings.db.domain.Posting;
+import de.adorsys.ledgers.postings.db.domain.PostingLine;
+import de.adorsys.ledgers.postings.db.domain.StmtStatus;
+import de.adorsys.ledgers.postings.db.repository.AccountStmtRepository;
+import de.adorsys.ledgers.postings.db.repository.PostingRepository;
+import de.adorsys.ledgers.util.exception.PostingModuleException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static de.adorsys.ledgers.util.exception.PostingErrorCode.BASE_LINE_TIME_ERROR;
+
+/**
+ * Stores a chunk of mocked postings together with the running balances of their accounts.
+ * <p>
+ * Chunks share the lock on the heads of their ledgers, so no period of their accounts is closed
+ * while they are stored. Postings into a closed period are rejected.
+ */
+@Service
+@RequiredArgsConstructor
+public class MockPostingsWriter {
+    private static final String BASE_LINE_TIME_ERROR_MSG = "posting time %s is before the last ledger closing %s";
+
+    private final PostingRepository postingRepository;
+    private final AccountStmtRepository accountStmtRepository;
+    private final LedgerAccountBalanceService ledgerAccountBalanceService;
+    private final LedgerHeadService ledgerHeadService;
+
+    @Transactional
+    public void write(List<Posting> postings) {
+        postings.stream()
+                .map(Posting::getLedger)
+                .collect(Collectors.toMap(Ledger::getId, l -> l, (a, b) -> a, TreeMap::new))
+                .values()
+                .forEach(ledgerHeadService::lockShared);
+
+        List<PostingLine> lines = postings.stream()
+                                          .flatMap(p -> p.getLines().stream())
+                                          .collect(Collectors.toList());
+        Map<String, Map<LocalDateTime, Optional<AccountStmt>>> baseLines = new HashMap<>();
+        lines.forEach(l -> l.setBaseLine(baseLines.computeIfAbsent(l.getAccount().getId(), id -> new HashMap<>())
+                                                 .computeIfAbsent(l.getPstTime(), t -> validatePostingTime(l))
+                                                 .map(AccountStmt::getId)
+                                                 .orElse(null)));
+
+        postingRepository.saveAll(postings);
+        ledgerAccountBalanceService.updateBalances(lines, Collections.emptyList());
+    }
+
+    /*
+     * Same check as for regular postings: the line must be posted after the last closing of its account,
+     * which becomes its base line.
+     */
+    private Optional<AccountStmt> validatePostingTime(PostingLine line) {
+        accountStmtRepository.findFirstByAccountAndStmtStatusAndPstTimeGreaterThanEqual(line.getAccount(), StmtStatus.CLOSED, line.getPstTime())
+                .ifPresent(closed -> {
+                    throw PostingModuleException.builder()
+                                  .errorCode(BASE_LINE_TIME_ERROR)
+                                  .devMsg(String.format(BASE_LINE_TIME_ERROR_MSG, line.getPstTime(), closed.getPstTime()))
+                                  .build();
+                });
+        return accountStmtRepository
+                       .findFirstByAccountAndStmtStatusAndPstTimeLessThanOrderByPstTimeDescStmtSeqNbrDesc(line.getAccount(), StmtStatus.CLOSED, line.getPstTime());
+    }
+}
@@ -13,9 +13,10 @@ import de.adorsys.ledgers.postings.db.domain.*;
 import de.adorsys.ledgers.postings.db.repository.*;
 import de.adorsys.ledgers.postings.impl.converter.PostingLineMapper;
 import de.adorsys.ledgers.postings.impl.converter.PostingMapper;
-import de.adorsys.ledgers.util.CloneUtils;
 import de.adorsys.ledgers.util.Ids;
 import de.adorsys.ledgers.util.exception.PostingModuleException;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
 import org.mapstruct.factory.Mappers;
 import org.springframework.data.domain.Page;
@@ -25,9 +26,11 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static de.adorsys.ledgers.util.exception.PostingErrorCode.*;
 
@@ -38,33 +41,59 @@ public class PostingServiceImpl extends AbstractServiceImpl implements PostingSe
     private static final String DOUBLE_ENTRY_ERROR_MSG = "Debit sums up to %s while credit sums up to %s";
     private static final String POSTING_NF_MSG = "Posting with account id %s  and transaction id %s could not be found";
     private static final String BASE_LINE_TIME_ERROR_MSG = "posting time %s is before the last ledger closing %s";
+    private static final String METRIC_PREFIX = "ledgers.postings.";
 
     private final PostingRepository postingRepository;
     private final AccountStmtRepository accountStmtRepository;
     private final PostingLineRepository postingLineRepository;
+    private final LedgerAccountBalanceService ledgerAccountBalanceService;
+    private final LedgerHeadRepository ledgerHeadRepository;
+    private final LedgerHeadService ledgerHeadService;
+    private final EntityManager entityManager;
     private final PostingMapper postingMapper = Mappers.getMapper(PostingMapper.class);
     private final PostingLineMapper postingLineMapper = Mappers.getMapper(PostingLineMapper.class);
 
     public PostingServiceImpl(LedgerAccountRepository ledgerAccountRepository,
                               ChartOfAccountRepository chartOfAccountRepo, LedgerRepository ledgerRepository,
                               PostingRepository postingRepository, AccountStmtRepository accountStmtRepository,
-                              PostingLineRepository postingLineRepository) {
+                              PostingLineRepository postingLineRepository, LedgerAccountBalanceService ledgerAccountBalanceService,
+                              LedgerHeadRepository ledgerHeadRepository, LedgerHeadService ledgerHeadService,
+                              EntityManager entityManager) {
         super(ledgerAccountRepository, chartOfAccountRepo, ledgerRepository);
         this.postingRepository = postingRepository;
         this.accountStmtRepository = accountStmtRepository;
         this.postingLineRepository = postingLineRepository;
+        this.ledgerAccountBalanceService = ledgerAccountBalanceService;
+        this.ledgerHeadRepository = ledgerHeadRepository;
+        this.ledgerHeadService = ledgerHeadService;
+        this.entityManager = entityManager;
     }
 
     @Override
+    @Transactional
     public PostingBO newPosting(PostingBO postingBO) {
-        Posting posting = postingMapper.toPosting(postingBO);
-        posting = newPosting(posting);
-        return postingMapper.toPostingBO(posting);
+        return Metrics.timer(METRIC_PREFIX + "new").record(() -> {
+            Posting posting = postingMapper.toPosting(postingBO);
+            posting = storePostings(List.of(posting)).get(0);
+            return postingMapper.toPostingBO(posting);
+        });
     }
 
     @Override
+    @Transactional
+    public List<PostingBO> newPostings(List<PostingBO> postingBOs) {
+        if (postingBOs.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Metrics.summary(METRIC_PREFIX + "new.batch.size").record(postingBOs.size());
+        return Metrics.timer(METRIC_PREFIX + "new.batch")
+                       .record(() -> postingMapper.toPostingBOList(storePostings(postingMapper.toPostingList(postingBOs))));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<PostingBO> findPostingsByOperationId(String oprId) {
-        return CloneUtils.cloneList(postingRepository.findByOprId(oprId), PostingBO.class);
+        return postingMapper.toPostingBOList(postingRepository.findByOprId(oprId));
     }
 
     @Override
@@ -77,6 +106,19 @@ public class PostingServiceImpl extends AbstractServiceImpl implements PostingSe
                        .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void exportPostingsByDates(LedgerAccountBO ledgerAccount, LocalDateTime dateFrom, LocalDateTime dateTo, Consumer<PostingLineBO> consumer) {
+        LedgerAccount account = loadLedgerAccountBO(ledgerAccount);
+        try (Stream<PostingLine> lines = postingLineRepository.streamByAccountAndDates(account, dateFrom, dateTo)) {
+            lines.forEach(line -> {
+                consumer.accept(postingLineMapper.toPostingLineBO(line));
+                // Exported lines are not needed anymore, keeps the persistence context from growing.
+                entityManager.detach(line);
+            });
+        }
+    }
+
     @Override
     public Page<PostingLineBO> findPostingsByDatesPaged(LedgerAccountBO ledgerAccount, LocalDateTime dateFrom, LocalDateTime dateTo, Pageable pageable) {
         LedgerAccount account = loadLedgerAccountBO(ledgerAccount);
@@ -95,37 +137,83 @@ public class PostingServiceImpl extends AbstractServiceImpl implements PostingSe
                                                   .build());
     }
 
-    private Posting newPosting(Posting posting) {
-        LocalDateTime now = LocalDateTime.now();
-        // check posting time is not before a closing.
-        //NOSONAR		validatePostingTime(posting);
-        Posting p = createPostingObj(posting, now);
-        Ledger ledger = loadLedger(posting.getLedger());
-        p.setLedger(ledger);
-
-
-        // Load original posting. If the sequence number > 0, it means that there is a
-        // predecessor posting available.
-        loadPredecessor(p).ifPresent(discarded -> discardPosting(discarded, p));
-
-        // Check double entry accounting
-        validateDoubleEntryAccounting(posting);
-
-        // find last record for hash
-        Posting antecedent = postingRepository.findFirstByLedgerOrderByRecordTimeDesc(posting.getLedger()).orElse(new Posting());
-        p.setAntecedentHash(antecedent.getHash());
-        p.setAntecedentId(antecedent.getId());
+    /*
+     * Stores the given postings in one go: ledgers, ledger accounts and statement base lines are
+     * resolved once, postings are chained to their ledger heads in the given order and then
+     * written together, so the JDBC driver can batch the inserts.
+     *
+     * Ledgers and ledger accounts are resolved before the heads are locked. Under the lock only
+     * what must be serialized with statement closings runs: the predecessor lookup and the check
+     * of the posting time against closed statements.
+     */
+    private List<Posting> storePostings(List<Posting> postings) {
+        // Check double entry accounting of all postings before touching the database.
+        postings.forEach(this::validateDoubleEntryAccounting);
 
-        // Process posting line without setting posting.
-        for (PostingLine pl : posting.getLines()) {
-            processPostingLine(p, pl);
+        LocalDateTime now = LocalDateTime.now();
+        PostingBatch batch = new PostingBatch();
+        Map<String, Ledger> ledgers = new TreeMap<>();
+        postings.forEach(posting -> {
+            Ledger ledger = loadLedger(posting.getLedger(), batch);
+            posting.setLedger(ledger);
+            ledgers.putIfAbsent(ledger.getId(), ledger);
+            posting.getLines().forEach(pl -> pl.setAccount(loadLedgerAccount(pl.getAccount(), batch)));
+        });
+
+        // Chain to the heads of the ledgers, locked in the order of their ids until the end of the transaction.
+        Map<String, LedgerHead> heads = new HashMap<>();
+        ledgers.forEach((id, ledger) -> heads.put(id, ledgerHeadService.lock(ledger)));
+
+        // Load original postings. If there is a non discarded posting with the same
+        // operation id, it is discarded by the new one.
+        Map<String, Posting> predecessors = loadPredecessors(postings);
+        Set<String> createdIds = new HashSet<>();
+        List<PostingLine> discardedLines = new ArrayList<>();
+        List<Posting> created = new ArrayList<>();
+        for (Posting posting : postings) {
+            Posting p = createPostingObj(posting, now);
+            Ledger ledger = posting.getLedger();
+            p.setLedger(ledger);
+
+            Posting predecessor = predecessors.put(p.getOprId(), p);
+            if (predecessor != null) {
+                discardPosting(predecessor, p);
+                if (!createdIds.contains(predecessor.getId())) {
+                    postingRepository.save(predecessor);
+                    discardedLines.addAll(predecessor.getLines());
+                }
+            }
+
+            // Process posting line without setting posting.
+            for (PostingLine pl : posting.getLines()) {
+                processPostingLine(p, pl, batch);
+            }
+
+            LedgerHead head = heads.get(ledger.getId());
+            p.setAntecedentHash(head.getHeadHash());
+            p.setAntecedentId(head.getHeadPostingId());
+
+            // compute hash.
+            p.hash();
+
+            p.synchLines();
+            head.moveTo(p);
+            createdIds.add(p.getId());
+            created.add(p);
         }
 
-        // compute hash.
-        p.hash();
-
-        p.synchLines();
-        return postingRepository.save(p);
+        List<Posting> saved = new ArrayList<>();
+        postingRepository.saveAll(created).forEach(saved::add);
+        ledgerHeadRepository.saveAll(heads.values());
+
+        // Maintain running balances of all accounts touched by these postings. Postings discarded
+        // within the batch never reached the balances.
+        List<PostingLine> addedLines = saved.stream()
+                                               .filter(p -> p.getDiscardingId() == null)
+                                               .flatMap(p -> p.getLines().stream())
+                                               .collect(Collectors.toList());
+        ledgerAccountBalanceService.updateBalances(addedLines, discardedLines);
+        return saved;
     }
 
     private Posting createPostingObj(Posting posting, LocalDateTime now) {
@@ -150,19 +238,20 @@ public class PostingServiceImpl extends AbstractServiceImpl implements PostingSe
         discarded.setDiscardedTime(discarding.getRecordTime());
         discarded.setDiscardingId(discarding.getId());
         discarded.synchLines();
-        postingRepository.save(discarded);
         discarding.setDiscardedId(discarded.getId());
     }
 
     /*
      * Process Posting lines without sting the posting.
      */
-    private void processPostingLine(Posting p, PostingLine postingLine) {
+    private void processPostingLine(Posting p, PostingLine postingLine, PostingBatch batch) {
         PostingLine l = new PostingLine();
         l.setId(postingLine.getId());
-        LedgerAccount account = loadLedgerAccount(postingLine.getAccount());
+        LedgerAccount account = postingLine.getAccount();
         l.setAccount(account);
-        String baseLine = validatePostingTime(p, account).orElse(new AccountStmt()).getId();
+        String baseLine = batch.baseLines.computeIfAbsent(account.getId(), id -> new HashMap<>())
+                                  .computeIfAbsent(p.getPstTime(), t -> validatePostingTime(p, account).map(AccountStmt::getId))
+                                  .orElse(null);
         l.setBaseLine(baseLine);
         l.setCreditAmount(postingLine.getCreditAmount());
         l.setDebitAmount(postingLine.getDebitAmount());
@@ -233,7 +322,34 @@ public class PostingServiceImpl extends AbstractServiceImpl implements PostingSe
         }
     }
 
-    private Optional<Posting> loadPredecessor(Posting current) {
-        return postingRepository.findByOprIdAndDiscardingIdIsNull(current.getOprId());
+    private Map<String, Posting> loadPredecessors(List<Posting> postings) {
+        Set<String> oprIds = postings.stream()
+                                     .map(Posting::getOprId)
+                                     .collect(Collectors.toSet());
+        return postingRepository.findByOprIdInAndDiscardingIdIsNull(oprIds).stream()
+                       .collect(Collectors.toMap(Posting::getOprId, Function.identity()));
+    }
+
+    private Ledger loadLedger(Ledger ledger, PostingBatch batch) {
+        if (ledger == null || ledger.getId() == null) {
+            return loadLedger(ledger);
+        }
+        return batch.ledgersById.computeIfAbsent(ledger.getId(), id -> loadLedger(ledger));
+    }
+
+    private LedgerAccount loadLedgerAccount(LedgerAccount account, PostingBatch batch) {
+        if (account == null || account.getId() == null) {
+            return loadLedgerAccount(account);
+        }
+        return batch.accountsById.computeIfAbsent(account.getId(), id -> loadLedgerAccount(account));
+    }
+
+    /*
+     * Ledgers, ledger accounts and statement base lines resolved once per batch of postings.
+     */
+    private static class PostingBatch {
+        private final Map<String, Ledger> ledgersById = new HashMap<>();
+        private final Map<String, LedgerAccount> accountsById = new HashMap<>();
+        private final Map<String, Map<LocalDateTime, Optional<String>>> baseLines = new HashMap<>();
     }
 }
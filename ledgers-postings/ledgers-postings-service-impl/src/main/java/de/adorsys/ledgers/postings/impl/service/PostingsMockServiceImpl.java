@@ -5,6 +5,7 @@
 
 package de.adorsys.ledgers.postings.impl.service;
 
+import de.adorsys.ledgers.postings.api.domain.MockImportJobBO;
 import de.adorsys.ledgers.postings.api.domain.PostingBO;
 import de.adorsys.ledgers.util.exception.PostingModuleException;
 import de.adorsys.ledgers.postings.api.service.PostingMockService;
@@ -15,7 +16,6 @@ import de.adorsys.ledgers.postings.db.domain.PostingLine;
 import de.adorsys.ledgers.postings.db.repository.ChartOfAccountRepository;
 import de.adorsys.ledgers.postings.db.repository.LedgerAccountRepository;
 import de.adorsys.ledgers.postings.db.repository.LedgerRepository;
-import de.adorsys.ledgers.postings.db.repository.PostingRepository;
 import de.adorsys.ledgers.postings.impl.converter.PostingMapper;
 import de.adorsys.ledgers.util.Ids;
 import lombok.extern.slf4j.Slf4j;
@@ -29,33 +29,47 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
 
 import static de.adorsys.ledgers.util.exception.PostingErrorCode.DOBLE_ENTRY_ERROR;
+import static de.adorsys.ledgers.util.exception.PostingErrorCode.IMPORT_JOB_NOT_FOUND;
 
 @Slf4j
 @Service
 public class PostingsMockServiceImpl extends AbstractServiceImpl implements PostingMockService {
     private static final String DOBLE_ENTRY_ERROR_MSG = "Debit sums up to %s while credit sums up to %s";
     private static final int NANO_TO_SECOND = 1000000000;
+    static final String MOCKED_ANTECEDENT_HASH = "NO HASH - MOCKED TRANSACTION";
+    static final String MOCKED_ANTECEDENT_ID = "NO ID - MOCKED TRANSACTION";
     private final PostingMapper postingMapper = Mappers.getMapper(PostingMapper.class);
-    private final PostingRepository postingRepository;
+    private final MockPostingsImporter postingsImporter;
 
-    public PostingsMockServiceImpl(LedgerAccountRepository ledgerAccountRepository, ChartOfAccountRepository chartOfAccountRepo, LedgerRepository ledgerRepository, PostingRepository postingRepository) {
+    public PostingsMockServiceImpl(LedgerAccountRepository ledgerAccountRepository, ChartOfAccountRepository chartOfAccountRepo, LedgerRepository ledgerRepository,
+                                   MockPostingsImporter postingsImporter) {
         super(ledgerAccountRepository, chartOfAccountRepo, ledgerRepository);
-        this.postingRepository = postingRepository;
+        this.postingsImporter = postingsImporter;
     }
 
     @Override
-    public void addPostingsAsBatch(List<PostingBO> postingsBO) {
+    public String addPostingsAsBatch(List<PostingBO> postingsBO) {
         long start = System.nanoTime();
         List<Posting> postings = postingMapper.toPostingList(postingsBO);
-        Ledger ledger = loadLedger(postings.get(0).getLedger());
-        Map<String, LedgerAccount> accountMap = new HashMap<>();
-        LocalDateTime now = LocalDateTime.now();
-        postings.forEach(p -> performPostingUpdate(ledger, accountMap, now, p));
+        if (!postings.isEmpty()) {
+            Ledger ledger = loadLedger(postings.get(0).getLedger());
+            Map<String, LedgerAccount> accountMap = new HashMap<>();
+            LocalDateTime now = LocalDateTime.now();
+            postings.forEach(p -> performPostingUpdate(ledger, accountMap, now, p));
+        }
         log.info("Reformatting postings in Posting Service in {} seconds.", (double) (System.nanoTime() - start) / NANO_TO_SECOND);
-        CompletableFuture.runAsync(() -> postingRepository.saveAll(postings));
+        return postingsImporter.startImport(postings);
+    }
+
+    @Override
+    public MockImportJobBO getImportJob(String jobId) {
+        return postingsImporter.findJob(jobId)
+                       .orElseThrow(() -> PostingModuleException.builder()
+                                                  .errorCode(IMPORT_JOB_NOT_FOUND)
+                                                  .devMsg(String.format("Import job with id: %s not found!", jobId))
+                                                  .build());
     }
 
     private void performPostingUpdate(Ledger ledger, Map<String, LedgerAccount> accountMap, LocalDateTime now, Posting posting) {
@@ -63,8 +77,8 @@ public class PostingsMockServiceImpl extends AbstractServiceImpl implements Post
         posting.setRecordTime(now);
         posting.setLedger(ledger);
         validateDoubleEntryAccounting(posting);
-        posting.setAntecedentHash("NO HASH - MOCKED TRANSACTION");
-        posting.setAntecedentId("NO ID - MOCKED TRANSACTION");
+        posting.setAntecedentHash(MOCKED_ANTECEDENT_HASH);
+        posting.setAntecedentId(MOCKED_ANTECEDENT_ID);
         posting.getLines().forEach(l -> l.setAccount(resolveAccount(accountMap, l)));
         posting.hash();
         posting.synchLines();
@@ -15,6 +15,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -105,6 +106,20 @@ class PostingMapperTest {
         }
     }
 
+    @Test
+    void toPostingBOList() {
+        // Given
+        Posting posting = getPosting();
+
+        // When
+        List<PostingBO> result = mapper.toPostingBOList(List.of(posting));
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals(posting.getOprId(), result.get(0).getOprId());
+        assertEquals("Operation details", result.get(0).getOprDetails());
+    }
+
     @Test
     void toOperationDetails() {
         // When
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.postings.impl.job;
+
+import de.adorsys.ledgers.postings.api.service.AccountStmtService;
+import de.adorsys.ledgers.postings.db.repository.LedgerAccountRepository;
+import de.adorsys.ledgers.util.exception.PostingModuleException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountStmtClosingJobTest {
+    private static final LocalDateTime CLOSING_TIME = LocalDate.of(2024, 3, 1).atStartOfDay();
+
+    @InjectMocks
+    private AccountStmtClosingJob job;
+    @Mock
+    private AccountStmtService accountStmtService;
+    @Mock
+    private LedgerAccountRepository ledgerAccountRepository;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(job, "batchSize", 2);
+        ReflectionTestUtils.setField(job, "threads", 2);
+    }
+
+    @Test
+    void closeStatements_inBatches() {
+        // Given
+        when(ledgerAccountRepository.findIdsAfter("", PageRequest.of(0, 2))).thenReturn(List.of("a1", "a2"));
+        when(ledgerAccountRepository.findIdsAfter("a2", PageRequest.of(0, 2))).thenReturn(List.of("a3"));
+        when(accountStmtService.closePeriod(any(), eq(CLOSING_TIME))).thenReturn(Optional.empty());
+
+        // When
+        job.closeStatements(CLOSING_TIME);
+
+        // Then
+        verify(accountStmtService, times(3)).closePeriod(any(), eq(CLOSING_TIME));
+        verify(ledgerAccountRepository, times(2)).findIdsAfter(any(), any());
+    }
+
+    @Test
+    void closeStatements_continueOnError() {
+        // Given
+        when(ledgerAccountRepository.findIdsAfter("", PageRequest.of(0, 2))).thenReturn(List.of("a1", "a2"));
+        when(ledgerAccountRepository.findIdsAfter("a2", PageRequest.of(0, 2))).thenReturn(Collections.emptyList());
+        when(accountStmtService.closePeriod(any(), eq(CLOSING_TIME)))
+                .thenThrow(PostingModuleException.builder().build())
+                .thenReturn(Optional.empty());
+
+        // When
+        job.closeStatements(CLOSING_TIME);
+
+        // Then
+        verify(accountStmtService, times(2)).closePeriod(any(), eq(CLOSING_TIME));
+    }
+
+    @Test
+    void closingPeriod() {
+        LocalDate today = LocalDate.of(2024, 3, 17);
+        assertEquals(LocalDate.of(2024, 3, 17).atStartOfDay(), AccountStmtClosingJob.ClosingPeriod.DAY.closingTime(today));
+        assertEquals(CLOSING_TIME, AccountStmtClosingJob.ClosingPeriod.MONTH.closingTime(today));
+    }
+}
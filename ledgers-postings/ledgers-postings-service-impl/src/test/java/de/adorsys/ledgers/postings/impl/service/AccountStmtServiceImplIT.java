@@ -33,6 +33,7 @@ import java.io.InputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.Month;
+import java.util.Optional;
 
 import static de.adorsys.ledgers.util.exception.PostingErrorCode.LEDGER_NOT_FOUND;
 import static org.junit.jupiter.api.Assertions.*;
@@ -201,6 +202,30 @@ class AccountStmtServiceImplIT {
         checkBalance("2332003", dateTime, BigDecimal.valueOf(-5000.00));
     }
 
+    @Test
+    void use_case_newbank_closed_period_ok() throws IOException {
+        loadCoa("sample_coa_banking.yml");
+        loadPosting("use_case_newbank_no_overriden_tx.yml");
+        LedgerBO ledger = loadLedger("Zd0ND5YwSzGwIfZilhumPg");
+        LedgerAccountBO account = loadLedgerAccount(ledger, "11240");
+        LocalDateTime closingTime = LocalDateTime.of(2018, Month.JANUARY, 03, 0, 0);
+
+        Optional<AccountStmtBO> closed = accountStmtService.closePeriod(account, closingTime);
+        assertTrue(closed.isPresent());
+        assertEquals(StmtStatusBO.CLOSED, closed.get().getStmtStatus());
+        assertEquals(2000000.00, closed.get().debitBalance().doubleValue(), 0d);
+        assertTrue(accountStmtService.closePeriod(account, closingTime).isEmpty());
+
+        checkBalance("11240", LocalDateTime.of(2018, Month.JANUARY, 02, 23, 59), new BigDecimal("2000000.00"));
+        checkBalance("11240", LocalDateTime.of(2018, Month.JANUARY, 03, 23, 59), new BigDecimal("1835600.00"));
+        checkBalance("11240", LocalDateTime.of(2018, Month.JANUARY, 8, 23, 59), new BigDecimal("1803600.00"));
+
+        AccountStmtBO stmt = new AccountStmtBO();
+        stmt.setAccount(account);
+        stmt.setPstTime(closingTime.minusDays(1));
+        assertThrows(PostingModuleException.class, () -> accountStmtService.closeStmt(stmt));
+    }
+
     private void checkBalance(String accountNumber, LocalDateTime date, BigDecimal expectedBalance) {
         LedgerBO ledger = loadLedger("Zd0ND5YwSzGwIfZilhumPg");
         LedgerAccountBO account = loadLedgerAccount(ledger, accountNumber);
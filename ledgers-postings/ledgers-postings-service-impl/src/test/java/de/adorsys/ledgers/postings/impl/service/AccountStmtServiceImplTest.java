@@ -10,12 +10,20 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import de.adorsys.ledgers.postings.api.domain.AccountStmtBO;
 import de.adorsys.ledgers.postings.api.domain.LedgerAccountBO;
+import de.adorsys.ledgers.postings.api.domain.StmtStatusBO;
 import de.adorsys.ledgers.postings.db.domain.AccountStmt;
 import de.adorsys.ledgers.postings.db.domain.LedgerAccount;
+import de.adorsys.ledgers.postings.db.domain.LedgerAccountBalance;
 import de.adorsys.ledgers.postings.db.domain.PostingLine;
+import de.adorsys.ledgers.postings.db.domain.PostingLineAggregate;
+import de.adorsys.ledgers.postings.db.domain.StmtStatus;
 import de.adorsys.ledgers.postings.db.repository.AccountStmtRepository;
 import de.adorsys.ledgers.postings.db.repository.LedgerAccountRepository;
 import de.adorsys.ledgers.postings.db.repository.PostingLineRepository;
+import de.adorsys.ledgers.postings.db.repository.PostingTraceRepository;
+import de.adorsys.ledgers.util.exception.PostingModuleException;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -27,12 +35,10 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.times;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 @Slf4j
@@ -45,6 +51,12 @@ class AccountStmtServiceImplTest {
     private PostingLineRepository postingLineRepository;
     @Mock
     private LedgerAccountRepository ledgerAccountRepository;
+    @Mock
+    private PostingTraceRepository postingTraceRepository;
+    @Mock
+    private LedgerAccountBalanceService ledgerAccountBalanceService;
+    @Mock
+    private LedgerHeadService ledgerHeadService;
 
     private static final ObjectMapper MAPPER = getObjectMapper();
 
@@ -53,16 +65,61 @@ class AccountStmtServiceImplTest {
     @Test
     void readStmt() {
         when(ledgerAccountRepository.findById(any())).thenReturn(Optional.of(new LedgerAccount()));
-        when(postingLineRepository.findByAccountAndPstTimeLessThanEqualAndDiscardedTimeIsNullOrderByRecordTimeDesc(any(),any()))
-                .thenReturn( List.of(getLine(true, true), getLine(false, true)));
+        when(postingLineRepository.aggregateUntil(any(), any())).thenReturn(getAggregate(new BigDecimal(11), new BigDecimal(11), "lineId"));
+        when(postingLineRepository.findById("lineId")).thenReturn(Optional.of(getLine(true, true)));
         AccountStmtBO result = service.readStmt(account, LocalDateTime.now());
         assertNotNull(result);
+        assertEquals(new BigDecimal(11), result.getTotalDebit());
+        assertNotNull(result.getYoungestPst());
+        verify(postingLineRepository, never()).findByAccountAndPstTimeLessThanEqualAndDiscardedTimeIsNullOrderByRecordTimeDesc(any(), any());
         verify(accountStmtRepository, times(1)).findFirstByAccountAndStmtStatusAndPstTimeLessThanOrderByPstTimeDescStmtSeqNbrDesc(any(), any(), any());
     }
 
+    @Test
+    void readStmt_fromBalance() {
+        when(ledgerAccountRepository.findById(any())).thenReturn(Optional.of(getAccount()));
+        when(ledgerAccountBalanceService.findBalance(any())).thenReturn(Optional.of(getBalance(LocalDateTime.now().minusDays(1))));
+        AccountStmtBO result = service.readStmt(account, LocalDateTime.now());
+        assertEquals(BigDecimal.TEN, result.getTotalDebit());
+        assertEquals(BigDecimal.ONE, result.getTotalCredit());
+        assertEquals("lineId", result.getYoungestPst().getSrcPstId());
+        verifyNoInteractions(postingLineRepository, accountStmtRepository);
+    }
+
+    @Test
+    void readStmt_fromBalance_historical() {
+        LocalDateTime refTime = LocalDateTime.now().minusDays(2);
+        when(ledgerAccountRepository.findById(any())).thenReturn(Optional.of(getAccount()));
+        when(ledgerAccountBalanceService.findBalance(any())).thenReturn(Optional.of(getBalance(LocalDateTime.now().minusDays(1))));
+        when(postingLineRepository.aggregateBetween(any(), eq(refTime), any())).thenReturn(getAggregate(BigDecimal.ONE, BigDecimal.ONE, "lineId"));
+        when(postingLineRepository.findFirstByAccountAndPstTimeLessThanEqualAndDiscardedTimeIsNullOrderByPstTimeDesc(any(), any()))
+                .thenReturn(Optional.empty());
+        AccountStmtBO result = service.readStmt(account, refTime);
+        assertEquals(new BigDecimal(9), result.getTotalDebit());
+        assertEquals(BigDecimal.ZERO, result.getTotalCredit());
+        assertNull(result.getYoungestPst());
+        verify(postingLineRepository, never()).aggregateUntil(any(), any());
+    }
+
+    @Test
+    void readStmt_metrics() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Metrics.addRegistry(registry);
+        try {
+            when(ledgerAccountRepository.findById(any())).thenReturn(Optional.of(new LedgerAccount()));
+            when(postingLineRepository.aggregateUntil(any(), any())).thenReturn(getAggregate(BigDecimal.ONE, BigDecimal.ONE, null));
+            service.readStmt(account, LocalDateTime.now());
+            assertEquals(1, registry.get("ledgers.stmt.read").timer().count());
+            assertEquals(1, registry.get("ledgers.stmt.lines.scanned").tag("source", "all").summary().totalAmount());
+        } finally {
+            Metrics.removeRegistry(registry);
+        }
+    }
+
     @Test
     void createStmt() {
         when(ledgerAccountRepository.findById(any())).thenReturn(Optional.of(new LedgerAccount()));
+        when(postingLineRepository.aggregateUntil(any(), any())).thenReturn(getAggregate(BigDecimal.ZERO, BigDecimal.ZERO, null));
         when(accountStmtRepository.save(any())).thenReturn(new AccountStmt());
         AccountStmtBO result = service.createStmt(account, LocalDateTime.now());
         assertNotNull(result);
@@ -71,8 +128,139 @@ class AccountStmtServiceImplTest {
 
     @Test
     void closeStmt() {
-        AccountStmtBO result = service.closeStmt(new AccountStmtBO());
-        assertNull(result);
+        LocalDateTime closingTime = LocalDateTime.now().minusDays(1);
+        AccountStmtBO stmt = new AccountStmtBO();
+        stmt.setAccount(account);
+        stmt.setPstTime(closingTime);
+        when(ledgerAccountRepository.findById(any())).thenReturn(Optional.of(getAccount()));
+        when(accountStmtRepository.findFirstByAccountAndStmtStatusAndPstTimeGreaterThanEqual(any(), any(), any())).thenReturn(Optional.empty());
+        when(accountStmtRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+        when(postingLineRepository.aggregateUntil(any(), eq(closingTime))).thenReturn(getAggregate(BigDecimal.TEN, BigDecimal.ONE, "lineId"));
+        when(postingLineRepository.findById("lineId")).thenReturn(Optional.of(getLine(true, true)));
+        when(postingTraceRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+
+        AccountStmtBO result = service.closeStmt(stmt);
+
+        assertEquals(StmtStatusBO.CLOSED, result.getStmtStatus());
+        assertEquals(BigDecimal.TEN, result.getTotalDebit());
+        verify(ledgerHeadService, times(1)).lock(any());
+        verify(postingLineRepository, times(1)).updateBaseLine(any(), eq(closingTime), eq(result.getId()));
+    }
+
+    @Test
+    void closeStmt_alreadyClosed() {
+        AccountStmtBO stmt = new AccountStmtBO();
+        stmt.setAccount(account);
+        stmt.setPstTime(LocalDateTime.now().minusDays(1));
+        when(ledgerAccountRepository.findById(any())).thenReturn(Optional.of(getAccount()));
+        when(accountStmtRepository.findFirstByAccountAndStmtStatusAndPstTimeGreaterThanEqual(any(), any(), any())).thenReturn(Optional.of(getClosedStmt()));
+
+        assertThrows(PostingModuleException.class, () -> service.closeStmt(stmt));
+        verify(accountStmtRepository, never()).save(any());
+    }
+
+    @Test
+    void closePeriod_fromBaseLine() {
+        LocalDateTime closingTime = LocalDateTime.now().minusDays(1);
+        AccountStmt baseLine = getClosedStmt();
+        PostingLine line = getLine(true, true);
+        when(ledgerAccountRepository.findById(any())).thenReturn(Optional.of(getAccount()));
+        when(accountStmtRepository.findFirstByAccountAndStmtStatusAndPstTimeGreaterThanEqual(any(), any(), any())).thenReturn(Optional.empty());
+        when(accountStmtRepository.findFirstByAccountAndStmtStatusAndPstTimeLessThanOrderByPstTimeDescStmtSeqNbrDesc(any(), any(), any())).thenReturn(Optional.of(baseLine));
+        when(postingLineRepository.existsByAccountAndPstTimeGreaterThanAndPstTimeLessThanEqual(any(), eq(baseLine.getPstTime()), eq(closingTime))).thenReturn(true);
+        when(postingLineRepository.aggregateBetween(any(), eq(baseLine.getPstTime()), eq(closingTime))).thenReturn(getAggregate(BigDecimal.TEN, BigDecimal.ONE, "lineId"));
+        when(postingLineRepository.findById("lineId")).thenReturn(Optional.of(line));
+        when(accountStmtRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+        when(postingTraceRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+
+        Optional<AccountStmtBO> result = service.closePeriod(account, closingTime);
+
+        assertTrue(result.isPresent());
+        assertEquals(new BigDecimal(110), result.get().getTotalDebit());
+        assertEquals(new BigDecimal(101), result.get().getTotalCredit());
+        verify(postingLineRepository, never()).aggregateUntil(any(), any());
+    }
+
+    @Test
+    void closePeriod_nothingBooked() {
+        when(ledgerAccountRepository.findById(any())).thenReturn(Optional.of(getAccount()));
+        when(accountStmtRepository.findFirstByAccountAndStmtStatusAndPstTimeGreaterThanEqual(any(), any(), any())).thenReturn(Optional.empty());
+
+        Optional<AccountStmtBO> result = service.closePeriod(account, LocalDateTime.now());
+
+        assertTrue(result.isEmpty());
+        verify(accountStmtRepository, never()).save(any());
+    }
+
+    @Test
+    void closePeriod_firstClosing() {
+        LocalDateTime closingTime = LocalDateTime.now().minusDays(1);
+        when(ledgerAccountRepository.findById(any())).thenReturn(Optional.of(getAccount()));
+        when(accountStmtRepository.findFirstByAccountAndStmtStatusAndPstTimeGreaterThanEqual(any(), any(), any())).thenReturn(Optional.empty());
+        when(postingLineRepository.existsByAccountAndPstTimeLessThanEqual(any(), eq(closingTime))).thenReturn(true);
+        when(postingLineRepository.aggregateUntil(any(), eq(closingTime))).thenReturn(getAggregate(BigDecimal.TEN, BigDecimal.TEN, null));
+        when(accountStmtRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+
+        Optional<AccountStmtBO> result = service.closePeriod(account, closingTime);
+
+        assertTrue(result.isPresent());
+        assertEquals(BigDecimal.TEN, result.get().getTotalDebit());
+        verify(ledgerHeadService, times(1)).lock(any());
+    }
+
+    private PostingLineAggregate getAggregate(BigDecimal debit, BigDecimal credit, String youngestLineId) {
+        return new PostingLineAggregate() {
+            @Override
+            public BigDecimal getTotalDebit() {
+                return debit;
+            }
+
+            @Override
+            public BigDecimal getTotalCredit() {
+                return credit;
+            }
+
+            @Override
+            public LocalDateTime getYoungestPstTime() {
+                return LocalDateTime.now();
+            }
+
+            @Override
+            public String getYoungestLineId() {
+                return youngestLineId;
+            }
+
+            @Override
+            public long getLineCount() {
+                return 1;
+            }
+        };
+    }
+
+    private AccountStmt getClosedStmt() {
+        AccountStmt stmt = new AccountStmt();
+        stmt.setId("closedId");
+        stmt.setAccount(getAccount());
+        stmt.setPstTime(LocalDateTime.now().minusDays(10));
+        stmt.setStmtStatus(StmtStatus.CLOSED);
+        stmt.setTotalDebit(new BigDecimal(100));
+        stmt.setTotalCredit(new BigDecimal(100));
+        return stmt;
+    }
+
+    private LedgerAccount getAccount() {
+        LedgerAccount ledgerAccount = new LedgerAccount();
+        ledgerAccount.setId("accountId");
+        return ledgerAccount;
+    }
+
+    private LedgerAccountBalance getBalance(LocalDateTime youngestPstTime) {
+        LedgerAccountBalance balance = new LedgerAccountBalance("accountId");
+        balance.setTotalDebit(BigDecimal.TEN);
+        balance.setTotalCredit(BigDecimal.ONE);
+        balance.setYoungestLineId("lineId");
+        balance.setYoungestPstTime(youngestPstTime);
+        return balance;
     }
 
     private PostingLine getLine(boolean isDebitLine, boolean isValid) {
@@ -81,6 +269,7 @@ class AccountStmtServiceImplTest {
         line.setDebitAmount(isDebitLine && isValid ? BigDecimal.TEN : BigDecimal.ONE);
         line.setCreditAmount(!isDebitLine && isValid ? BigDecimal.TEN : BigDecimal.ONE);
         line.setPstTime(LocalDateTime.now());
+        line.setOprId("oprId");
         return line;
     }
 
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.postings.impl.service;
+
+import de.adorsys.ledgers.postings.db.domain.LedgerAccount;
+import de.adorsys.ledgers.postings.db.domain.LedgerAccountBalance;
+import de.adorsys.ledgers.postings.db.domain.PostingLine;
+import de.adorsys.ledgers.postings.db.domain.PostingLineAggregate;
+import de.adorsys.ledgers.postings.db.repository.LedgerAccountBalanceRepository;
+import de.adorsys.ledgers.postings.db.repository.LedgerAccountRepository;
+import de.adorsys.ledgers.postings.db.repository.PostingLineRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerAccountBalanceServiceTest {
+    private static final LocalDateTime PST_TIME = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @InjectMocks
+    private LedgerAccountBalanceService service;
+    @Mock
+    private LedgerAccountBalanceRepository balanceRepository;
+    @Mock
+    private LedgerAccountRepository ledgerAccountRepository;
+    @Mock
+    private PostingLineRepository postingLineRepository;
+    @Mock
+    private EntityManager entityManager;
+
+    @Test
+    void updateBalances_applyLines() {
+        // Given
+        LedgerAccountBalance balance = new LedgerAccountBalance("acc1");
+        when(balanceRepository.findForUpdate("acc1")).thenReturn(Optional.of(balance));
+
+        // When
+        service.updateBalances(List.of(getLine("l1", "acc1", BigDecimal.TEN, BigDecimal.ZERO, PST_TIME),
+                                       getLine("l2", "acc1", BigDecimal.ZERO, BigDecimal.ONE, PST_TIME.plusHours(1))),
+                               Collections.emptyList());
+
+        // Then
+        assertEquals(BigDecimal.TEN, balance.getTotalDebit());
+        assertEquals(BigDecimal.ONE, balance.getTotalCredit());
+        assertEquals("l2", balance.getYoungestLineId());
+        verify(balanceRepository, times(1)).save(balance);
+        verifyNoInteractions(postingLineRepository);
+    }
+
+    @Test
+    void updateBalances_discardYoungest() {
+        // Given
+        LedgerAccountBalance balance = new LedgerAccountBalance("acc1");
+        PostingLine discarded = getLine("l1", "acc1", BigDecimal.TEN, BigDecimal.ZERO, PST_TIME);
+        balance.addLine(discarded);
+        PostingLine added = getLine("l2", "acc1", BigDecimal.ONE, BigDecimal.ZERO, PST_TIME.minusDays(1));
+        when(balanceRepository.findForUpdate("acc1")).thenReturn(Optional.of(balance));
+        when(postingLineRepository.findFirstByAccountAndDiscardedTimeIsNullOrderByPstTimeDesc(any())).thenReturn(Optional.of(added));
+
+        // When
+        service.updateBalances(List.of(added), List.of(discarded));
+
+        // Then
+        assertEquals(BigDecimal.ONE, balance.getTotalDebit());
+        assertEquals("l2", balance.getYoungestLineId());
+        assertEquals(PST_TIME.minusDays(1), balance.getYoungestPstTime());
+    }
+
+    @Test
+    void updateBalances_rebuildMissingBalance() {
+        // Given
+        when(balanceRepository.findForUpdate("acc1")).thenReturn(Optional.empty());
+        PostingLineAggregate aggregate = mock(PostingLineAggregate.class);
+        when(aggregate.getTotalDebit()).thenReturn(new BigDecimal(11));
+        when(aggregate.getTotalCredit()).thenReturn(BigDecimal.ZERO);
+        when(aggregate.getYoungestLineId()).thenReturn("l2");
+        when(postingLineRepository.aggregate(any())).thenReturn(aggregate);
+        PostingLine added = getLine("l2", "acc1", BigDecimal.ONE, BigDecimal.ZERO, PST_TIME);
+        when(postingLineRepository.findById("l2")).thenReturn(Optional.of(added));
+
+        // When
+        service.updateBalances(List.of(added), Collections.emptyList());
+
+        // Then
+        verify(ledgerAccountRepository, times(1)).findForUpdate("acc1");
+        ArgumentCaptor<LedgerAccountBalance> captor = ArgumentCaptor.forClass(LedgerAccountBalance.class);
+        verify(entityManager).persist(captor.capture());
+        assertEquals(new BigDecimal(11), captor.getValue().getTotalDebit());
+        assertEquals("l2", captor.getValue().getYoungestLineId());
+        verify(balanceRepository, never()).save(any());
+    }
+
+    @Test
+    void updateBalances_missingBalanceRebuiltConcurrently() {
+        // Given
+        LedgerAccountBalance concurrent = new LedgerAccountBalance("acc1");
+        concurrent.setTotalDebit(BigDecimal.TEN);
+        when(balanceRepository.findForUpdate("acc1")).thenReturn(Optional.empty(), Optional.of(concurrent));
+
+        // When
+        service.updateBalances(List.of(getLine("l2", "acc1", BigDecimal.ONE, BigDecimal.ZERO, PST_TIME)), Collections.emptyList());
+
+        // Then
+        verify(ledgerAccountRepository, times(1)).findForUpdate("acc1");
+        verifyNoInteractions(entityManager);
+        assertEquals(new BigDecimal(11), concurrent.getTotalDebit());
+        verify(balanceRepository, times(1)).save(concurrent);
+    }
+
+    private PostingLine getLine(String id, String accountId, BigDecimal debit, BigDecimal credit, LocalDateTime pstTime) {
+        LedgerAccount account = new LedgerAccount();
+        account.setId(accountId);
+        PostingLine line = new PostingLine();
+        line.setId(id);
+        line.setAccount(account);
+        line.setDebitAmount(debit);
+        line.setCreditAmount(credit);
+        line.setPstTime(pstTime);
+        return line;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.postings.impl.service;
+
+import de.adorsys.ledgers.postings.db.domain.Ledger;
+import de.adorsys.ledgers.postings.db.domain.LedgerHead;
+import de.adorsys.ledgers.postings.db.domain.Posting;
+import de.adorsys.ledgers.postings.db.repository.LedgerHeadRepository;
+import de.adorsys.ledgers.postings.db.repository.LedgerRepository;
+import de.adorsys.ledgers.postings.db.repository.PostingRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerHeadServiceTest {
+    private static final String LEDGER_ID = "ledger";
+
+    @InjectMocks
+    private LedgerHeadService service;
+    @Mock
+    private LedgerHeadRepository ledgerHeadRepository;
+    @Mock
+    private LedgerRepository ledgerRepository;
+    @Mock
+    private PostingRepository postingRepository;
+    @Mock
+    private EntityManager entityManager;
+
+    @Test
+    void lock_storedHead() {
+        // Given
+        LedgerHead head = new LedgerHead(LEDGER_ID);
+        when(ledgerHeadRepository.findForUpdate(LEDGER_ID)).thenReturn(Optional.of(head));
+
+        // When
+        LedgerHead result = service.lock(getLedger());
+
+        // Then
+        assertSame(head, result);
+        verifyNoInteractions(ledgerRepository, postingRepository, entityManager);
+    }
+
+    @Test
+    void lock_createMissingHead() {
+        // Given
+        LedgerHead created = new LedgerHead(LEDGER_ID);
+        when(ledgerHeadRepository.findForUpdate(LEDGER_ID)).thenReturn(Optional.empty(), Optional.of(created));
+        Posting latest = new Posting();
+        latest.setId("posting");
+        latest.setHash("hash");
+        when(postingRepository.findFirstByLedgerOrderByRecordTimeDesc(any())).thenReturn(Optional.of(latest));
+
+        // When
+        LedgerHead result = service.lock(getLedger());
+
+        // Then
+        verify(ledgerRepository, times(1)).findForUpdate(LEDGER_ID);
+        ArgumentCaptor<LedgerHead> captor = ArgumentCaptor.forClass(LedgerHead.class);
+        verify(entityManager).persist(captor.capture());
+        assertEquals("posting", captor.getValue().getHeadPostingId());
+        assertEquals("hash", captor.getValue().getHeadHash());
+        assertSame(created, result);
+    }
+
+    @Test
+    void lock_missingHeadCreatedConcurrently() {
+        // Given
+        LedgerHead concurrent = new LedgerHead(LEDGER_ID);
+        when(ledgerHeadRepository.findForUpdate(LEDGER_ID)).thenReturn(Optional.empty(), Optional.of(concurrent));
+        when(ledgerHeadRepository.existsById(LEDGER_ID)).thenReturn(true);
+
+        // When
+        LedgerHead result = service.lock(getLedger());
+
+        // Then
+        verify(ledgerRepository, times(1)).findForUpdate(LEDGER_ID);
+        verifyNoInteractions(postingRepository, entityManager);
+        assertSame(concurrent, result);
+    }
+
+    @Test
+    void lockShared_createMissingHead() {
+        // Given
+        when(ledgerHeadRepository.findForShare(LEDGER_ID)).thenReturn(Optional.empty(), Optional.of(new LedgerHead(LEDGER_ID)));
+        when(postingRepository.findFirstByLedgerOrderByRecordTimeDesc(any())).thenReturn(Optional.empty());
+
+        // When
+        service.lockShared(getLedger());
+
+        // Then
+        verify(entityManager, times(1)).persist(any(LedgerHead.class));
+        verify(ledgerHeadRepository, times(2)).findForShare(LEDGER_ID);
+        verify(ledgerHeadRepository, never()).findForUpdate(any());
+    }
+
+    private Ledger getLedger() {
+        Ledger ledger = new Ledger();
+        ledger.setId(LEDGER_ID);
+        return ledger;
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.postings.impl.service;
+
+import de.adorsys.ledgers.postings.api.domain.LedgerIntegrityReportBO;
+import de.adorsys.ledgers.postings.api.domain.LedgerIntegrityViolationBO;
+import de.adorsys.ledgers.postings.db.domain.*;
+import de.adorsys.ledgers.postings.db.repository.LedgerHeadRepository;
+import de.adorsys.ledgers.postings.db.repository.LedgerRepository;
+import de.adorsys.ledgers.postings.db.repository.PostingRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerIntegrityServiceImplTest {
+    private static final String LEDGER_ID = "ledgerId";
+    private static final LocalDateTime DATE_TIME = LocalDateTime.now();
+
+    @Mock
+    private LedgerRepository ledgerRepository;
+    @Mock
+    private PostingRepository postingRepository;
+    @Mock
+    private LedgerHeadRepository ledgerHeadRepository;
+    @Mock
+    private EntityManager entityManager;
+
+    private LedgerIntegrityServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new LedgerIntegrityServiceImpl(ledgerRepository, postingRepository, ledgerHeadRepository, entityManager, 2);
+        ReflectionTestUtils.setField(service, "segmentSize", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.destroy();
+    }
+
+    @Test
+    void verifyLedgers_intact() {
+        // Given
+        Ledger ledger = getLedger();
+        List<Posting> postings = getChain(ledger, 5);
+        when(ledgerRepository.findAll()).thenReturn(List.of(ledger));
+        when(postingRepository.streamByLedger(ledger)).thenReturn(postings.stream());
+        when(ledgerHeadRepository.findById(LEDGER_ID)).thenReturn(Optional.of(getHead(postings.get(4))));
+
+        // When
+        List<LedgerIntegrityReportBO> result = service.verifyLedgers();
+
+        // Then
+        assertEquals(1, result.size());
+        assertTrue(result.get(0).isIntact());
+        assertEquals(5, result.get(0).getVerifiedPostings());
+        assertNull(result.get(0).getViolation());
+        verify(entityManager, times(5)).detach(any(Posting.class));
+        verify(entityManager, times(1)).clear();
+    }
+
+    @Test
+    void verifyLedgers_tampered_posting() {
+        // Given
+        Ledger ledger = getLedger();
+        List<Posting> postings = getChain(ledger, 5);
+        postings.get(2).setOprType("TAMPERED");
+        when(ledgerRepository.findAll()).thenReturn(List.of(ledger));
+        when(postingRepository.streamByLedger(ledger)).thenReturn(postings.stream());
+        when(ledgerHeadRepository.findById(LEDGER_ID)).thenReturn(Optional.of(getHead(postings.get(4))));
+
+        // When
+        LedgerIntegrityReportBO result = service.verifyLedgers().get(0);
+
+        // Then
+        assertFalse(result.isIntact());
+        assertEquals(LedgerIntegrityViolationBO.HASH_MISMATCH, result.getViolation());
+        assertEquals(postings.get(2).getId(), result.getBrokenPostingId());
+    }
+
+    @Test
+    void verifyLedgers_missing_posting() {
+        // Given
+        Ledger ledger = getLedger();
+        List<Posting> postings = getChain(ledger, 5);
+        postings.remove(2);
+        when(ledgerRepository.findAll()).thenReturn(List.of(ledger));
+        when(postingRepository.streamByLedger(ledger)).thenReturn(postings.stream());
+        when(ledgerHeadRepository.findById(LEDGER_ID)).thenReturn(Optional.of(getHead(postings.get(3))));
+
+        // When
+        LedgerIntegrityReportBO result = service.verifyLedgers().get(0);
+
+        // Then
+        assertFalse(result.isIntact());
+        assertEquals(LedgerIntegrityViolationBO.BROKEN_LINK, result.getViolation());
+        assertEquals(postings.get(1).getId(), result.getBrokenPostingId());
+    }
+
+    @Test
+    void verifyLedgers_head_mismatch() {
+        // Given
+        Ledger ledger = getLedger();
+        List<Posting> postings = getChain(ledger, 3);
+        when(ledgerRepository.findAll()).thenReturn(List.of(ledger));
+        when(postingRepository.streamByLedger(ledger)).thenReturn(postings.stream());
+        when(ledgerHeadRepository.findById(LEDGER_ID)).thenReturn(Optional.of(getHead(postings.get(1))));
+
+        // When
+        LedgerIntegrityReportBO result = service.verifyLedgers().get(0);
+
+        // Then
+        assertFalse(result.isIntact());
+        assertEquals(LedgerIntegrityViolationBO.HEAD_MISMATCH, result.getViolation());
+        assertEquals(postings.get(2).getId(), result.getBrokenPostingId());
+    }
+
+    @Test
+    void verifyLedgers_base_line_moved_by_closing() {
+        // Given
+        Ledger ledger = getLedger();
+        List<Posting> postings = getChain(ledger, 4);
+        // Closing a statement after the second posting moves the base line of the later lines
+        postings.subList(2, 4).forEach(p -> p.getLines().forEach(l -> l.setBaseLine("closedStmtId")));
+        when(ledgerRepository.findAll()).thenReturn(List.of(ledger));
+        when(postingRepository.streamByLedger(ledger)).thenReturn(postings.stream());
+        when(ledgerHeadRepository.findById(LEDGER_ID)).thenReturn(Optional.of(getHead(postings.get(3))));
+
+        // When
+        LedgerIntegrityReportBO result = service.verifyLedgers().get(0);
+
+        // Then
+        assertTrue(result.isIntact());
+        assertNull(result.getViolation());
+        assertEquals(4, result.getVerifiedPostings());
+    }
+
+    private List<Posting> getChain(Ledger ledger, int size) {
+        List<Posting> postings = new ArrayList<>();
+        Posting antecedent = null;
+        for (int i = 0; i < size; i++) {
+            Posting posting = new Posting();
+            posting.setId("posting" + i);
+            posting.setOprId("opr" + i);
+            posting.setOprType("TYPE");
+            posting.setRecordTime(DATE_TIME.plusSeconds(i));
+            posting.setPstTime(DATE_TIME);
+            posting.setPstType(PostingType.BUSI_TX);
+            posting.setLedger(ledger);
+            posting.getLines().add(getLine(posting, ledger));
+            if (antecedent != null) {
+                posting.setAntecedentId(antecedent.getId());
+                posting.setAntecedentHash(antecedent.getHash());
+            }
+            postings.add(posting.hash());
+            antecedent = posting;
+        }
+        return postings;
+    }
+
+    private PostingLine getLine(Posting posting, Ledger ledger) {
+        LedgerAccount account = new LedgerAccount();
+        account.setId("account");
+        account.setLedger(ledger);
+        PostingLine line = new PostingLine();
+        line.setId(posting.getId() + "-line");
+        line.setAccount(account);
+        line.setDebitAmount(BigDecimal.TEN);
+        line.setCreditAmount(BigDecimal.ZERO);
+        return line;
+    }
+
+    private LedgerHead getHead(Posting posting) {
+        LedgerHead head = new LedgerHead(LEDGER_ID);
+        head.moveTo(posting);
+        return head;
+    }
+
+    private Ledger getLedger() {
+        return new Ledger(LEDGER_ID, DATE_TIME, "User", "Some short description",
+                          "Some long description", "ledger", new ChartOfAccount("id", DATE_TIME, "User details",
+                                                                               "Some short description", "Some long description", "coa"));
+    }
+}
@@ -10,6 +10,7 @@ import de.adorsys.ledgers.postings.api.domain.LedgerBO;
 import de.adorsys.ledgers.postings.db.domain.*;
 import de.adorsys.ledgers.postings.db.repository.ChartOfAccountRepository;
 import de.adorsys.ledgers.postings.db.repository.LedgerAccountRepository;
+import de.adorsys.ledgers.postings.db.repository.LedgerHeadRepository;
 import de.adorsys.ledgers.postings.db.repository.LedgerRepository;
 import de.adorsys.ledgers.postings.impl.converter.LedgerAccountMapper;
 import de.adorsys.ledgers.postings.impl.converter.LedgerMapper;
@@ -20,14 +21,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mapstruct.factory.Mappers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class LedgerServiceImplTest {
@@ -53,6 +56,12 @@ class LedgerServiceImplTest {
     private LedgerRepository ledgerRepository;
     @Mock
     private LedgerAccountRepository ledgerAccountRepository;
+    @Mock
+    private LedgerAccountBalanceService ledgerAccountBalanceService;
+    @Mock
+    private LedgerHeadRepository ledgerHeadRepository;
+    @Spy
+    private LedgerMetadataCache metadataCache = new LedgerMetadataCache(100, Duration.ofMinutes(1), Duration.ofMinutes(1));
 
     @Test
     void new_ledger_must_produce_id_created_user_copy_other_fields() {
@@ -71,6 +80,7 @@ class LedgerServiceImplTest {
         assertEquals(LEDGER.getName(), result.getName());
         assertEquals(LEDGER.getShortDesc(), result.getShortDesc());
         assertEquals(LEDGER.getLongDesc(), result.getLongDesc());
+        verify(ledgerHeadRepository, times(1)).save(new LedgerHead(result.getId()));
 
         assertNotNull(result.getCoa());
     }
@@ -95,6 +105,7 @@ class LedgerServiceImplTest {
 
         assertNotNull(result.getCoa());
         assertNotNull(result.getLedger());
+        verify(ledgerAccountBalanceService, times(1)).createBalance(result.getId());
     }
 
     @Test
@@ -116,6 +127,36 @@ class LedgerServiceImplTest {
         assertEquals(new LedgerAccountBO(), result);
     }
 
+    @Test
+    void findLedgerAccountById_cached() {
+        // Given
+        when(ledgerAccountRepository.findById(anyString())).thenReturn(Optional.of(LEDGER_ACCOUNT));
+
+        // When
+        LedgerAccountBO first = ledgerService.findLedgerAccountById(LEDGER_ACCOUNT.getId());
+        LedgerAccountBO second = ledgerService.findLedgerAccountById(LEDGER_ACCOUNT.getId());
+
+        // Then
+        assertSame(first, second);
+        verify(ledgerAccountRepository, times(1)).findById(LEDGER_ACCOUNT.getId());
+    }
+
+    @Test
+    void findLedgerByName_cached_until_evicted() {
+        // Given
+        when(ledgerRepository.findOptionalByName(LEDGER.getName())).thenReturn(Optional.of(LEDGER));
+
+        // When
+        ledgerService.findLedgerByName(LEDGER.getName());
+        ledgerService.findLedgerByName(LEDGER.getName());
+        ledgerService.evictMetadataCache();
+        Optional<LedgerBO> result = ledgerService.findLedgerByName(LEDGER.getName());
+
+        // Then
+        assertEquals(LEDGER.getId(), result.map(LedgerBO::getId).orElse(null));
+        verify(ledgerRepository, times(2)).findOptionalByName(LEDGER.getName());
+    }
+
     @Test
     void findLedgerAccountById_nf() {
         // Given
@@ -138,6 +179,25 @@ class LedgerServiceImplTest {
         assertEquals(new LedgerAccountBO(), result);
     }
 
+    @Test
+    void findLedgerAccount_cached() {
+        // Given
+        LedgerAccount account = new LedgerAccount();
+        account.setId("cached");
+        when(ledgerAccountRepository.findOptionalByLedgerAndName(any(), anyString())).thenReturn(Optional.of(account));
+        when(ledgerRepository.findOptionalByName("name")).thenReturn(Optional.of(LEDGER));
+
+        // When
+        ledgerService.findLedgerAccount(new LedgerBO("name", null), LEDGER_ACCOUNT.getName());
+        LedgerAccountBO cached = ledgerService.findLedgerAccount(new LedgerBO("name", null), LEDGER_ACCOUNT.getName());
+
+        // Then
+        assertEquals("cached", cached.getId());
+        verify(ledgerRepository, times(2)).findOptionalByName("name");
+        verify(ledgerAccountRepository, times(1)).findOptionalByLedgerAndName(any(), anyString());
+        verify(ledgerAccountRepository, never()).existsById(any());
+    }
+
     @Test
     void findLedgerAccount_nf() {
         when(ledgerAccountRepository.findOptionalByLedgerAndName(any(), anyString())).thenReturn(Optional.empty());
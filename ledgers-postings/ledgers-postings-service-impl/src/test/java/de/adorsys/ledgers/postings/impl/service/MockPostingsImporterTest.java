@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.postings.impl.service;
+
+import de.adorsys.ledgers.postings.api.domain.MockImportJobBO;
+import de.adorsys.ledgers.postings.api.domain.MockImportStatusBO;
+import de.adorsys.ledgers.postings.db.domain.Posting;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MockPostingsImporterTest {
+    private static final int CHUNK_SIZE = 2;
+
+    @Mock
+    private MockPostingsWriter writer;
+
+    @Test
+    void startImport_chunked() {
+        // Given
+        MockPostingsImporter importer = new MockPostingsImporter(writer, CHUNK_SIZE, 2, 1);
+
+        // When
+        String jobId = importer.startImport(getPostings(5));
+
+        // Then
+        verify(writer, timeout(1000).times(3)).write(anyList());
+        verify(writer, times(1)).write(argThat(chunk -> chunk.size() == 1));
+        MockImportJobBO job = awaitFinished(importer, jobId);
+        assertEquals(MockImportStatusBO.COMPLETED, job.getStatus());
+        assertEquals(5, job.getTotal());
+        assertEquals(5, job.getImported());
+        assertEquals(0, job.getFailed());
+    }
+
+    @Test
+    void startImport_failedChunk() {
+        // Given
+        MockPostingsImporter importer = new MockPostingsImporter(writer, CHUNK_SIZE, 1, 1);
+        doThrow(new IllegalStateException("constraint violation")).doNothing().when(writer).write(anyList());
+
+        // When
+        String jobId = importer.startImport(getPostings(4));
+
+        // Then
+        MockImportJobBO job = awaitFinished(importer, jobId);
+        assertEquals(MockImportStatusBO.FAILED, job.getStatus());
+        assertEquals(2, job.getImported());
+        assertEquals(2, job.getFailed());
+        assertEquals(List.of("constraint violation"), job.getErrors());
+    }
+
+    @Test
+    void startImport_empty() {
+        // Given
+        MockPostingsImporter importer = new MockPostingsImporter(writer, CHUNK_SIZE, 1, 1);
+
+        // When
+        String jobId = importer.startImport(Collections.emptyList());
+
+        // Then
+        assertEquals(MockImportStatusBO.COMPLETED, importer.findJob(jobId).orElseThrow().getStatus());
+        verifyNoInteractions(writer);
+    }
+
+    @Test
+    void findJob_unknown() {
+        MockPostingsImporter importer = new MockPostingsImporter(writer, CHUNK_SIZE, 1, 1);
+
+        assertTrue(importer.findJob("unknown").isEmpty());
+    }
+
+    private MockImportJobBO awaitFinished(MockPostingsImporter importer, String jobId) {
+        long deadline = System.currentTimeMillis() + 1000;
+        MockImportJobBO job = importer.findJob(jobId).orElseThrow();
+        while (job.getStatus() == MockImportStatusBO.RUNNING && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+            job = importer.findJob(jobId).orElseThrow();
+        }
+        return job;
+    }
+
+    private List<Posting> getPostings(int count) {
+        return IntStream.range(0, count)
+                       .mapToObj(i -> new Posting())
+                       .collect(Collectors.toList());
+    }
+}
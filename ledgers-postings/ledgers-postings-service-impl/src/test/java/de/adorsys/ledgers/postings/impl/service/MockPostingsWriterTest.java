@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.postings.impl.service;
+
+import de.adorsys.ledgers.postings.db.domain.*;
+import de.adorsys.ledgers.postings.db.repository.AccountStmtRepository;
+import de.adorsys.ledgers.postings.db.repository.PostingRepository;
+import de.adorsys.ledgers.util.exception.PostingModuleException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MockPostingsWriterTest {
+    private static final LocalDateTime PST_TIME = LocalDateTime.of(2024, 1, 10, 12, 0);
+
+    @InjectMocks
+    private MockPostingsWriter writer;
+    @Mock
+    private PostingRepository postingRepository;
+    @Mock
+    private AccountStmtRepository accountStmtRepository;
+    @Mock
+    private LedgerAccountBalanceService ledgerAccountBalanceService;
+    @Mock
+    private LedgerHeadService ledgerHeadService;
+
+    @Test
+    void write_setsBaseLine() {
+        // Given
+        AccountStmt closed = getClosedStmt(PST_TIME.minusDays(1));
+        when(accountStmtRepository.findFirstByAccountAndStmtStatusAndPstTimeGreaterThanEqual(any(), any(), any())).thenReturn(Optional.empty());
+        when(accountStmtRepository.findFirstByAccountAndStmtStatusAndPstTimeLessThanOrderByPstTimeDescStmtSeqNbrDesc(any(), any(), any())).thenReturn(Optional.of(closed));
+        Posting posting = getPosting();
+
+        // When
+        writer.write(List.of(posting));
+
+        // Then
+        assertEquals(closed.getId(), posting.getLines().get(0).getBaseLine());
+        verify(ledgerHeadService, times(1)).lockShared(posting.getLedger());
+        verify(postingRepository, times(1)).saveAll(List.of(posting));
+        verify(ledgerAccountBalanceService, times(1)).updateBalances(posting.getLines(), List.of());
+    }
+
+    @Test
+    void write_closedPeriod() {
+        // Given
+        when(accountStmtRepository.findFirstByAccountAndStmtStatusAndPstTimeGreaterThanEqual(any(), any(), any()))
+                .thenReturn(Optional.of(getClosedStmt(PST_TIME.plusDays(1))));
+
+        // When
+        assertThrows(PostingModuleException.class, () -> writer.write(List.of(getPosting())));
+
+        // Then
+        verifyNoInteractions(postingRepository, ledgerAccountBalanceService);
+    }
+
+    private AccountStmt getClosedStmt(LocalDateTime pstTime) {
+        AccountStmt stmt = new AccountStmt();
+        stmt.setId("closedId");
+        stmt.setPstTime(pstTime);
+        stmt.setStmtStatus(StmtStatus.CLOSED);
+        return stmt;
+    }
+
+    private Posting getPosting() {
+        Ledger ledger = new Ledger();
+        ledger.setId("ledger");
+        LedgerAccount account = new LedgerAccount();
+        account.setId("account");
+        PostingLine line = new PostingLine();
+        line.setAccount(account);
+        line.setDebitAmount(BigDecimal.TEN);
+        line.setCreditAmount(BigDecimal.ZERO);
+        Posting posting = new Posting();
+        posting.setLedger(ledger);
+        posting.setPstTime(PST_TIME);
+        posting.getLines().add(line);
+        posting.synchLines();
+        return posting;
+    }
+}
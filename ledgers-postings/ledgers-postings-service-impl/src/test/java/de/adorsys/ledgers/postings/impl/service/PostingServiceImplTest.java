@@ -13,6 +13,8 @@ import de.adorsys.ledgers.util.exception.PostingModuleException;
 import org.apache.commons.collections.CollectionUtils;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import jakarta.persistence.EntityManager;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -24,13 +26,17 @@ import pro.javatar.commons.reader.YamlReader;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 @SuppressWarnings("CPD-START")
@@ -54,15 +60,23 @@ class PostingServiceImplTest {
     private LedgerAccountRepository ledgerAccountRepository;
     @Mock
     private AccountStmtRepository stmtRepository;
+    @Mock
+    private LedgerAccountBalanceService ledgerAccountBalanceService;
+    @Mock
+    private LedgerHeadRepository ledgerHeadRepository;
+    @Mock
+    private LedgerHeadService ledgerHeadService;
+    @Mock
+    private EntityManager entityManager;
 
     @Test
     void newPosting() {
         // Given
-        when(postingRepository.findFirstByLedgerOrderByRecordTimeDesc(any()))
-                .thenReturn(Optional.of(new Posting()));
+        when(ledgerHeadService.lock(any())).thenReturn(new LedgerHead(LEDGER_ID));
         when(ledgerRepository.findById(any())).thenReturn(Optional.of(getLedger()));
-        when(postingRepository.save(any())).thenAnswer(i -> i.getArguments()[0]);
-        when(postingRepository.findByOprIdAndDiscardingIdIsNull(any())).thenReturn(Optional.of(new Posting()));
+        when(postingRepository.saveAll(anyList())).thenAnswer(i -> i.getArguments()[0]);
+        Posting predecessor = getPosting();
+        when(postingRepository.findByOprIdInAndDiscardingIdIsNull(any())).thenReturn(List.of(predecessor));
         when(ledgerAccountRepository.findById(any())).thenReturn(Optional.of(new LedgerAccount()));
 
         // When
@@ -70,21 +84,112 @@ class PostingServiceImplTest {
 
         // Then
         assertNotNull(result);
+        assertEquals(result.getId(), predecessor.getDiscardingId());
+        verify(postingRepository, times(1)).save(predecessor);
+        verify(ledgerAccountBalanceService, times(1)).updateBalances(anyList(), anyList());
+        verify(ledgerHeadRepository, times(1)).saveAll(anyCollection());
     }
 
     @Test
-    void newPosting_line_balance_error() {
+    void newPosting_chainedToLedgerHead() {
+        // Given
+        LedgerHead head = new LedgerHead(LEDGER_ID);
+        head.setHeadPostingId("headId");
+        head.setHeadHash("headHash");
+        when(ledgerHeadService.lock(any())).thenReturn(head);
+        when(ledgerRepository.findById(any())).thenReturn(Optional.of(getLedger()));
+        when(postingRepository.saveAll(anyList())).thenAnswer(i -> i.getArguments()[0]);
+        when(ledgerAccountRepository.findById(any())).thenReturn(Optional.of(new LedgerAccount()));
+
+        // When
+        PostingBO result = postingService.newPosting(getPostingBO(true));
+
+        // Then
+        assertEquals("headId", result.getAntecedentId());
+        assertEquals("headHash", result.getAntecedentHash());
+        assertEquals(result.getId(), head.getHeadPostingId());
+        assertEquals(result.getHash(), head.getHeadHash());
+        verify(ledgerHeadRepository, times(1)).saveAll(argThat(heads -> heads.iterator().next() == head));
+    }
+
+    @Test
+    void newPosting_accountsResolvedBeforeLedgerHeadLocked() {
+        // Given
+        when(ledgerHeadService.lock(any())).thenReturn(new LedgerHead(LEDGER_ID));
+        when(ledgerRepository.findById(any())).thenReturn(Optional.of(getLedger()));
+        when(postingRepository.saveAll(anyList())).thenAnswer(i -> i.getArguments()[0]);
+        when(ledgerAccountRepository.findById(any())).thenReturn(Optional.of(getLedgerAccount()));
+
+        // When
+        postingService.newPosting(getPostingBO(true));
+
+        // Then
+        InOrder inOrder = inOrder(ledgerRepository, ledgerAccountRepository, ledgerHeadService, postingRepository, stmtRepository);
+        inOrder.verify(ledgerRepository).findById(any());
+        inOrder.verify(ledgerAccountRepository).findById(any());
+        inOrder.verify(ledgerHeadService).lock(any());
+        inOrder.verify(postingRepository).findByOprIdInAndDiscardingIdIsNull(any());
+        inOrder.verify(stmtRepository).findFirstByAccountAndStmtStatusAndPstTimeGreaterThanEqual(any(), any(), any());
+    }
+
+    @Test
+    void newPostings_chainedInOrder() {
+        // Given
+        LedgerHead head = new LedgerHead(LEDGER_ID);
+        head.setHeadPostingId("headId");
+        head.setHeadHash("headHash");
+        when(ledgerHeadService.lock(any())).thenReturn(head);
+        when(ledgerRepository.findById(any())).thenReturn(Optional.of(getLedger()));
+        when(postingRepository.saveAll(anyList())).thenAnswer(i -> i.getArguments()[0]);
+        when(ledgerAccountRepository.findById(any())).thenReturn(Optional.of(getLedgerAccount()));
+        PostingBO first = getPostingBO(true);
+        PostingBO second = getPostingBO(true);
+        second.setOprId("OP_ID_2");
+
+        // When
+        List<PostingBO> result = postingService.newPostings(List.of(first, second));
+
+        // Then
+        assertEquals(2, result.size());
+        assertEquals("headId", result.get(0).getAntecedentId());
+        assertEquals(result.get(0).getId(), result.get(1).getAntecedentId());
+        assertEquals(result.get(0).getHash(), result.get(1).getAntecedentHash());
+        assertEquals(result.get(1).getId(), head.getHeadPostingId());
+        verify(ledgerRepository, times(1)).findById(any());
+        verify(ledgerAccountRepository, times(1)).findById(any());
+        verify(stmtRepository, times(1)).findFirstByAccountAndStmtStatusAndPstTimeGreaterThanEqual(any(), any(), any());
+        verify(postingRepository, times(1)).saveAll(anyList());
+        verify(ledgerAccountBalanceService, times(1)).updateBalances(argThat(lines -> lines.size() == 4), anyList());
+    }
+
+    @Test
+    void newPostings_discardedWithinBatch() {
         // Given
         when(ledgerRepository.findById(any())).thenReturn(Optional.of(getLedger()));
-        when(postingRepository.save(any())).thenAnswer(i -> i.getArguments()[0]);
-        when(postingRepository.findByOprIdAndDiscardingIdIsNull(any())).thenReturn(Optional.of(new Posting()));
+        when(postingRepository.saveAll(anyList())).thenAnswer(i -> i.getArguments()[0]);
+        when(ledgerAccountRepository.findById(any())).thenReturn(Optional.of(getLedgerAccount()));
 
         // When
+        List<PostingBO> result = postingService.newPostings(List.of(getPostingBO(true), getPostingBO(true)));
+
+        // Then
+        assertEquals(result.get(1).getId(), result.get(0).getDiscardingId());
+        assertEquals(result.get(0).getId(), result.get(1).getDiscardedId());
+        verify(postingRepository, never()).save(any());
+        verify(ledgerAccountBalanceService, times(1)).updateBalances(argThat(lines -> lines.size() == 2), argThat(Collection::isEmpty));
+    }
+
+    @Test
+    void newPosting_line_balance_error() {
+        // Given
         PostingBO postingBO = getPostingBO(false);
+
+        // When
         PostingModuleException exception = assertThrows(PostingModuleException.class, () -> postingService.newPosting(postingBO));
 
         // Then
         assertSame(PostingErrorCode.DOBLE_ENTRY_ERROR, exception.getErrorCode());
+        verifyNoInteractions(postingRepository, ledgerHeadRepository, ledgerHeadService);
     }
 
     @Test
@@ -113,6 +218,26 @@ class PostingServiceImplTest {
         assertTrue(CollectionUtils.isNotEmpty(result));
     }
 
+    @Test
+    void exportPostingsByDates() {
+        // Given
+        PostingLine line = readYml(PostingLine.class, "PostingLine.yml");
+        AtomicBoolean closed = new AtomicBoolean();
+        when(postingLineRepository.streamByAccountAndDates(any(), any(), any()))
+                .thenReturn(Stream.of(line).onClose(() -> closed.set(true)));
+        when(ledgerAccountRepository.findById(any())).thenReturn(Optional.of(new LedgerAccount()));
+        List<PostingLineBO> exported = new ArrayList<>();
+
+        // When
+        postingService.exportPostingsByDates(account, LocalDateTime.of(2018, 12, 12, 0, 0), LocalDateTime.of(2018, 12, 20, 0, 0), exported::add);
+
+        // Then
+        assertEquals(1, exported.size());
+        assertEquals(line.getId(), exported.get(0).getId());
+        assertTrue(closed.get());
+        verify(entityManager).detach(line);
+    }
+
     @Test
     void findPostingLineById() {
         when(ledgerAccountRepository.findById(any())).thenReturn(Optional.of(new LedgerAccount()));
@@ -190,6 +315,12 @@ class PostingServiceImplTest {
         return null;
     }
 
+    private LedgerAccount getLedgerAccount() {
+        LedgerAccount ledgerAccount = new LedgerAccount();
+        ledgerAccount.setId(account.getId());
+        return ledgerAccount;
+    }
+
     private Ledger getLedger() {
         return new Ledger(LEDGER_ID, DATE_TIME, "User", "Some short description",
                           "Some long description", NAME, getChartOfAccount());
@@ -9,29 +9,32 @@ import de.adorsys.ledgers.postings.api.domain.*;
 import de.adorsys.ledgers.postings.db.domain.ChartOfAccount;
 import de.adorsys.ledgers.postings.db.domain.Ledger;
 import de.adorsys.ledgers.postings.db.domain.LedgerAccount;
+import de.adorsys.ledgers.postings.db.domain.Posting;
 import de.adorsys.ledgers.postings.db.repository.LedgerAccountRepository;
 import de.adorsys.ledgers.postings.db.repository.LedgerRepository;
-import de.adorsys.ledgers.postings.db.repository.PostingRepository;
 import de.adorsys.ledgers.util.exception.PostingModuleException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import static de.adorsys.ledgers.util.exception.PostingErrorCode.DOBLE_ENTRY_ERROR;
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static de.adorsys.ledgers.util.exception.PostingErrorCode.IMPORT_JOB_NOT_FOUND;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
-@SuppressWarnings("CPD-START")
+@SuppressWarnings({"CPD-START", "unchecked"})
 class PostingsMockServiceImplTest {
 
     private static final String OP_ID = "1";
@@ -41,22 +44,34 @@ class PostingsMockServiceImplTest {
     @InjectMocks
     private PostingsMockServiceImpl service;
 
-    @Mock
-    private PostingRepository postingRepository;
-
     @Mock
     private LedgerRepository ledgerRepository;
     @Mock
     protected LedgerAccountRepository ledgerAccountRepository;
+    @Mock
+    private MockPostingsImporter postingsImporter;
 
     @Test
     void addPostingsAsBatch() {
         when(ledgerRepository.findById(any())).thenReturn(Optional.of(getLedger()));
         when(ledgerAccountRepository.findById(any())).thenReturn(Optional.of(new LedgerAccount()));
+        when(postingsImporter.startImport(anyList())).thenReturn("jobId");
         List<PostingBO> postings = getPostings(true);
-        service.addPostingsAsBatch(postings);
+        String jobId = service.addPostingsAsBatch(postings);
+
+        assertEquals("jobId", jobId);
+        ArgumentCaptor<List<Posting>> captor = ArgumentCaptor.forClass(List.class);
+        verify(postingsImporter, times(1)).startImport(captor.capture());
+        assertEquals(1, captor.getValue().size());
+        assertNotNull(captor.getValue().get(0).getHash());
+    }
+
+    @Test
+    void addPostingsAsBatch_empty() {
+        when(postingsImporter.startImport(anyList())).thenReturn("jobId");
 
-        verify(postingRepository, timeout(1000).times(1)).saveAll(any());
+        assertEquals("jobId", service.addPostingsAsBatch(Collections.emptyList()));
+        verifyNoInteractions(ledgerRepository, ledgerAccountRepository);
     }
 
     @Test
@@ -65,6 +80,23 @@ class PostingsMockServiceImplTest {
         List<PostingBO> postings = getPostings(false);
         PostingModuleException exception = assertThrows(PostingModuleException.class, () -> service.addPostingsAsBatch(postings));
         assertEquals(DOBLE_ENTRY_ERROR, exception.getErrorCode());
+        verifyNoInteractions(postingsImporter);
+    }
+
+    @Test
+    void getImportJob() {
+        MockImportJobBO job = new MockImportJobBO();
+        when(postingsImporter.findJob("jobId")).thenReturn(Optional.of(job));
+
+        assertSame(job, service.getImportJob("jobId"));
+    }
+
+    @Test
+    void getImportJob_notFound() {
+        when(postingsImporter.findJob("jobId")).thenReturn(Optional.empty());
+
+        PostingModuleException exception = assertThrows(PostingModuleException.class, () -> service.getImportJob("jobId"));
+        assertEquals(IMPORT_JOB_NOT_FOUND, exception.getErrorCode());
     }
 
     private List<PostingBO> getPostings(boolean valid) {
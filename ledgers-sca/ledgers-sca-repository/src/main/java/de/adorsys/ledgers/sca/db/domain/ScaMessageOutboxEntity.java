@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.sca.db.domain;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * SCA message stored together with its SCA operation and kept until it is delivered to the user.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@Table(name = "sca_message_outbox")
+public class ScaMessageOutboxEntity {
+    @Id
+    private String id;
+
+    @Column(nullable = false)
+    private String scaMethod;
+
+    /**
+     * Class of the serialized message
+     */
+    @Column(nullable = false)
+    private String messageType;
+
+    /**
+     * Encrypted serialized message
+     */
+    @Lob
+    @JdbcTypeCode(SqlTypes.LONGVARCHAR)
+    @Column(nullable = false)
+    private String message;
+
+    @Column(nullable = false)
+    private LocalDateTime created;
+
+    private int attempts;
+
+    /**
+     * The message is not picked up before this time, neither while it is being delivered nor while waiting for a retry
+     */
+    @Column(nullable = false)
+    private LocalDateTime nextAttempt;
+
+    private String lastError;
+
+    public ScaMessageOutboxEntity(String id, String scaMethod, String messageType, String message, LocalDateTime created) {
+        this.id = id;
+        this.scaMethod = scaMethod;
+        this.messageType = messageType;
+        this.message = message;
+        this.created = created;
+        this.nextAttempt = created;
+    }
+}
@@ -5,11 +5,16 @@
 
 package de.adorsys.ledgers.sca.db.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import de.adorsys.ledgers.sca.db.domain.ScaStatus;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import de.adorsys.ledgers.sca.db.domain.AuthCodeStatus;
 import de.adorsys.ledgers.sca.db.domain.OpType;
@@ -17,7 +22,21 @@ import de.adorsys.ledgers.sca.db.domain.SCAOperationEntity;
 
 public interface SCAOperationRepository extends CrudRepository<SCAOperationEntity, String> {
 
-    List<SCAOperationEntity> findByStatus(AuthCodeStatus status);
+    /**
+     * Expire all operations in the given status whose validity elapsed, without loading them.
+     *
+     * @param status    status of the operations to expire, the validity is counted from the time it was set
+     * @param expired   status to set
+     * @param scaStatus sca status to set
+     * @param now       the current time
+     * @return number of expired operations
+     */
+    @Transactional
+    @Modifying
+    @Query("update SCAOperationEntity o set o.status = :expired, o.scaStatus = :scaStatus, o.scaWeight = 0, o.statusTime = :now, o.updated = :now " +
+                   "where o.status = :status and o.statusTime + (o.validitySeconds) second < :now")
+    int expireOperations(@Param("status") AuthCodeStatus status, @Param("expired") AuthCodeStatus expired,
+                         @Param("scaStatus") ScaStatus scaStatus, @Param("now") LocalDateTime now);
 
     List<SCAOperationEntity> findByOpIdAndOpType(String opId, OpType opType);
 
@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.sca.db.repository;
+
+import de.adorsys.ledgers.sca.db.domain.ScaMessageOutboxEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ScaMessageOutboxRepository extends CrudRepository<ScaMessageOutboxEntity, String> {
+
+    /**
+     * Locks messages due for delivery, skipping the ones locked by other transactions.
+     * Lock timeout -2 is rendered as "for update skip locked" on databases supporting it.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select m from ScaMessageOutboxEntity m where m.nextAttempt <= :now order by m.nextAttempt")
+    List<ScaMessageOutboxEntity> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+}
@@ -8,6 +8,7 @@ package de.adorsys.ledgers.sca.db.repository;
 import de.adorsys.ledgers.sca.db.domain.AuthCodeStatus;
 import de.adorsys.ledgers.sca.db.domain.OpType;
 import de.adorsys.ledgers.sca.db.domain.SCAOperationEntity;
+import de.adorsys.ledgers.sca.db.domain.ScaStatus;
 import de.adorsys.ledgers.sca.db.test.SCARepositoryApplication;
 import de.adorsys.ledgers.util.Ids;
 import org.junit.jupiter.api.Test;
@@ -16,6 +17,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 @ExtendWith(SpringExtension.class)
@@ -36,4 +40,24 @@ class SCAOperationRepositoryIT {
         assertNotNull(saved);
     }
 
+    @Test
+    void expireOperations_only_elapsed() {
+        SCAOperationEntity elapsed = sentOperation(LocalDateTime.now().minusSeconds(400));
+        SCAOperationEntity valid = sentOperation(LocalDateTime.now().minusSeconds(100));
+
+        int result = scaRepo.expireOperations(AuthCodeStatus.SENT, AuthCodeStatus.EXPIRED, ScaStatus.FAILED, LocalDateTime.now());
+
+        assertEquals(1, result);
+        assertEquals(AuthCodeStatus.EXPIRED, scaRepo.findById(elapsed.getId()).orElseThrow().getStatus());
+        assertEquals(ScaStatus.FAILED, scaRepo.findById(elapsed.getId()).orElseThrow().getScaStatus());
+        assertEquals(AuthCodeStatus.SENT, scaRepo.findById(valid.getId()).orElseThrow().getStatus());
+    }
+
+    private SCAOperationEntity sentOperation(LocalDateTime statusTime) {
+        SCAOperationEntity scaOp = new SCAOperationEntity(Ids.id(), Ids.id(), null, OpType.PAYMENT, null,
+                                                          300, 0, ScaStatus.SCAMETHODSELECTED, 100);
+        scaOp.setStatus(AuthCodeStatus.SENT);
+        scaOp.setStatusTime(statusTime);
+        return scaRepo.save(scaOp);
+    }
 }
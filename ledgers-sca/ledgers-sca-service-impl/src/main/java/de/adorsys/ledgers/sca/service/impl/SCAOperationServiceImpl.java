@@ -5,6 +5,7 @@
 
 package de.adorsys.ledgers.sca.service.impl;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import de.adorsys.ledgers.sca.db.domain.OpType;
 import de.adorsys.ledgers.sca.db.domain.SCAOperationEntity;
@@ -22,10 +23,13 @@ import de.adorsys.ledgers.um.api.domain.ScaUserDataBO;
 import de.adorsys.ledgers.um.api.domain.UserBO;
 import de.adorsys.ledgers.um.api.service.UserService;
 import de.adorsys.ledgers.util.exception.ScaModuleException;
-import de.adorsys.ledgers.util.hash.BaseHashItem;
+import de.adorsys.ledgers.util.hash.CanonicalHashItem;
+import de.adorsys.ledgers.util.hash.HashFieldWriter;
 import de.adorsys.ledgers.util.hash.HashGenerationException;
 import de.adorsys.ledgers.util.hash.HashGenerator;
 import de.adorsys.ledgers.util.hash.HashGeneratorImpl;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
@@ -36,9 +40,10 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
+import static de.adorsys.ledgers.sca.db.domain.AuthCodeStatus.EXPIRED;
 import static de.adorsys.ledgers.sca.db.domain.AuthCodeStatus.SENT;
 import static de.adorsys.ledgers.util.exception.SCAErrorCode.*;
 
@@ -49,6 +54,8 @@ import static de.adorsys.ledgers.util.exception.SCAErrorCode.*;
 public class SCAOperationServiceImpl implements SCAOperationService, InitializingBean {
     private static final String TAN_GENERATION_ERROR = "Could not generate TAN, Please contact your Bank Support";
     private static final String AUTH_CODE_GENERATION_ERROR = "TAN can't be generated, ERROR: {}";
+    private static final String AUTH_CODE_METRIC = "ledgers.sca.authcode.generation";
+    private static final String METHOD_TAG = "method";
 
 
     private final UserService userService;
@@ -59,6 +66,7 @@ public class SCAOperationServiceImpl implements SCAOperationService, Initializin
     private final List<SCASender<? extends ScaMessage>> sendersList;
     private final ScaMessageResolver<?> otpMessageResolver;
     private final ScaOperationValidationService validationService;
+    private final ScaMessageOutbox messageOutbox;
     private Map<ScaMethodTypeBO, SCASender> senders = new EnumMap<>(ScaMethodTypeBO.class);
     private HashGenerator hashGenerator = new HashGeneratorImpl();
 
@@ -88,21 +96,28 @@ public class SCAOperationServiceImpl implements SCAOperationService, Initializin
 
     @Override
     public SCAOperationBO generateAuthCode(AuthCodeDataBO data, UserBO user, ScaStatusBO scaStatus) {
+        Timer.Sample sample = Timer.start();
         SCAOperationEntity scaOperation = loadOrCreateScaOperation(data, scaStatus);
         validationService.checkValidityAndAttempts(scaOperation, data, user);
         scaOperation.setScaStatus(ScaStatus.valueOf(scaStatus.name()));
 
         ScaUserDataBO scaUserData = getScaUserData(user.getScaUserData(), scaOperation.getScaMethodId());
         checkMethodSupported(scaUserData);
+        SCAOperationBO scaOperationBO = sendAuthCode(data, scaOperation, scaUserData);
+        sample.stop(Metrics.timer(AUTH_CODE_METRIC, METHOD_TAG, scaUserData.getScaMethod().name()));
+        return scaOperationBO;
+    }
+
+    private SCAOperationBO sendAuthCode(AuthCodeDataBO data, SCAOperationEntity scaOperation, ScaUserDataBO scaUserData) {
         String tan = getTanDependingOnStrategy(scaUserData);
-        String hash = generateHash(scaOperation.getId(), scaOperation.getOpId(), tan);
-        scaOperation.updateStatusSent(authCodeValiditySeconds, hash, HashGenerator.DEFAULT_HASH_ALG);
+        String hash = generateHash(scaOperation.getId(), scaOperation.getOpId(), tan, HashGenerator.CANONICAL_HASH_ALG);
+        scaOperation.updateStatusSent(authCodeValiditySeconds, hash, HashGenerator.CANONICAL_HASH_ALG);
 
-        repository.save(scaOperation);
         if (scaUserData.getScaMethod() != ScaMethodTypeBO.SMTP_OTP || scaUserData.isEmailValid()) {
             ScaMessage userMessage = otpMessageResolver.resolveMessage(data, scaUserData, tan);
-            senders.get(scaUserData.getScaMethod()).send(userMessage);
-            //TODO Implement a queue to be able to deliver messages failed for some reason! https://git.adorsys.de/adorsys/xs2a/psd2-dynamic-sandbox/-/issues/837
+            messageOutbox.saveWithMessage(scaOperation, scaUserData.getScaMethod(), userMessage);
+        } else {
+            repository.save(scaOperation);
         }
         SCAOperationBO scaOperationBO = scaOperationMapper.toBO(scaOperation);
         scaOperationBO.setTan(tan);
@@ -119,7 +134,7 @@ public class SCAOperationServiceImpl implements SCAOperationService, Initializin
         String authCodeHash = operation.getAuthCodeHash();
         validationService.checkAll(operation, opId);
 
-        String generatedHash = generateHash(operation.getId(), opId, authCode);
+        String generatedHash = generateHash(operation.getId(), opId, authCode, operation.getHashAlg());
         boolean isAuthCodeValid = StringUtils.equals(authCodeHash, generatedHash);
         ScaValidationBO scaValidation = new ScaValidationBO(isAuthCodeValid);
         if (isAuthCodeValid) {
@@ -132,22 +147,8 @@ public class SCAOperationServiceImpl implements SCAOperationService, Initializin
 
     @Override
     public void processExpiredOperations() {
-        List<SCAOperationEntity> operations = repository.findByStatus(SENT);
-
-        log.info("{} operations with status NEW were found", operations.size());
-
-        List<SCAOperationEntity> expiredOperations = operations
-                                                             .stream()
-                                                             .filter(SCAOperationEntity::isOperationExpired)
-                                                             .collect(Collectors.toList());
-
-        expiredOperations.forEach(SCAOperationEntity::expireOperation);
-
-        log.info("{} operations was detected as EXPIRED", expiredOperations.size());
-
-        repository.saveAll(expiredOperations);
-
-        log.info("Expired operations were updated");
+        int expired = repository.expireOperations(SENT, EXPIRED, ScaStatus.FAILED, LocalDateTime.now());
+        log.info("{} operations was detected as EXPIRED", expired);
     }
 
     @Override
@@ -177,7 +178,7 @@ public class SCAOperationServiceImpl implements SCAOperationService, Initializin
     @Override
     public ScaAuthConfirmationBO verifyAuthConfirmationCode(String authorisationId, String confirmationCode) {
         SCAOperationEntity entity = getScaOperationEntityByIdAndUnconfirmed(authorisationId);
-        boolean isCodeConfirmValid = StringUtils.equals(entity.getAuthCodeHash(), generateHash(authorisationId, null, confirmationCode));
+        boolean isCodeConfirmValid = StringUtils.equals(entity.getAuthCodeHash(), generateHash(authorisationId, null, confirmationCode, entity.getHashAlg()));
         repository.save(entity.updateStatuses(isCodeConfirmValid));
         return new ScaAuthConfirmationBO(isCodeConfirmValid, OpTypeBO.valueOf(entity.getOpType().name()), entity.getOpId());
     }
@@ -244,7 +245,7 @@ public class SCAOperationServiceImpl implements SCAOperationService, Initializin
         if (authConfirmationEnabled) {
             status = ScaStatus.UNCONFIRMED;
             String confirmationCode = UUID.randomUUID().toString();
-            operation.setAuthCodeHash(generateHash(operation.getId(), null, confirmationCode));
+            operation.setAuthCodeHash(generateHash(operation.getId(), null, confirmationCode, operation.getHashAlg()));
             scaValidation.setAuthConfirmationCode(confirmationCode);
         }
         scaValidation.setScaStatus(ScaStatusBO.valueOf(status.name()));
@@ -252,10 +253,14 @@ public class SCAOperationServiceImpl implements SCAOperationService, Initializin
         repository.save(operation);
     }
 
-    private String generateHash(String id, String opId, String authCode) {
+    /*
+     * Codes are verified with the algorithm they were hashed with, operations sent before the canonical
+     * encoding was introduced have the plain default algorithm.
+     */
+    private String generateHash(String id, String opId, String authCode, String hashAlg) {
         String hash;
         try {
-            hash = hashGenerator.hash(new BaseHashItem<>(new OperationHashItem(id, opId, authCode)));
+            hash = hashGenerator.hash(new OperationHashItem(id, opId, authCode, hashAlg));
         } catch (HashGenerationException e) {
             log.error(AUTH_CODE_GENERATION_ERROR, e.getMessage());
             throw ScaModuleException.builder()
@@ -312,18 +317,39 @@ public class SCAOperationServiceImpl implements SCAOperationService, Initializin
         }
     }
 
-    public static final class OperationHashItem {
+    public static final class OperationHashItem implements CanonicalHashItem<OperationHashItem> {
         @JsonProperty
         private String id;// attach to the database line. Pinning!!!
         @JsonProperty
         private String opId;// attach to the business operation. Pinning!!!
         @JsonProperty
         private String tan;
+        private String hashAlg;
 
-        public OperationHashItem(String id, String opId, String tan) {
+        public OperationHashItem(String id, String opId, String tan, String hashAlg) {
             this.id = id;
             this.opId = opId;
             this.tan = tan;
+            this.hashAlg = hashAlg;
+        }
+
+        @Override
+        @JsonIgnore
+        public String getAlg() {
+            return hashAlg;
+        }
+
+        @Override
+        @JsonIgnore
+        public OperationHashItem getItem() {
+            return this;
+        }
+
+        @Override
+        public void writeHashFields(HashFieldWriter writer) {
+            writer.write(id)
+                    .write(opId)
+                    .write(tan);
         }
     }
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.sca.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.adorsys.ledgers.sca.db.domain.SCAOperationEntity;
+import de.adorsys.ledgers.sca.db.domain.ScaMessageOutboxEntity;
+import de.adorsys.ledgers.sca.db.repository.SCAOperationRepository;
+import de.adorsys.ledgers.sca.db.repository.ScaMessageOutboxRepository;
+import de.adorsys.ledgers.sca.domain.sca.message.ScaMessage;
+import de.adorsys.ledgers.um.api.domain.ScaMethodTypeBO;
+import de.adorsys.ledgers.util.Ids;
+import de.adorsys.ledgers.util.exception.ScaModuleException;
+import de.adorsys.ledgers.util.tan.encriptor.TanEncryptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static de.adorsys.ledgers.util.exception.SCAErrorCode.AUTH_CODE_GENERATION_FAILURE;
+
+/**
+ * Stores SCA messages in the outbox table in the transaction of their SCA operation and hands them out
+ * for delivery. Messages are delivered by {@link de.adorsys.ledgers.sca.service.job.ScaMessageOutboxJob}.
+ * <p>
+ * Messages contain the TAN in plain text, they are stored encrypted like the static TANs of users.
+ */
+@Service
+@RequiredArgsConstructor
+public class ScaMessageOutbox {
+    private final SCAOperationRepository operationRepository;
+    private final ScaMessageOutboxRepository outboxRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TanEncryptor tanEncryptor;
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Transactional
+    public SCAOperationEntity saveWithMessage(SCAOperationEntity operation, ScaMethodTypeBO scaMethod, ScaMessage message) {
+        SCAOperationEntity saved = operationRepository.save(operation);
+        outboxRepository.save(new ScaMessageOutboxEntity(Ids.id(), scaMethod.name(), message.getClass().getName(), serialize(message), LocalDateTime.now()));
+        eventPublisher.publishEvent(new ScaMessageEnqueuedEvent());
+        return saved;
+    }
+
+    /**
+     * Locks due messages and postpones their next attempt, so that no other worker picks them up during delivery.
+     */
+    @Transactional
+    public List<ScaMessageOutboxEntity> claim(int limit, LocalDateTime claimedUntil) {
+        List<ScaMessageOutboxEntity> messages = outboxRepository.findDue(LocalDateTime.now(), PageRequest.of(0, limit));
+        messages.forEach(m -> m.setNextAttempt(claimedUntil));
+        outboxRepository.saveAll(messages);
+        return messages;
+    }
+
+    public void remove(ScaMessageOutboxEntity message) {
+        outboxRepository.delete(message);
+    }
+
+    public void retry(ScaMessageOutboxEntity message, LocalDateTime nextAttempt, String error) {
+        message.setAttempts(message.getAttempts() + 1);
+        message.setNextAttempt(nextAttempt);
+        message.setLastError(error);
+        outboxRepository.save(message);
+    }
+
+    public ScaMessage deserialize(ScaMessageOutboxEntity message) throws ClassNotFoundException, JsonProcessingException {
+        Class<? extends ScaMessage> type = Class.forName(message.getMessageType()).asSubclass(ScaMessage.class);
+        return objectMapper.readValue(tanEncryptor.decryptTan(message.getMessage()), type);
+    }
+
+    private String serialize(ScaMessage message) {
+        try {
+            return tanEncryptor.encryptTan(objectMapper.writeValueAsString(message));
+        } catch (JsonProcessingException e) {
+            throw ScaModuleException.builder()
+                          .errorCode(AUTH_CODE_GENERATION_FAILURE)
+                          .devMsg(String.format("Could not store SCA message: %s", e.getMessage()))
+                          .build();
+        }
+    }
+
+    /**
+     * Published when a message is stored, delivery starts once the transaction is committed.
+     */
+    public static class ScaMessageEnqueuedEvent {
+    }
+}
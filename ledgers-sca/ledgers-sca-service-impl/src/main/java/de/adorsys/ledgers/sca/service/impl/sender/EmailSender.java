@@ -9,10 +9,15 @@ import de.adorsys.ledgers.sca.domain.sca.message.MailScaMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -22,12 +27,7 @@ public class EmailSender {
     public boolean send(MailScaMessage scaMessage) {
         log.info("Preparing an email to send auth code");
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setTo(scaMessage.getTo());
-            message.setFrom(scaMessage.getFrom());
-            message.setSubject(scaMessage.getSubject());
-            message.setText(scaMessage.getMessage());
-            sender.send(message);
+            sender.send(toMailMessage(scaMessage));
         } catch (MailException e) {
             log.error("Error sending email, No SMTP service configured");
             log.error(e.getMessage());
@@ -36,4 +36,52 @@ public class EmailSender {
         log.info("Auth code was successfully sent via email");
         return true;
     }
+
+    /**
+     * Sends all messages within one SMTP session.
+     *
+     * @param scaMessages messages to send
+     * @return the positions of the messages which could not be sent
+     */
+    public Set<Integer> send(List<MailScaMessage> scaMessages) {
+        if (scaMessages.isEmpty()) {
+            return Collections.emptySet();
+        }
+        List<SimpleMailMessage> messages = scaMessages.stream()
+                                                   .map(this::toMailMessage)
+                                                   .collect(Collectors.toList());
+        try {
+            sender.send(messages.toArray(new SimpleMailMessage[0]));
+        } catch (MailSendException e) {
+            Map<Object, Exception> failed = e.getFailedMessages();
+            log.error("Could not send {} of {} emails: {}", failed.isEmpty() ? scaMessages.size() : failed.size(), scaMessages.size(), e.getMessage());
+            return failedPositions(messages, failed.isEmpty() ? messages : failed.keySet());
+        } catch (MailException e) {
+            log.error("Error sending {} emails: {}", scaMessages.size(), e.getMessage());
+            return failedPositions(messages, messages);
+        }
+        log.info("{} auth codes were successfully sent via email", scaMessages.size());
+        return Collections.emptySet();
+    }
+
+    /*
+     * Failed messages are reported as the instances passed to the mail sender, equal messages may differ in their result.
+     */
+    private Set<Integer> failedPositions(List<SimpleMailMessage> messages, Collection<?> failed) {
+        Set<Object> failedMessages = Collections.newSetFromMap(new IdentityHashMap<>());
+        failedMessages.addAll(failed);
+        return IntStream.range(0, messages.size())
+                       .filter(i -> failedMessages.contains(messages.get(i)))
+                       .boxed()
+                       .collect(Collectors.toSet());
+    }
+
+    private SimpleMailMessage toMailMessage(MailScaMessage scaMessage) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setTo(scaMessage.getTo());
+        message.setFrom(scaMessage.getFrom());
+        message.setSubject(scaMessage.getSubject());
+        message.setText(scaMessage.getMessage());
+        return message;
+    }
 }
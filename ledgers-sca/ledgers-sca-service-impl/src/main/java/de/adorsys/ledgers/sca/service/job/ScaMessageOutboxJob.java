@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.sca.service.job;
+
+import de.adorsys.ledgers.sca.db.domain.ScaMessageOutboxEntity;
+import de.adorsys.ledgers.sca.domain.sca.message.MailScaMessage;
+import de.adorsys.ledgers.sca.domain.sca.message.ScaMessage;
+import de.adorsys.ledgers.sca.service.SCASender;
+import de.adorsys.ledgers.sca.service.impl.ScaMessageOutbox;
+import de.adorsys.ledgers.sca.service.impl.ScaMessageOutbox.ScaMessageEnqueuedEvent;
+import de.adorsys.ledgers.sca.service.impl.sender.EmailSender;
+import de.adorsys.ledgers.um.api.domain.ScaMethodTypeBO;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers the SCA messages of the outbox on a bounded pool of workers. A worker is woken up as soon as a
+ * message is committed, the schedule picks up retries and messages missed while all workers were busy.
+ * <p>
+ * Failed messages are retried with an exponential backoff. Messages older than the validity of an auth code
+ * are dropped, as their TAN can not be used anymore. Emails of one batch are sent within one SMTP session.
+ */
+@Slf4j
+@Component
+public class ScaMessageOutboxJob implements DisposableBean {
+    private static final String METRIC_PREFIX = "ledgers.sca.outbox.";
+    private static final String METHOD_TAG = "method";
+
+    private final ScaMessageOutbox outbox;
+    private final EmailSender emailSender;
+    private final Map<ScaMethodTypeBO, SCASender> senders = new EnumMap<>(ScaMethodTypeBO.class);
+    private final ThreadPoolExecutor executor;
+
+    @Value("${ledgers.sca.outbox.batchSize:50}")
+    private int batchSize;
+    @Value("${ledgers.sca.outbox.lease:PT1M}")
+    private Duration lease;
+    @Value("${ledgers.sca.outbox.backoff:PT5S}")
+    private Duration backoff;
+    @Value("${ledgers.sca.authCode.validity.seconds:600}")
+    private int authCodeValiditySeconds;
+
+    public ScaMessageOutboxJob(ScaMessageOutbox outbox, EmailSender emailSender, List<SCASender<? extends ScaMessage>> sendersList,
+                               @Value("${ledgers.sca.outbox.threads:4}") int threads) {
+        this.outbox = outbox;
+        this.emailSender = emailSender;
+        sendersList.forEach(s -> senders.put(s.getType(), s));
+        // Wake-ups exceeding the queue are dropped, the scheduled run delivers their messages
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(threads),
+                                               new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    @TransactionalEventListener
+    public void onMessageEnqueued(ScaMessageEnqueuedEvent event) {
+        executor.execute(this::deliverBatch);
+    }
+
+    @Scheduled(initialDelayString = "${ledgers.sca.outbox.delay:5000}", fixedDelayString = "${ledgers.sca.outbox.delay:5000}")
+    public void deliverDueMessages() {
+        while (deliverBatch() == batchSize) {
+            log.debug("Outbox batch of {} SCA messages delivered, continuing", batchSize);
+        }
+    }
+
+    int deliverBatch() {
+        try {
+            List<ScaMessageOutboxEntity> batch = outbox.claim(batchSize, LocalDateTime.now().plus(lease));
+            List<ScaMessageOutboxEntity> emails = new ArrayList<>();
+            List<MailScaMessage> mailMessages = new ArrayList<>();
+            for (ScaMessageOutboxEntity entry : batch) {
+                Optional<ScaMessage> message = readIfNotExpired(entry);
+                if (message.isEmpty()) {
+                    continue;
+                }
+                if (message.get() instanceof MailScaMessage && ScaMethodTypeBO.SMTP_OTP.name().equals(entry.getScaMethod())) {
+                    emails.add(entry);
+                    mailMessages.add((MailScaMessage) message.get());
+                } else {
+                    complete(entry, send(entry, message.get()));
+                }
+            }
+            Set<Integer> failedEmails = mailMessages.isEmpty()
+                                                ? Set.of()
+                                                : Metrics.timer(METRIC_PREFIX + "send", METHOD_TAG, ScaMethodTypeBO.SMTP_OTP.name())
+                                                          .record(() -> emailSender.send(mailMessages));
+            for (int i = 0; i < emails.size(); i++) {
+                complete(emails.get(i), !failedEmails.contains(i));
+            }
+            return batch.size();
+        } catch (RuntimeException e) {
+            log.error("Could not deliver SCA messages: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean send(ScaMessageOutboxEntity entry, ScaMessage message) {
+        SCASender sender = senders.get(ScaMethodTypeBO.valueOf(entry.getScaMethod()));
+        try {
+            return sender != null && Metrics.timer(METRIC_PREFIX + "send", METHOD_TAG, entry.getScaMethod())
+                                             .record(() -> sender.send(message));
+        } catch (RuntimeException e) {
+            log.error("Could not deliver {} message {}: {}", entry.getScaMethod(), entry.getId(), e.getMessage());
+            return false;
+        }
+    }
+
+    private Optional<ScaMessage> readIfNotExpired(ScaMessageOutboxEntity entry) {
+        if (entry.getCreated().plusSeconds(authCodeValiditySeconds).isBefore(LocalDateTime.now())) {
+            log.error("SCA message {} was not delivered within {} seconds after {} attempts, last error: {}", entry.getId(), authCodeValiditySeconds, entry.getAttempts(), entry.getLastError());
+            drop(entry);
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(outbox.deserialize(entry));
+        } catch (Exception e) {
+            log.error("Could not read SCA message {}: {}", entry.getId(), e.getMessage());
+            drop(entry);
+            return Optional.empty();
+        }
+    }
+
+    private void drop(ScaMessageOutboxEntity entry) {
+        outbox.remove(entry);
+        Metrics.counter(METRIC_PREFIX + "dropped", METHOD_TAG, entry.getScaMethod()).increment();
+    }
+
+    private void complete(ScaMessageOutboxEntity entry, boolean delivered) {
+        if (delivered) {
+            outbox.remove(entry);
+            Metrics.timer(METRIC_PREFIX + "delivery.lag", METHOD_TAG, entry.getScaMethod())
+                    .record(Duration.between(entry.getCreated(), LocalDateTime.now()));
+        } else {
+            Duration delay = backoff.multipliedBy(1L << Math.min(entry.getAttempts(), 10));
+            outbox.retry(entry, LocalDateTime.now().plus(delay), "Delivery failed");
+            Metrics.counter(METRIC_PREFIX + "failed", METHOD_TAG, entry.getScaMethod()).increment();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
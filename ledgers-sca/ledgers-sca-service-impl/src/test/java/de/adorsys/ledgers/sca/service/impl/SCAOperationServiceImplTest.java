@@ -5,9 +5,6 @@
 
 package de.adorsys.ledgers.sca.service.impl;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import de.adorsys.ledgers.sca.db.domain.AuthCodeStatus;
 import de.adorsys.ledgers.sca.db.domain.OpType;
 import de.adorsys.ledgers.sca.db.domain.SCAOperationEntity;
@@ -25,7 +22,6 @@ import de.adorsys.ledgers.um.api.service.UserService;
 import de.adorsys.ledgers.util.exception.ScaModuleException;
 import de.adorsys.ledgers.util.hash.HashGenerationException;
 import de.adorsys.ledgers.util.hash.HashGenerator;
-import de.adorsys.ledgers.util.hash.HashGeneratorImpl;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -38,8 +34,6 @@ import org.springframework.core.env.Environment;
 import org.springframework.test.util.ReflectionTestUtils;
 import pro.javatar.commons.reader.YamlReader;
 
-import java.io.IOException;
-import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.HashMap;
@@ -55,6 +49,7 @@ import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -98,6 +93,9 @@ class SCAOperationServiceImplTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private ScaMessageOutbox messageOutbox;
+
     private SCAOperationEntity scaOperationEntity;
     private SCAOperationBO scaOperationBO;
     private SCASender emailSender;
@@ -175,7 +173,7 @@ class SCAOperationServiceImplTest {
         assertThat(entity.getCreated(), is(notNullValue()));
         assertThat(entity.getStatus(), is(AuthCodeStatus.SENT));
         assertThat(entity.getStatusTime(), is(notNullValue()));
-        assertThat(entity.getHashAlg(), is(HashGeneratorImpl.DEFAULT_HASH_ALG));
+        assertThat(entity.getHashAlg(), is(HashGenerator.CANONICAL_HASH_ALG));
         assertThat(entity.getAuthCodeHash(), is(notNullValue()));
 
         verify(authCodeGenerator, times(1)).generate();
@@ -196,7 +194,7 @@ class SCAOperationServiceImplTest {
         when(userBO.getScaUserData()).thenReturn(Collections.singletonList(method));
         when(authCodeGenerator.generate()).thenReturn(TAN);
         when(hashGenerator.hash(any())).thenReturn(AUTH_CODE_HASH);
-        when(repository.save(captor.capture())).thenReturn(mock(SCAOperationEntity.class));
+        when(messageOutbox.saveWithMessage(captor.capture(), eq(ScaMethodTypeBO.SMTP_OTP), any())).thenReturn(mock(SCAOperationEntity.class));
         when(repository.findById(AUTH_ID)).thenReturn(Optional.of(scaOperationEntity));
         when(scaOperationMapper.toBO(scaOperationEntity)).thenReturn(scaOperationBO);
         when(messageResolver.resolveMessage(any(), any(), any())).thenReturn(new ScaMessage());
@@ -213,13 +211,14 @@ class SCAOperationServiceImplTest {
         assertThat(entity.getCreated(), is(notNullValue()));
         assertThat(entity.getStatus(), is(AuthCodeStatus.SENT));
         assertThat(entity.getStatusTime(), is(notNullValue()));
-        assertThat(entity.getHashAlg(), is(HashGeneratorImpl.DEFAULT_HASH_ALG));
+        assertThat(entity.getHashAlg(), is(HashGenerator.CANONICAL_HASH_ALG));
         assertThat(entity.getAuthCodeHash(), is(notNullValue()));
 
         verify(authCodeGenerator, times(1)).generate();
         verify(hashGenerator, times(1)).hash(any());
-        verify(repository, times(1)).save(entity);
-        verify(emailSender, times(1)).send(any());
+        verify(messageOutbox, times(1)).saveWithMessage(eq(entity), eq(ScaMethodTypeBO.SMTP_OTP), any());
+        verify(repository, never()).save(any());
+        verify(emailSender, never()).send(any());
     }
 
     @Test
@@ -318,8 +317,7 @@ class SCAOperationServiceImplTest {
         when(userBO.getScaUserData()).thenReturn(Collections.singletonList(method));
         when(authCodeGenerator.generate()).thenReturn(TAN);
         when(hashGenerator.hash(any())).thenReturn(AUTH_CODE_HASH);
-        when(emailSender.send(any())).thenReturn(true);
-        when(repository.save(captor.capture())).thenReturn(mock(SCAOperationEntity.class));
+        when(messageOutbox.saveWithMessage(captor.capture(), eq(ScaMethodTypeBO.SMTP_OTP), any())).thenReturn(mock(SCAOperationEntity.class));
         when(repository.findById(AUTH_ID)).thenReturn(Optional.of(scaOperationEntity));
         when(scaOperationMapper.toBO(scaOperationEntity)).thenReturn(scaOperationBO);
         when(messageResolver.resolveMessage(any(), any(), any())).thenReturn(new ScaMessage());
@@ -337,13 +335,14 @@ class SCAOperationServiceImplTest {
         assertThat(entity.getCreated(), is(notNullValue()));
         assertThat(entity.getStatus(), is(AuthCodeStatus.SENT));
         assertThat(entity.getStatusTime(), is(notNullValue()));
-        assertThat(entity.getHashAlg(), is(HashGeneratorImpl.DEFAULT_HASH_ALG));
+        assertThat(entity.getHashAlg(), is(HashGenerator.CANONICAL_HASH_ALG));
         assertThat(entity.getAuthCodeHash(), is(notNullValue()));
 
         verify(authCodeGenerator, times(1)).generate();
         verify(hashGenerator, times(1)).hash(any());
-        verify(repository, times(1)).save(entity);
-        verify(emailSender, times(1)).send(any());
+        verify(messageOutbox, times(1)).saveWithMessage(eq(entity), eq(ScaMethodTypeBO.SMTP_OTP), any());
+        verify(repository, never()).save(any());
+        verify(emailSender, never()).send(any());
     }
 
     @Test
@@ -403,6 +402,20 @@ class SCAOperationServiceImplTest {
         verify(repository, times(1)).save(savedEntity);
     }
 
+    @Test
+    void validateAuthCode_hashed_with_operation_alg() throws HashGenerationException {
+        // Given
+        scaOperationEntity.setHashAlg(HashGenerator.DEFAULT_HASH_ALG);
+        when(repository.findById(AUTH_ID)).thenReturn(Optional.of(scaOperationEntity));
+        when(hashGenerator.hash(any())).thenReturn(AUTH_CODE_HASH);
+
+        // When
+        scaOperationService.validateAuthCode(AUTH_ID, OP_ID, TAN, 0);
+
+        // Then
+        verify(hashGenerator, times(1)).hash(argThat(i -> HashGenerator.DEFAULT_HASH_ALG.equals(i.getAlg())));
+    }
+
     @Test
     void validateAuthCode_authConfirmationEnabled() throws HashGenerationException {
         // Given
@@ -520,44 +533,17 @@ class SCAOperationServiceImplTest {
         assertThrows(ScaModuleException.class, () -> scaOperationService.validateAuthCode(AUTH_ID, OP_ID, TAN, 0));
     }
 
-    @SuppressWarnings("unchecked")
     @Test
-    void processExpiredOperations() throws IOException {
+    void processExpiredOperations() {
         // Given
-        ObjectMapper objectMapper = new ObjectMapper(new YAMLFactory());
-        objectMapper.findAndRegisterModules();
-        InputStream inputStream = getClass().getResourceAsStream("list-of-sca-operations.yml");
-        List<SCAOperationEntity> list = objectMapper.readValue(inputStream, new TypeReference<List<SCAOperationEntity>>() {
-        });
-        list.add(scaOperationEntity);
-
-        assertThat(list.size(), is(3));
-
-        ArgumentCaptor<List<SCAOperationEntity>> captor = ArgumentCaptor.forClass(List.class);
-
-        when(repository.findByStatus(AuthCodeStatus.SENT)).thenReturn(list);
-        when(repository.saveAll(captor.capture())).thenReturn(mock(List.class));
+        when(repository.expireOperations(eq(AuthCodeStatus.SENT), eq(EXPIRED), eq(FAILED), any())).thenReturn(2);
 
         // When
         scaOperationService.processExpiredOperations();
 
-        List<SCAOperationEntity> expiredOperations = captor.getValue();
-
         // Then
-        assertThat(expiredOperations.size(), is(2));
-
-        assertThat(expiredOperations.get(0).getOpId(), is("opId1"));
-        assertThat(expiredOperations.get(0).getStatus(), is(EXPIRED));
-        // status was updated less then one minute ago
-        assertThat(expiredOperations.get(0).getStatusTime().isAfter(LocalDateTime.now().minusMinutes(1)), is(true));
-
-        assertThat(expiredOperations.get(1).getOpId(), is("opId2"));
-        assertThat(expiredOperations.get(1).getStatus(), is(EXPIRED));
-        // status was updated less then one minute ago
-        assertThat(expiredOperations.get(1).getStatusTime().isAfter(LocalDateTime.now().minusMinutes(1)), is(true));
-
-        verify(repository, times(1)).findByStatus(AuthCodeStatus.SENT);
-        verify(repository, times(1)).saveAll(expiredOperations);
+        verify(repository, times(1)).expireOperations(eq(AuthCodeStatus.SENT), eq(EXPIRED), eq(FAILED), any());
+        verify(repository, never()).saveAll(any());
     }
 
     @Test
@@ -767,7 +753,7 @@ class SCAOperationServiceImplTest {
 
         when(userBO.getScaUserData()).thenReturn(Collections.singletonList(method));
         when(hashGenerator.hash(any())).thenReturn(AUTH_CODE_HASH);
-        when(repository.save(captor.capture())).thenReturn(mock(SCAOperationEntity.class));
+        when(messageOutbox.saveWithMessage(captor.capture(), any(), any())).thenReturn(mock(SCAOperationEntity.class));
         when(repository.findById(AUTH_ID)).thenReturn(Optional.of(scaOperationEntity));
         when(scaOperationMapper.toBO(scaOperationEntity)).thenReturn(scaOperationBO);
     }
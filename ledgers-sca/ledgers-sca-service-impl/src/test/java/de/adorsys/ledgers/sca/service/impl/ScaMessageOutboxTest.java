@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.sca.service.impl;
+
+import de.adorsys.ledgers.sca.db.domain.SCAOperationEntity;
+import de.adorsys.ledgers.sca.db.domain.ScaMessageOutboxEntity;
+import de.adorsys.ledgers.sca.db.repository.SCAOperationRepository;
+import de.adorsys.ledgers.sca.db.repository.ScaMessageOutboxRepository;
+import de.adorsys.ledgers.sca.domain.sca.message.MailScaMessage;
+import de.adorsys.ledgers.sca.domain.sca.message.ScaMessage;
+import de.adorsys.ledgers.um.api.domain.ScaMethodTypeBO;
+import de.adorsys.ledgers.util.tan.encriptor.TanEncryptor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ScaMessageOutboxTest {
+    private static final String TAN_MESSAGE = "Your TAN is 123456";
+
+    @InjectMocks
+    private ScaMessageOutbox outbox;
+    @Mock
+    private SCAOperationRepository operationRepository;
+    @Mock
+    private ScaMessageOutboxRepository outboxRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private TanEncryptor tanEncryptor;
+
+    @Test
+    void saveWithMessage_encrypted() {
+        // Given
+        when(tanEncryptor.encryptTan(contains(TAN_MESSAGE))).thenReturn("encrypted");
+
+        // When
+        outbox.saveWithMessage(new SCAOperationEntity(), ScaMethodTypeBO.SMTP_OTP, mail());
+
+        // Then
+        ArgumentCaptor<ScaMessageOutboxEntity> captor = ArgumentCaptor.forClass(ScaMessageOutboxEntity.class);
+        verify(outboxRepository).save(captor.capture());
+        assertEquals("encrypted", captor.getValue().getMessage());
+        assertEquals(MailScaMessage.class.getName(), captor.getValue().getMessageType());
+        verify(eventPublisher, times(1)).publishEvent(any());
+    }
+
+    @Test
+    void deserialize_decrypted() throws Exception {
+        // Given
+        ScaMessageOutboxEntity entry = new ScaMessageOutboxEntity("id", ScaMethodTypeBO.SMTP_OTP.name(), MailScaMessage.class.getName(),
+                                                                  "encrypted", LocalDateTime.now());
+        when(tanEncryptor.decryptTan("encrypted")).thenReturn("{\"to\":\"to@adorsys.com.ua\",\"message\":\"" + TAN_MESSAGE + "\"}");
+
+        // When
+        ScaMessage message = outbox.deserialize(entry);
+
+        // Then
+        assertInstanceOf(MailScaMessage.class, message);
+        assertEquals("to@adorsys.com.ua", ((MailScaMessage) message).getTo());
+        assertEquals(TAN_MESSAGE, message.getMessage());
+    }
+
+    private MailScaMessage mail() {
+        MailScaMessage message = new MailScaMessage();
+        message.setTo("to@adorsys.com.ua");
+        message.setMessage(TAN_MESSAGE);
+        return message;
+    }
+}
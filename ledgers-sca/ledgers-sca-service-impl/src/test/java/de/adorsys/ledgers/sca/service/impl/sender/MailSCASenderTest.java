@@ -16,11 +16,23 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
-
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.subethamail.smtp.helper.SimpleMessageListener;
+import org.subethamail.smtp.helper.SimpleMessageListenerAdapter;
+import org.subethamail.smtp.server.SMTPServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ServerSocket;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Stream;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -80,4 +92,63 @@ class MailSCASenderTest {
         // Then
         assertThat(result, is(Boolean.FALSE));
     }
-}
\ No newline at end of file
+
+    @Test
+    void send_batch_within_one_session() throws IOException {
+        // Given
+        List<String> recipients = new CopyOnWriteArrayList<>();
+        int port = freePort();
+        SMTPServer server = new SMTPServer(new SimpleMessageListenerAdapter(new SimpleMessageListener() {
+            @Override
+            public boolean accept(String from, String recipient) {
+                return true;
+            }
+
+            @Override
+            public void deliver(String from, String recipient, InputStream data) {
+                recipients.add(recipient);
+            }
+        }));
+        server.setPort(port);
+        server.start();
+        MailScaMessage second = getMailScaMessage();
+        second.setTo("second@adorsys.com.ua");
+
+        // When
+        Set<Integer> failed;
+        try {
+            failed = new EmailSender(localSender(port)).send(List.of(getMailScaMessage(), second));
+        } finally {
+            server.stop();
+        }
+
+        // Then
+        assertTrue(failed.isEmpty());
+        assertEquals(List.of(EMAIL, "second@adorsys.com.ua"), recipients);
+    }
+
+    @Test
+    void send_batch_server_unavailable() throws IOException {
+        // Given
+        List<MailScaMessage> messages = List.of(getMailScaMessage());
+
+        // When
+        Set<Integer> failed = new EmailSender(localSender(freePort())).send(messages);
+
+        // Then
+        assertEquals(Set.of(0), failed);
+    }
+
+    private JavaMailSenderImpl localSender(int port) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(port);
+        return mailSender;
+    }
+
+    private int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
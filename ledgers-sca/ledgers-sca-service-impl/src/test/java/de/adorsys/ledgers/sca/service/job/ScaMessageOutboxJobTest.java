@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.sca.service.job;
+
+import de.adorsys.ledgers.sca.db.domain.ScaMessageOutboxEntity;
+import de.adorsys.ledgers.sca.domain.sca.message.MailScaMessage;
+import de.adorsys.ledgers.sca.domain.sca.message.PushScaMessage;
+import de.adorsys.ledgers.sca.service.SCASender;
+import de.adorsys.ledgers.sca.service.impl.ScaMessageOutbox;
+import de.adorsys.ledgers.sca.service.impl.sender.EmailSender;
+import de.adorsys.ledgers.um.api.domain.ScaMethodTypeBO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ScaMessageOutboxJobTest {
+
+    @Mock
+    private ScaMessageOutbox outbox;
+    @Mock
+    private EmailSender emailSender;
+    @Mock
+    private SCASender<PushScaMessage> pushSender;
+
+    private ScaMessageOutboxJob job;
+
+    @BeforeEach
+    void setUp() {
+        when(pushSender.getType()).thenReturn(ScaMethodTypeBO.PUSH_OTP);
+        job = new ScaMessageOutboxJob(outbox, emailSender, List.of(pushSender), 1);
+        ReflectionTestUtils.setField(job, "batchSize", 10);
+        ReflectionTestUtils.setField(job, "lease", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(job, "backoff", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(job, "authCodeValiditySeconds", 600);
+    }
+
+    @AfterEach
+    void tearDown() {
+        job.destroy();
+    }
+
+    @Test
+    void deliverBatch_emails_sent_together() throws Exception {
+        // Given
+        ScaMessageOutboxEntity first = entry("1", ScaMethodTypeBO.SMTP_OTP, LocalDateTime.now());
+        ScaMessageOutboxEntity second = entry("2", ScaMethodTypeBO.SMTP_OTP, LocalDateTime.now());
+        MailScaMessage firstMessage = mail("first@adorsys.com.ua");
+        MailScaMessage secondMessage = mail("second@adorsys.com.ua");
+        when(outbox.claim(eq(10), any())).thenReturn(List.of(first, second));
+        when(outbox.deserialize(first)).thenReturn(firstMessage);
+        when(outbox.deserialize(second)).thenReturn(secondMessage);
+        when(emailSender.send(anyList())).thenReturn(Set.of(1));
+
+        // When
+        int result = job.deliverBatch();
+
+        // Then
+        assertEquals(2, result);
+        verify(emailSender, times(1)).send(List.of(firstMessage, secondMessage));
+        verify(outbox, times(1)).remove(first);
+        verify(outbox, times(1)).retry(eq(second), any(), anyString());
+    }
+
+    @Test
+    void deliverBatch_equal_emails_completed_by_position() throws Exception {
+        // Given
+        ScaMessageOutboxEntity first = entry("1", ScaMethodTypeBO.SMTP_OTP, LocalDateTime.now());
+        ScaMessageOutboxEntity second = entry("2", ScaMethodTypeBO.SMTP_OTP, LocalDateTime.now());
+        when(outbox.claim(eq(10), any())).thenReturn(List.of(first, second));
+        when(outbox.deserialize(first)).thenReturn(mail("same@adorsys.com.ua"));
+        when(outbox.deserialize(second)).thenReturn(mail("same@adorsys.com.ua"));
+        when(emailSender.send(anyList())).thenReturn(Set.of(0));
+
+        // When
+        job.deliverBatch();
+
+        // Then
+        verify(outbox, times(1)).retry(eq(first), any(), anyString());
+        verify(outbox, times(1)).remove(second);
+        verify(outbox, never()).remove(first);
+    }
+
+    @Test
+    void deliverBatch_failed_push_retried_with_backoff() throws Exception {
+        // Given
+        ScaMessageOutboxEntity push = entry("1", ScaMethodTypeBO.PUSH_OTP, LocalDateTime.now());
+        push.setAttempts(2);
+        PushScaMessage message = new PushScaMessage();
+        when(outbox.claim(anyInt(), any())).thenReturn(List.of(push));
+        when(outbox.deserialize(push)).thenReturn(message);
+        when(pushSender.send(message)).thenThrow(new IllegalStateException("Connection refused"));
+
+        // When
+        LocalDateTime before = LocalDateTime.now();
+        job.deliverBatch();
+
+        // Then
+        verify(outbox, never()).remove(any());
+        verify(outbox, times(1)).retry(eq(push), argThat(next -> !next.isBefore(before.plusSeconds(20))), anyString());
+    }
+
+    @Test
+    void deliverBatch_expired_message_dropped() throws Exception {
+        // Given
+        ScaMessageOutboxEntity expired = entry("1", ScaMethodTypeBO.PUSH_OTP, LocalDateTime.now().minusHours(1));
+        when(outbox.claim(anyInt(), any())).thenReturn(List.of(expired));
+
+        // When
+        job.deliverBatch();
+
+        // Then
+        verify(outbox, times(1)).remove(expired);
+        verify(outbox, never()).deserialize(any());
+        verify(pushSender, never()).send(any());
+    }
+
+    @Test
+    void deliverDueMessages_until_batch_not_full() {
+        // Given
+        when(outbox.claim(anyInt(), any())).thenReturn(List.of());
+
+        // When
+        job.deliverDueMessages();
+
+        // Then
+        verify(outbox, times(1)).claim(anyInt(), any());
+    }
+
+    private ScaMessageOutboxEntity entry(String id, ScaMethodTypeBO method, LocalDateTime created) {
+        return new ScaMessageOutboxEntity(id, method.name(), "type", "{}", created);
+    }
+
+    private MailScaMessage mail(String to) {
+        MailScaMessage message = new MailScaMessage();
+        message.setTo(to);
+        return message;
+    }
+}
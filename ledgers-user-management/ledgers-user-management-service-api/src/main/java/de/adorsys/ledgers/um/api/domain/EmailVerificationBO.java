@@ -27,7 +27,7 @@ public class EmailVerificationBO {
 
     public EmailVerificationBO(ScaUserDataBO scaUserData) {
         LocalDateTime now = LocalDateTime.now();
-        this.token = Ids.id();
+        this.token = Ids.randomId();
         this.expiredDateTime = now.plusWeeks(1);
         this.status = EmailVerificationStatusBO.PENDING;
         this.issuedDateTime = now;
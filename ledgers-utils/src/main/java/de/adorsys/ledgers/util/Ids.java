@@ -6,27 +6,82 @@
 package de.adorsys.ledgers.util;
 
 import java.nio.ByteBuffer;
-import java.util.Base64;
-import java.util.UUID;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Generates the 22 character ids of the ledgers.
+ * <p>
+ * Ids consist of a 48 bit millisecond timestamp, a 16 bit sequence and 64 random bits, encoded six bits per
+ * character with the URL safe base64 characters in ascending ASCII order. Ids created later sort after ids created
+ * before on the same node, so inserts stay at the end of the primary key indexes. They have the length and
+ * character set of the former random ids.
+ */
 public class Ids {
+    private static final int ID_LENGTH = 22;
+    private static final int SEQUENCE_BITS = 16;
+    private static final char[] ALPHABET = "-0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ_abcdefghijklmnopqrstuvwxyz".toCharArray();
+
+    /* Timestamp and sequence of the last id, the sequence overflows into the timestamp. */
+    private static final AtomicLong LAST_TIME_AND_SEQUENCE = new AtomicLong();
+    /* The default SecureRandom of Linux locks across instances, a buffered DRBG per thread does not contend. */
+    private static final ThreadLocal<RandomBuffer> RANDOM = ThreadLocal.withInitial(RandomBuffer::new);
+
     private Ids() {
     }
 
-    @SuppressWarnings("PMD")
+    /**
+     * Time ordered id for entity keys.
+     */
     public static String id() {
-        UUID uuid = UUID.randomUUID();
-        return base64UrlEncodeWithoutPadding(uuid.getMostSignificantBits()) +
-                       base64UrlEncodeWithoutPadding(uuid.getLeastSignificantBits());
+        long now = System.currentTimeMillis() << SEQUENCE_BITS;
+        // Never moves back, also if the clock does
+        long timeAndSequence = LAST_TIME_AND_SEQUENCE.accumulateAndGet(now, (last, next) -> Math.max(last + 1, next));
+        return encode(timeAndSequence, RANDOM.get().nextLong());
+    }
+
+    /**
+     * Random id without time part for values which must not be guessed, like verification tokens.
+     */
+    public static String randomId() {
+        RandomBuffer random = RANDOM.get();
+        return encode(random.nextLong(), random.nextLong());
     }
 
-    private static String base64UrlEncodeWithoutPadding(long l) {
-        return Base64.getUrlEncoder().withoutPadding().encodeToString(longToBytes(l));
+    private static String encode(long high, long low) {
+        char[] chars = new char[ID_LENGTH];
+        for (int i = ID_LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (low & 0x3F)];
+            low = (low >>> 6) | (high << 58);
+            high >>>= 6;
+        }
+        return new String(chars);
     }
 
-    private static byte[] longToBytes(long x) {
-        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
-        buffer.putLong(x);
-        return buffer.array();
+    /*
+     * Each call to a DRBG has a fixed cost, so random bytes are drawn in blocks.
+     */
+    private static final class RandomBuffer {
+        private static final int SIZE = 512;
+
+        private final SecureRandom random = newRandom();
+        private final ByteBuffer buffer = ByteBuffer.allocate(SIZE).position(SIZE);
+
+        private long nextLong() {
+            if (!buffer.hasRemaining()) {
+                random.nextBytes(buffer.array());
+                buffer.clear();
+            }
+            return buffer.getLong();
+        }
+
+        private static SecureRandom newRandom() {
+            try {
+                return SecureRandom.getInstance("DRBG");
+            } catch (NoSuchAlgorithmException e) {
+                return new SecureRandom();
+            }
+        }
     }
 }
@@ -14,5 +14,6 @@ public enum PostingErrorCode {
     POSTING_TIME_MISSING,
     NOT_ENOUGH_INFO,
     NO_CATEGORY,
-    CHART_OF_ACCOUNT_NOT_FOUND;
+    CHART_OF_ACCOUNT_NOT_FOUND,
+    IMPORT_JOB_NOT_FOUND;
 }
@@ -0,0 +1,16 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.util.hash;
+
+/**
+ * Hash item writing its fields directly into the digest, used when its algorithm ends with
+ * {@link HashGenerator#CANONICAL_ENCODING_SUFFIX}. The fields and their order are part of the encoding version
+ * and must not change for it.
+ */
+public interface CanonicalHashItem<T> extends HashItem<T> {
+
+    void writeHashFields(HashFieldWriter writer);
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2018-2024 adorsys GmbH and Co. KG
+ * All rights are reserved.
+ */
+
+package de.adorsys.ledgers.util.hash;
+
+import java.math.BigDecimal;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+
+/**
+ * Writes the canonical binary encoding of hashed fields to a {@link MessageDigest}.
+ * <p>
+ * Every field starts with a type tag, so that null values and field boundaries are unambiguous. Strings are written
+ * as their length followed by their UTF-16 chars, amounts without trailing zeros and times by their components.
+ */
+public final class HashFieldWriter {
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte NUMBER = 2;
+    private static final byte TIME = 3;
+    private static final byte COUNT = 4;
+
+    private final MessageDigest digest;
+    private final byte[] buffer = new byte[128];
+    private int position;
+
+    HashFieldWriter(MessageDigest digest) {
+        this.digest = digest;
+    }
+
+    public HashFieldWriter write(String value) {
+        if (value == null) {
+            return writeNull();
+        }
+        put(STRING);
+        putInt(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            put((byte) (c >>> 8));
+            put((byte) c);
+        }
+        return this;
+    }
+
+    public HashFieldWriter write(Enum<?> value) {
+        return value == null
+                       ? writeNull()
+                       : write(value.name());
+    }
+
+    public HashFieldWriter write(BigDecimal value) {
+        if (value == null) {
+            return writeNull();
+        }
+        BigDecimal normalized = value.signum() == 0
+                                        ? BigDecimal.ZERO
+                                        : value.stripTrailingZeros();
+        byte[] unscaled = normalized.unscaledValue().toByteArray();
+        put(NUMBER);
+        putInt(normalized.scale());
+        putInt(unscaled.length);
+        for (byte b : unscaled) {
+            put(b);
+        }
+        return this;
+    }
+
+    public HashFieldWriter write(LocalDateTime value) {
+        if (value == null) {
+            return writeNull();
+        }
+        put(TIME);
+        putInt(value.getYear());
+        put((byte) value.getMonthValue());
+        put((byte) value.getDayOfMonth());
+        put((byte) value.getHour());
+        put((byte) value.getMinute());
+        put((byte) value.getSecond());
+        putInt(value.getNano());
+        return this;
+    }
+
+    public HashFieldWriter writeCount(int count) {
+        put(COUNT);
+        putInt(count);
+        return this;
+    }
+
+    byte[] digest() {
+        flush();
+        return digest.digest();
+    }
+
+    private HashFieldWriter writeNull() {
+        put(NULL);
+        return this;
+    }
+
+    private void putInt(int value) {
+        put((byte) (value >>> 24));
+        put((byte) (value >>> 16));
+        put((byte) (value >>> 8));
+        put((byte) value);
+    }
+
+    private void put(byte value) {
+        if (position == buffer.length) {
+            flush();
+        }
+        buffer[position++] = value;
+    }
+
+    private void flush() {
+        digest.update(buffer, 0, position);
+        position = 0;
+    }
+}
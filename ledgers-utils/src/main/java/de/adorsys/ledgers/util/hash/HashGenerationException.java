@@ -10,7 +10,11 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 public class HashGenerationException extends RuntimeException {
 
+    public HashGenerationException(String message) {
+        super(message);
+    }
+
     public HashGenerationException(String message, Throwable cause) {
         super(message, cause);
     }
-}
\ No newline at end of file
+}
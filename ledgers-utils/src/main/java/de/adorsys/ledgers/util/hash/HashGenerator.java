@@ -8,5 +8,12 @@ package de.adorsys.ledgers.util.hash;
 public interface HashGenerator {
     String DEFAULT_HASH_ALG = "SHA-256";
 
+    /*
+     * Hash algorithms ending with this suffix digest the canonical field encoding of a CanonicalHashItem
+     * instead of its JSON serialization. Algorithms without it stay on JSON so existing hashes remain verifiable.
+     */
+    String CANONICAL_ENCODING_SUFFIX = "/C1";
+    String CANONICAL_HASH_ALG = DEFAULT_HASH_ALG + CANONICAL_ENCODING_SUFFIX;
+
     <T> String hash(HashItem<T> hashItem) throws HashGenerationException;
 }
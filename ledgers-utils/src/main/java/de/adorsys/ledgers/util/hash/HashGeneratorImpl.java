@@ -16,6 +16,8 @@ import org.slf4j.LoggerFactory;
 
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
 
 @SuppressWarnings("java:S1130")
 public class HashGeneratorImpl implements HashGenerator {
@@ -23,24 +25,45 @@ public class HashGeneratorImpl implements HashGenerator {
     private static final ObjectMapper objectMapper = new ObjectMapper()
                                                              .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
                                                              .registerModule(new JavaTimeModule());
+    // MessageDigest instances are not thread safe, so every thread keeps its own per algorithm
+    private static final ThreadLocal<Map<String, MessageDigest>> DIGESTS = ThreadLocal.withInitial(HashMap::new);
 
     public static final String ERROR_MSG = "Can't generate the hash";
 
     @Override
     public <T> String hash(HashItem<T> hashItem) throws HashGenerationException {
-
-        // Get string value including hash
-        MessageDigest digest;
-        byte[] valueAsBytes;
+        String alg = StringUtils.isBlank(hashItem.getAlg()) ? DEFAULT_HASH_ALG : hashItem.getAlg();
         try {
-            String alg = StringUtils.isBlank(hashItem.getAlg()) ? DEFAULT_HASH_ALG : hashItem.getAlg();
-            digest = MessageDigest.getInstance(alg);
-            valueAsBytes = objectMapper.writeValueAsBytes(hashItem.getItem());
+            if (alg.endsWith(CANONICAL_ENCODING_SUFFIX)) {
+                return Base16.encode(canonicalDigest(hashItem, StringUtils.removeEnd(alg, CANONICAL_ENCODING_SUFFIX)));
+            }
+            // Get string value including hash
+            MessageDigest digest = digest(alg);
+            return Base16.encode(digest.digest(objectMapper.writeValueAsBytes(hashItem.getItem())));
         } catch (NoSuchAlgorithmException | JsonProcessingException e) {//NOSONAR
             logger.error(ERROR_MSG, e);
             throw new HashGenerationException(ERROR_MSG, e);
         }
+    }
+
+    private <T> byte[] canonicalDigest(HashItem<T> hashItem, String alg) throws NoSuchAlgorithmException {
+        if (!(hashItem instanceof CanonicalHashItem)) {
+            throw new HashGenerationException(String.format("%s: %s does not support canonical encoding", ERROR_MSG, hashItem.getClass().getName()));
+        }
+        HashFieldWriter writer = new HashFieldWriter(digest(alg));
+        ((CanonicalHashItem<T>) hashItem).writeHashFields(writer);
+        return writer.digest();
+    }
 
-        return Base16.encode(digest.digest(valueAsBytes));
+    private MessageDigest digest(String alg) throws NoSuchAlgorithmException {
+        Map<String, MessageDigest> digests = DIGESTS.get();
+        MessageDigest digest = digests.get(alg);
+        if (digest == null) {
+            digest = MessageDigest.getInstance(alg);
+            digests.put(alg, digest);
+        }
+        // A previous failure may have left data in the digest
+        digest.reset();
+        return digest;
     }
 }
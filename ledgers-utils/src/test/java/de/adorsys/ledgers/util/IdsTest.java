@@ -8,8 +8,11 @@ package de.adorsys.ledgers.util;
 
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertFalse;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 class IdsTest {
 
@@ -31,4 +34,27 @@ class IdsTest {
             assertFalse(id.contains("+"));
         }
     }
+
+    @Test
+    void test_time_ordered() {
+        String previous = Ids.id();
+        for (int i = 0; i < 100_000; i++) {
+            String id = Ids.id();
+            assertTrue(id.compareTo(previous) > 0);
+            previous = id;
+        }
+    }
+
+    @Test
+    void test_unique_across_threads() {
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, 100_000).parallel().forEach(i -> ids.add(Ids.id()));
+        assertEquals(100_000, ids.size());
+    }
+
+    @Test
+    void test_random_id() {
+        assertEquals(22, Ids.randomId().length());
+        assertNotEquals(Ids.randomId(), Ids.randomId());
+    }
 }
@@ -7,7 +7,11 @@ package de.adorsys.ledgers.util.hash;
 
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -56,4 +60,70 @@ class HashGeneratorImplTest {
         // Then
         assertThrows(HashGenerationException.class, () -> hashGenerator.hash(hashItem));
     }
+
+    @Test
+    void hash_canonical() throws HashGenerationException {
+        // Given
+        HashGeneratorImpl hashGenerator = new HashGeneratorImpl();
+        LocalDateTime time = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+        // When
+        String hash = hashGenerator.hash(new TestCanonicalItem("ab", "c", new BigDecimal("10.00"), time));
+        String sameAmount = hashGenerator.hash(new TestCanonicalItem("ab", "c", BigDecimal.TEN, time));
+        String shiftedField = hashGenerator.hash(new TestCanonicalItem("a", "bc", BigDecimal.TEN, time));
+        String nullField = hashGenerator.hash(new TestCanonicalItem("ab", null, BigDecimal.TEN, time));
+
+        // Then
+        assertThat(hash.length(), is(64));
+        assertThat(sameAmount, is(hash));
+        assertThat(shiftedField, not(hash));
+        assertThat(nullField, not(hash));
+    }
+
+    @Test
+    void hash_canonical_not_supported() {
+        // Given
+        HashGeneratorImpl hashGenerator = new HashGeneratorImpl();
+        HashItem<String> hashItem = new BaseHashItem<>(PLAIN_TEXT) {
+            @Override
+            public String getAlg() {
+                return HashGenerator.CANONICAL_HASH_ALG;
+            }
+        };
+
+        // Then
+        assertThrows(HashGenerationException.class, () -> hashGenerator.hash(hashItem));
+    }
+
+    private static class TestCanonicalItem implements CanonicalHashItem<TestCanonicalItem> {
+        private final String first;
+        private final String second;
+        private final BigDecimal amount;
+        private final LocalDateTime time;
+
+        TestCanonicalItem(String first, String second, BigDecimal amount, LocalDateTime time) {
+            this.first = first;
+            this.second = second;
+            this.amount = amount;
+            this.time = time;
+        }
+
+        @Override
+        public String getAlg() {
+            return HashGenerator.CANONICAL_HASH_ALG;
+        }
+
+        @Override
+        public TestCanonicalItem getItem() {
+            return this;
+        }
+
+        @Override
+        public void writeHashFields(HashFieldWriter writer) {
+            writer.write(first)
+                    .write(second)
+                    .write(amount)
+                    .write(time);
+        }
+    }
 }